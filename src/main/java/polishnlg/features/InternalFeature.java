@@ -853,6 +853,100 @@ public abstract class InternalFeature {
      * </table>
      */
     public static final String MODIFIER_TYPE = "modifier_type";
+
+    /**
+     * <p>
+     * This feature names the slot of a sentence template that a placeholder
+     * word stands for.
+     * </p>
+     * <table border="1">
+     * <tr>
+     * <td><b>Feature name</b></td>
+     * <td><em>slot</em></td>
+     * </tr>
+     * <tr>
+     * <td><b>Expected type</b></td>
+     * <td><code>String</code></td>
+     * </tr>
+     * <tr>
+     * <td><b>Created by</b></td>
+     * <td>The <code>NLGFactory</code> when a slot is created.</td>
+     * </tr>
+     * <tr>
+     * <td><b>Used by</b></td>
+     * <td>The <code>SentenceTemplate</code> finds the placeholders to replace
+     * with the bound words.</td>
+     * </tr>
+     * <tr>
+     * <td><b>Default</b></td>
+     * <td><code>null</code></td>
+     * </tr>
+     * </table>
+     */
+    public static final String SLOT = "slot";
+
+    /**
+     * <p>
+     * This feature links a word realised by the morphology processor to the
+     * word it was inflected from, so that tokens can point back to the plan.
+     * </p>
+     * <table border="1">
+     * <tr>
+     * <td><b>Feature name</b></td>
+     * <td><em>source</em></td>
+     * </tr>
+     * <tr>
+     * <td><b>Expected type</b></td>
+     * <td><code>NLGElement</code>, the <code>WordElement</code> of the
+     * inflected word, or the <code>InflectedWordElement</code> itself if it
+     * has no base word</td>
+     * </tr>
+     * <tr>
+     * <td><b>Created by</b></td>
+     * <td>The morphology processor, when asked to record sources.</td>
+     * </tr>
+     * <tr>
+     * <td><b>Used by</b></td>
+     * <td>The orthography processor gives the source to the tokens of the
+     * word.</td>
+     * </tr>
+     * <tr>
+     * <td><b>Default</b></td>
+     * <td><code>null</code></td>
+     * </tr>
+     * </table>
+     */
+    public static final String SOURCE = "source";
+
+    /**
+     * <p>
+     * This feature holds the tokens of a realised sentence.
+     * </p>
+     * <table border="1">
+     * <tr>
+     * <td><b>Feature name</b></td>
+     * <td><em>tokens</em></td>
+     * </tr>
+     * <tr>
+     * <td><b>Expected type</b></td>
+     * <td><code>TokenBuffer</code> holding the realisation of the sentence</td>
+     * </tr>
+     * <tr>
+     * <td><b>Created by</b></td>
+     * <td>The orthography processor, when asked to record tokens.</td>
+     * </tr>
+     * <tr>
+     * <td><b>Used by</b></td>
+     * <td>The formatters copy the tokens into the <code>TokenBuffer</code>
+     * they write into.</td>
+     * </tr>
+     * <tr>
+     * <td><b>Default</b></td>
+     * <td><code>null</code></td>
+     * </tr>
+     * </table>
+     */
+    public static final String TOKENS = "tokens";
     
     private InternalFeature() {
         // do nothing
@@ -0,0 +1,228 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.format.polish;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import polishnlg.framework.*;
+
+/**
+ * <p>
+ * This class contains static methods shared by the formatters, which write
+ * the text of an element straight into an <code>Appendable</code>. What each
+ * formatter writes is what the <code>getRealisation()</code> of its old,
+ * string-building result gave: the blanks that used to be trimmed off each
+ * level are never written, so nothing is copied or trimmed afterwards.
+ * </p>
+ */
+abstract class FormatterHelper {
+
+    /**
+     * How the formatters treat an element.
+     */
+    enum Layout {
+
+        /** Canned text, copied as it is. */
+        TEXT,
+
+        /** An element with a document category, formatted by category. */
+        DOCUMENT,
+
+        /** A list or coordination, formatted by joining its components. */
+        COMPONENTS,
+
+        /** Anything else, which gives no text. */
+        NONE;
+    }
+
+    private static final NLGElementVisitor<Layout> LAYOUT = new NLGElementVisitor<Layout>() {
+
+        @Override
+        public Layout visit(DocumentElement element) {
+            return structure(element, Layout.NONE);
+        }
+
+        @Override
+        public Layout visit(PhraseElement element) {
+            return structure(element, Layout.NONE);
+        }
+
+        @Override
+        public Layout visit(CoordinatedPhraseElement element) {
+            return structure(element, Layout.COMPONENTS);
+        }
+
+        @Override
+        public Layout visit(ListElement element) {
+            return structure(element, Layout.COMPONENTS);
+        }
+
+        @Override
+        public Layout visit(WordElement element) {
+            return structure(element, Layout.NONE);
+        }
+
+        @Override
+        public Layout visit(InflectedWordElement element) {
+            return structure(element, Layout.NONE);
+        }
+
+        @Override
+        public Layout visit(StringElement element) {
+            return Layout.TEXT;
+        }
+
+        // the document category is checked before the kind of element, as a
+        // list item that orthography turned into a list is still a list item
+        private Layout structure(NLGElement element, Layout otherwise) {
+            return element.getCategory() instanceof DocumentCategory ? Layout.DOCUMENT : otherwise;
+        }
+    };
+
+    /**
+     * Decides how the formatters treat an element.
+     *
+     * @param element
+     *            the element, not <code>null</code>.
+     * @return the <code>Layout</code> of the element.
+     */
+    static Layout layout(NLGElement element) {
+        return element.accept(LAYOUT);
+    }
+
+    /**
+     * Appends text unless it is empty or <code>null</code>, preceded by the
+     * blanks that separate it from the text already written.
+     *
+     * @param output
+     *            the output.
+     * @param blanks
+     *            the number of blanks to write before the text.
+     * @param text
+     *            the text.
+     * @return <code>true</code> if anything was written.
+     * @throws IOException
+     *             if the output cannot be written.
+     */
+    static boolean appendText(Appendable output, int blanks, CharSequence text) throws IOException {
+        if (text == null || text.length() == 0) {
+            return false;
+        }
+        appendBlanks(output, blanks);
+        output.append(text);
+        return true;
+    }
+
+    /**
+     * Appends the realisation of an element unless it is empty or
+     * <code>null</code>, preceded by the blanks that separate it from the text already written. A
+     * <code>TokenBuffer</code> is given the tokens of the element along with
+     * its text.
+     *
+     * @param output
+     *            the output.
+     * @param blanks
+     *            the number of blanks to write before the text.
+     * @param element
+     *            the element.
+     * @return <code>true</code> if anything was written.
+     * @throws IOException
+     *             if the output cannot be written.
+     */
+    static boolean appendText(Appendable output, int blanks, NLGElement element) throws IOException {
+        if (!(output instanceof TokenBuffer)) {
+            return appendText(output, blanks, element.getRealisation());
+        }
+        String text = element.getRealisation();
+        if (text == null || text.length() == 0) {
+            return false;
+        }
+        appendBlanks(output, blanks);
+        ((TokenBuffer) output).appendText(text, element);
+        return true;
+    }
+
+    /**
+     * Appends a number of blanks.
+     *
+     * @param output
+     *            the output.
+     * @param blanks
+     *            the number of blanks.
+     * @throws IOException
+     *             if the output cannot be written.
+     */
+    static void appendBlanks(Appendable output, int blanks) throws IOException {
+        for (int i = 0; i < blanks; i++) {
+            output.append(' ');
+        }
+    }
+
+    /**
+     * Appends part of a string. A <code>Writer</code> is given the range
+     * directly, as its <code>append</code> would copy the range into a new
+     * string first.
+     *
+     * @param output
+     *            the output.
+     * @param text
+     *            the string.
+     * @param start
+     *            the index of the first character to append.
+     * @param end
+     *            the index after the last character to append.
+     * @throws IOException
+     *             if the output cannot be written.
+     */
+    static void appendRange(Appendable output, String text, int start, int end) throws IOException {
+        if (start == end) {
+            return;
+        }
+        if (output instanceof Writer) {
+            ((Writer) output).write(text, start, end - start);
+        } else {
+            output.append(text, start, end);
+        }
+    }
+
+    /**
+     * Formats an element into a new <code>StringElement</code> using the
+     * <code>Appendable</code> path of a formatter.
+     *
+     * @param formatter
+     *            the formatter.
+     * @param element
+     *            the element to format.
+     * @return the formatted text as a <code>StringElement</code>.
+     */
+    static StringElement realise(NLGModule formatter, NLGElement element) {
+        RealisationContext context = formatter.getRealisationContext();
+        StringBuilder realisation = context.borrowBuilder();
+        try {
+            formatter.realise(element, realisation);
+            return new StringElement(realisation.toString());
+        } catch (IOException e) {
+            // a StringBuilder does not throw
+            throw new IllegalStateException(e);
+        } finally {
+            context.release(realisation);
+        }
+    }
+}
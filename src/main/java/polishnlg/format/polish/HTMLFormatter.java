@@ -19,6 +19,7 @@
 
 package polishnlg.format.polish;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,6 +36,14 @@ import polishnlg.framework.*;
  * <li>Indenting list items with ' * '.</li>
  * </ul>
  * </p>
+ * <p>
+ * The HTML is written straight into the output given to
+ * <code>realise(NLGElement, Appendable)</code>, such as a <code>Writer</code>,
+ * so a document is never held in memory as text. A formatter created with
+ * <code>escapeText</code> set replaces the characters of the text and titles
+ * that are special in HTML with entities; the markup it adds itself is not
+ * escaped.
+ * </p>
  *
  * @author D. Westwater, University of Aberdeen ~ for the TextFormatter;
  * 		   <br />J Christie, University of Aberdeen ~ for HTMLFormatter
@@ -47,6 +56,34 @@ public class HTMLFormatter extends NLGModule {
 
     // Modifications by James Christie to convert TextFormatter into a HTML Formatter
 
+    private final boolean escapeText;
+
+    /**
+     * Creates a formatter that copies the text into the HTML as it is.
+     */
+    public HTMLFormatter() {
+        this(false);
+    }
+
+    /**
+     * Creates a formatter.
+     *
+     * @param escapeText
+     *            <code>true</code> to write <code>&amp;</code>,
+     *            <code>&lt;</code>, <code>&gt;</code>, <code>"</code> and
+     *            <code>'</code> in the text and titles as entities.
+     */
+    public HTMLFormatter(boolean escapeText) {
+        this.escapeText = escapeText;
+    }
+
+    /**
+     * @return <code>true</code> if the text and titles are escaped.
+     */
+    public boolean isEscapeText() {
+        return this.escapeText;
+    }
+
     @Override
     public void initialise() {
         // Do nothing
@@ -54,135 +91,220 @@ public class HTMLFormatter extends NLGModule {
 
     @Override
     public NLGElement realise(NLGElement element) { // realise a single element
-        NLGElement realisedComponent = null;
-        StringBuffer realisation = new StringBuffer();
-
-        if(element != null) {
-            ElementCategory category = element.getCategory();
-            List<NLGElement> components = element.getChildren();
-
-            //NB: The order of the if-statements below is important!
-
-            // check if this is a canned text first
-            if(element instanceof StringElement) {
-                realisation.append(element.getRealisation());
-
-            } else if(category instanceof DocumentCategory) {
-                // && element instanceof DocumentElement
-
-                switch((DocumentCategory) category){
-
-                    case DOCUMENT :
-                        String title = element instanceof DocumentElement ? ((DocumentElement) element).getTitle() : null;
-                        realisation.append("<h1>" + title + "</h1>");
-
-                        for(NLGElement eachComponent : components) {
-                            realisedComponent = realise(eachComponent);
-                            if(realisedComponent != null) {
-                                realisation.append(realisedComponent.getRealisation());
-                            }
-                        }
-
-                        break;
-
-                    case SECTION :
-                        title = element instanceof DocumentElement ? ((DocumentElement) element).getTitle() : null;
-
-                        if(title != null) {
-                            String sectionTitle = ((DocumentElement) element).getTitle();
-                            realisation.append("<h2>" + sectionTitle + "</h2>");
-                        }
-
-                        for(NLGElement eachComponent : components) {
-                            realisedComponent = realise(eachComponent);
-                            if(realisedComponent != null) {
-                                realisation.append(realisedComponent.getRealisation());
-                            }
-                        }
-                        break;
-
-                    case LIST :
-                        realisation.append("<ul>");
-                        for(NLGElement eachComponent : components) {
-                            realisedComponent = realise(eachComponent);
-                            if(realisedComponent != null) {
-                                realisation.append(realisedComponent.getRealisation());
-                            }
-                        }
-                        realisation.append("</ul>");
-                        break;
-
-                    case ENUMERATED_LIST :
-                        realisation.append("<ol>");
-                        for(NLGElement eachComponent : components) {
-                            realisedComponent = realise(eachComponent);
-                            if(realisedComponent != null) {
-                                realisation.append(realisedComponent.getRealisation());
-                            }
-                        }
-                        realisation.append("</ol>");
-                        break;
-
-                    case PARAGRAPH :
-                        if(null != components && 0 < components.size()) {
-                            realisedComponent = realise(components.get(0));
-                            if(realisedComponent != null) {
-                                realisation.append("<p>");
-                                realisation.append(realisedComponent.getRealisation());
-                            }
-                            for(int i = 1; i < components.size(); i++ ) {
-                                if(realisedComponent != null) {
-                                    realisation.append(" ");
-                                }
-                                realisedComponent = realise(components.get(i));
-                                if(realisedComponent != null) {
-                                    realisation.append(realisedComponent.getRealisation());
-                                }
-                            }
-                            realisation.append("</p>");
-                        }
-
-                        break;
-
-                    case SENTENCE :
-                        realisation.append(element.getRealisation());
-                        break;
-
-                    case LIST_ITEM :
-                        realisation.append("<li>");
-
-                        for(NLGElement eachComponent : components) {
-                            realisedComponent = realise(eachComponent);
-
-                            if(realisedComponent != null) {
-                                realisation.append(realisedComponent.getRealisation());
-
-                                if(components.indexOf(eachComponent) < components.size() - 1) {
-                                    realisation.append(' ');
-                                }
-                            }
-                        }
-                        realisation.append("</li>");
-
-                        break;
+        return FormatterHelper.realise(this, element);
+    } // realise ~ single element
+
+    @Override
+    public void realise(NLGElement element, Appendable output) throws IOException {
+        write(element, output, 0);
+    } // realise ~ single element into an output
+
+    /**
+     * Writes the HTML of an element, preceded by the given number of blanks
+     * if there is any.
+     *
+     * @return <code>true</code> if anything was written.
+     */
+    private boolean write(NLGElement element, Appendable output, int blanks) throws IOException {
+        if(element == null) {
+            return false;
+        }
+        getRealisationContext().enterElement();
+
+        //NB: the layout checks canned text first, then the document category
+        switch(FormatterHelper.layout(element)) {
+            case TEXT :
+                return appendText(output, blanks, element);
 
+            case DOCUMENT :
+                return writeDocument(element, (DocumentCategory) element.getCategory(), output, blanks);
+
+            // also need to check if element is a listelement (items can
+            // have embedded lists post-orthography) or a coordinate
+            case COMPONENTS :
+                return writeComponents(element, output, blanks);
+
+            default :
+                return false;
+        }
+    } // write
+
+    /**
+     * Writes a document element, or an element that orthography made out of
+     * one, according to its <code>DocumentCategory</code>.
+     */
+    private boolean writeDocument(NLGElement element, DocumentCategory category, Appendable output, int blanks)
+            throws IOException {
+        List<NLGElement> components = element.getChildren();
+        String title = element instanceof DocumentElement ? ((DocumentElement) element).getTitle() : null;
+        boolean written = false;
+
+        switch(category){
+
+            case DOCUMENT :
+                FormatterHelper.appendBlanks(output, blanks);
+                output.append("<h1>");
+                appendTitle(output, String.valueOf(title));
+                output.append("</h1>");
+                for(NLGElement eachComponent : components) {
+                    write(eachComponent, output, 0);
+                }
+                return true;
+
+            case SECTION :
+                if(title != null) {
+                    FormatterHelper.appendBlanks(output, blanks);
+                    output.append("<h2>");
+                    appendTitle(output, title);
+                    output.append("</h2>");
+                    written = true;
+                }
+                for(NLGElement eachComponent : components) {
+                    if(write(eachComponent, output, written ? 0 : blanks)) {
+                        written = true;
+                    }
                 }
+                return written;
 
-                // also need to check if element is a listelement (items can
-                // have embedded lists post-orthography) or a coordinate
-            } else if(element instanceof ListElement || element instanceof CoordinatedPhraseElement) {
+            case LIST :
+                FormatterHelper.appendBlanks(output, blanks);
+                output.append("<ul>");
+                for(NLGElement eachComponent : components) {
+                    write(eachComponent, output, 0);
+                }
+                output.append("</ul>");
+                return true;
 
+            case ENUMERATED_LIST :
+                FormatterHelper.appendBlanks(output, blanks);
+                output.append("<ol>");
                 for(NLGElement eachComponent : components) {
-                    realisedComponent = realise(eachComponent);
-                    if(realisedComponent != null) {
-                        realisation.append(realisedComponent.getRealisation()).append(' ');
+                    write(eachComponent, output, 0);
+                }
+                output.append("</ol>");
+                return true;
+
+            case PARAGRAPH :
+                if(null == components || components.isEmpty()) {
+                    return false;
+                }
+                FormatterHelper.appendBlanks(output, blanks);
+                output.append("<p>");
+                write(components.get(0), output, 0);
+                for(int i = 1; i < components.size(); i++ ) {
+                    output.append(' ');
+                    write(components.get(i), output, 0);
+                }
+                output.append("</p>");
+                return true;
+
+            case SENTENCE :
+                return appendText(output, blanks, element);
+
+            case LIST_ITEM :
+                FormatterHelper.appendBlanks(output, blanks);
+                output.append("<li>");
+                for(int i = 0; i < components.size(); i++ ) {
+                    write(components.get(i), output, 0);
+                    if(i < components.size() - 1) {
+                        output.append(' ');
                     }
                 }
+                output.append("</li>");
+                return true;
+
+            default :
+                return false;
+        }
+    } // writeDocument
+
+    /**
+     * Writes a list or a coordination, separating the components with a
+     * blank. A component without text still adds its blank, unless it comes
+     * before the first text.
+     */
+    private boolean writeComponents(NLGElement element, Appendable output, int blanks) throws IOException {
+        boolean written = false;
+        int separator = blanks;
+
+        for(NLGElement eachComponent : element.getChildren()) {
+            if(write(eachComponent, output, separator)) {
+                written = true;
+                separator = 1;
+            } else if(written) {
+                separator++;
             }
         }
-
-        return new StringElement(realisation.toString());
-    } // realise ~ single element
+        return written;
+    } // writeComponents
+
+    /**
+     * Writes the realisation of an element unless it is empty or
+     * <code>null</code>, preceded by the blanks that separate it from the HTML already written. Escaped
+     * text has no tokens, as the entities would move them.
+     */
+    private boolean appendText(Appendable output, int blanks, NLGElement element) throws IOException {
+        if(!this.escapeText) {
+            return FormatterHelper.appendText(output, blanks, element);
+        }
+        String text = element.getRealisation();
+        if(text == null || text.length() == 0) {
+            return false;
+        }
+        FormatterHelper.appendBlanks(output, blanks);
+        appendEscaped(output, text);
+        return true;
+    } // appendText
+
+    private void appendTitle(Appendable output, String title) throws IOException {
+        if(this.escapeText) {
+            appendEscaped(output, title);
+        } else {
+            output.append(title);
+        }
+    } // appendTitle
+
+    /**
+     * Writes text with the characters that are special in HTML replaced by
+     * entities. The runs of ordinary characters between them are written
+     * without being copied.
+     *
+     * @param output
+     *            the output.
+     * @param text
+     *            the text.
+     * @throws IOException
+     *             if the output cannot be written.
+     */
+    static void appendEscaped(Appendable output, String text) throws IOException {
+        int start = 0;
+        for(int i = 0; i < text.length(); i++) {
+            String entity;
+            switch(text.charAt(i)) {
+                case '&' :
+                    entity = "&amp;";
+                    break;
+                case '<' :
+                    entity = "&lt;";
+                    break;
+                case '>' :
+                    entity = "&gt;";
+                    break;
+                case '"' :
+                    entity = "&quot;";
+                    break;
+                case '\'' :
+                    entity = "&#39;";
+                    break;
+                default :
+                    continue;
+            }
+            FormatterHelper.appendRange(output, text, start, i);
+            output.append(entity);
+            start = i + 1;
+        }
+        FormatterHelper.appendRange(output, text, start, text.length());
+    } // appendEscaped
 
     @Override
     public List<NLGElement> realise(List<NLGElement> elements) { // realise a list of elements
@@ -0,0 +1,345 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.format.polish;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import polishnlg.framework.*;
+
+/**
+ * <p>
+ * This processing module writes the SimpleNLG output as newline-delimited
+ * JSON, one record per line, for programs that read the realisations rather
+ * than people. Every sentence gives a record, as do the titles of the
+ * document and its sections, and canned text or phrases realised outside a
+ * sentence. A record looks like this:
+ * </p>
+ *
+ * <pre>
+ * {"path":[0,1],"category":"SENTENCE","text":"Kot śpi.","spans":[[0,3],[4,8]]}
+ * </pre>
+ *
+ * <p>
+ * The <code>path</code> holds the index of each element on the way from the
+ * realised element to the element of the record, so records from the same
+ * paragraph or list share a prefix. The <code>spans</code>, written only when
+ * asked for, are the start and end offsets in <code>text</code> of its
+ * blank-separated runs, counted in Java <code>char</code>s. They are worked
+ * out from the text of the record alone, so punctuation stays with the word
+ * before it; they are not the tokens of <code>Realiser.realiseTokens</code>,
+ * which point back at the words of the tree. When asked for,
+ * the <code>features</code> object holds the features of the element with a
+ * string, number, boolean or enumerated value.
+ * </p>
+ * <p>
+ * The records are written straight into the output given to
+ * <code>realise(NLGElement, Appendable)</code>, such as a <code>Writer</code>.
+ * The path is kept on the stack of the call and the text of a list or
+ * coordination in a builder borrowed from the
+ * <code>RealisationContext</code>, so one formatter may be shared by
+ * realisers on several threads.
+ * </p>
+ */
+public class NDJSONFormatter extends NLGModule {
+
+    private final boolean includeSpans;
+
+    private final boolean includeFeatures;
+
+    /**
+     * Creates a formatter that writes the path, category and text of each
+     * record.
+     */
+    public NDJSONFormatter() {
+        this(false, false);
+    }
+
+    /**
+     * Creates a formatter.
+     *
+     * @param includeSpans
+     *            <code>true</code> to write the token offsets of each record.
+     * @param includeFeatures
+     *            <code>true</code> to write the features of the element of
+     *            each record.
+     */
+    public NDJSONFormatter(boolean includeSpans, boolean includeFeatures) {
+        this.includeSpans = includeSpans;
+        this.includeFeatures = includeFeatures;
+    }
+
+    /**
+     * @return <code>true</code> if the token offsets are written.
+     */
+    public boolean isIncludeSpans() {
+        return this.includeSpans;
+    }
+
+    /**
+     * @return <code>true</code> if the features are written.
+     */
+    public boolean isIncludeFeatures() {
+        return this.includeFeatures;
+    }
+
+    @Override
+    public void initialise() {
+        // Do nothing
+    }
+
+    @Override
+    public NLGElement realise(NLGElement element) {
+        return FormatterHelper.realise(this, element);
+    }
+
+    @Override
+    public void realise(NLGElement element, Appendable output) throws IOException {
+        write(element, output, new int[8], 0);
+    }
+
+    @Override
+    public List<NLGElement> realise(List<NLGElement> elements) {
+        List<NLGElement> realisedList = new ArrayList<NLGElement>();
+
+        if (elements != null) {
+            for (NLGElement eachElement : elements) {
+                realisedList.add(realise(eachElement));
+            }
+        }
+        return realisedList;
+    }
+
+    /**
+     * Writes the records of an element whose path is the first
+     * <code>depth</code> indices of <code>path</code>.
+     */
+    private void write(NLGElement element, Appendable output, int[] path, int depth) throws IOException {
+        if (element == null) {
+            return;
+        }
+        getRealisationContext().enterElement();
+
+        switch (FormatterHelper.layout(element)) {
+            case TEXT:
+                writeRecord(element, element.getRealisation(), output, path, depth);
+                break;
+
+            case DOCUMENT:
+                if (element.getCategory() == DocumentCategory.SENTENCE) {
+                    writeRecord(element, element.getRealisation(), output, path, depth);
+                    break;
+                }
+                if (element instanceof DocumentElement) {
+                    writeRecord(element, ((DocumentElement) element).getTitle(), output, path, depth);
+                }
+                writeChildren(element, output, path, depth);
+                break;
+
+            case COMPONENTS:
+                RealisationContext context = getRealisationContext();
+                StringBuilder text = context.borrowBuilder();
+                try {
+                    new TextFormatter().realise(element, text);
+                    writeRecord(element, text, output, path, depth);
+                } finally {
+                    context.release(text);
+                }
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Writes the records of the children of an element. A path that is full
+     * is copied into a longer one, which only the children see.
+     */
+    private void writeChildren(NLGElement element, Appendable output, int[] path, int depth) throws IOException {
+        List<NLGElement> children = element.getChildren();
+        if (children == null) {
+            return;
+        }
+        if (depth == path.length) {
+            int[] longer = new int[depth * 2];
+            System.arraycopy(path, 0, longer, 0, depth);
+            path = longer;
+        }
+        for (int i = 0; i < children.size(); i++) {
+            path[depth] = i;
+            write(children.get(i), output, path, depth + 1);
+        }
+    }
+
+    /**
+     * Writes one record, unless there is no text.
+     */
+    private void writeRecord(NLGElement element, CharSequence text, Appendable output, int[] path, int depth)
+            throws IOException {
+        if (text == null || text.length() == 0) {
+            return;
+        }
+
+        output.append("{\"path\":[");
+        for (int i = 0; i < depth; i++) {
+            if (i > 0) {
+                output.append(',');
+            }
+            output.append(Integer.toString(path[i]));
+        }
+        output.append("],\"category\":");
+        if (element.getCategory() == null) {
+            output.append("null");
+        } else {
+            appendString(output, element.getCategory().toString());
+        }
+        output.append(",\"text\":");
+        appendString(output, text);
+        if (this.includeSpans) {
+            output.append(",\"spans\":[");
+            appendSpans(output, text);
+            output.append(']');
+        }
+        if (this.includeFeatures) {
+            output.append(",\"features\":{");
+            appendFeatures(output, element);
+            output.append('}');
+        }
+        output.append("}\n");
+    }
+
+    /**
+     * Writes the offsets of the blank-separated tokens of the text as pairs.
+     */
+    private static void appendSpans(Appendable output, CharSequence text) throws IOException {
+        int start = -1;
+        boolean first = true;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean blank = i == text.length() || Character.isWhitespace(text.charAt(i));
+            if (blank && start >= 0) {
+                if (!first) {
+                    output.append(',');
+                }
+                output.append('[').append(Integer.toString(start)).append(',').append(Integer.toString(i))
+                        .append(']');
+                start = -1;
+                first = false;
+            } else if (!blank && start < 0) {
+                start = i;
+            }
+        }
+    }
+
+    /**
+     * Writes the features with a string, number, boolean or enumerated value
+     * as the members of an object.
+     */
+    private static void appendFeatures(Appendable output, NLGElement element) throws IOException {
+        boolean first = true;
+        for (Map.Entry<String, Object> feature : element.getAllFeatures().entrySet()) {
+            Object value = feature.getValue();
+            if (!(value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                    || value instanceof Enum<?>)) {
+                continue;
+            }
+            if (!first) {
+                output.append(',');
+            }
+            appendString(output, feature.getKey());
+            output.append(':');
+            if (value instanceof Boolean || isFinite(value)) {
+                output.append(value.toString());
+            } else {
+                appendString(output, value.toString());
+            }
+            first = false;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the value is a number that JSON can hold.
+     */
+    private static boolean isFinite(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            return !Double.isNaN(number) && !Double.isInfinite(number);
+        }
+        return value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte;
+    }
+
+    /**
+     * Writes text as a JSON string. The runs of characters that need no
+     * escape are written without being copied.
+     *
+     * @param output
+     *            the output.
+     * @param text
+     *            the text.
+     * @throws IOException
+     *             if the output cannot be written.
+     */
+    static void appendString(Appendable output, CharSequence text) throws IOException {
+        output.append('"');
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String escape;
+            switch (c) {
+                case '"':
+                    escape = "\\\"";
+                    break;
+                case '\\':
+                    escape = "\\\\";
+                    break;
+                case '\n':
+                    escape = "\\n";
+                    break;
+                case '\r':
+                    escape = "\\r";
+                    break;
+                case '\t':
+                    escape = "\\t";
+                    break;
+                default:
+                    if (c >= 0x20) {
+                        continue;
+                    }
+                    escape = String.format("\\u%04x", (int) c);
+                    break;
+            }
+            appendRange(output, text, start, i);
+            output.append(escape);
+            start = i + 1;
+        }
+        appendRange(output, text, start, text.length());
+        output.append('"');
+    }
+
+    private static void appendRange(Appendable output, CharSequence text, int start, int end) throws IOException {
+        if (text instanceof String) {
+            FormatterHelper.appendRange(output, (String) text, start, end);
+        } else if (start < end) {
+            output.append(text, start, end);
+        }
+    }
+}
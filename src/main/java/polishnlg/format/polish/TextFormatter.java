@@ -19,6 +19,8 @@
 package polishnlg.format.polish;
 import polishnlg.framework.*;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -33,57 +35,193 @@ import java.util.List;
  * <li>Adding numbers for enumerated lists (e.g., "1.1 - ", "1.2 - ", etc.)</li>
  * </ul>
  * </p>
+ * <p>
+ * A list of elements is formatted into one buffer, whose size is worked out
+ * from the realisations before anything is written.
+ * </p>
  *
  * @author D. Westwater, University of Aberdeen.
  * @version 4.0
  *
  */
-public class TextFormatter extends NLGModule{
+public class TextFormatter extends NLGModule implements BatchFormatter {
 
     public void initialise() {
         // Do nothing
     }
 
     public NLGElement realise(NLGElement element) {
-        NLGElement realisedComponent = null;
-        StringBuffer realisation = new StringBuffer();
+        return FormatterHelper.realise(this, element);
+    }
+
+    @Override
+    public void realise(NLGElement element, Appendable output) throws IOException {
+        write(element, output, 0);
+    }
 
-        if (element != null) {
-            ElementCategory category = element.getCategory();
-            List<NLGElement> components = element.getChildren();
+    /**
+     * Writes the text of an element, preceded by the given number of blanks
+     * if there is any text.
+     *
+     * @return <code>true</code> if any text was written.
+     */
+    private boolean write(NLGElement element, Appendable output, int blanks) throws IOException {
+        if (element == null) {
+            return false;
+        }
+        getRealisationContext().enterElement();
+
+        //NB: the layout checks canned text first, then the document category
+        switch (FormatterHelper.layout(element)) {
+            case TEXT:
+                return FormatterHelper.appendText(output, blanks, element);
 
-            //NB: The order of the if-statements below is important!
+            case DOCUMENT:
+                return writeDocument(element, (DocumentCategory) element.getCategory(), output, blanks);
 
-            // check if this is a canned text first
-            if (element instanceof StringElement) {
-                realisation.append(element.getRealisation());
+            case COMPONENTS:
+                return writeComponents(element, output, blanks);
 
-            } else if (category instanceof DocumentCategory) {
-                String title = element instanceof DocumentElement ? ((DocumentElement) element)
-                        .getTitle()
-                        : null;
-                // String title = ((DocumentElement) element).getTitle();
+            default:
+                return false;
+        }
+    }
 
-                switch ((DocumentCategory) category) {
+    /**
+     * Writes a document element, or an element that orthography made out of
+     * one, according to its <code>DocumentCategory</code>.
+     */
+    private boolean writeDocument(NLGElement element, DocumentCategory category, Appendable output, int blanks)
+            throws IOException {
+        switch (category) {
 
-                    case SENTENCE:
-                        realisation.append(element.getRealisation());
-                        break;
-                }
-            }  else if (element instanceof ListElement || element instanceof CoordinatedPhraseElement) {
-                for (NLGElement eachComponent : components) {
-                    realisedComponent = realise(eachComponent);
-                    if (realisedComponent != null) {
-                        realisation.append(realisedComponent.getRealisation()).append(' ');
-                    }
-                }
+            case SENTENCE:
+                return FormatterHelper.appendText(output, blanks, element);
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Writes a list or a coordination, separating the components with a
+     * blank. A component without text still adds its blank, unless it comes
+     * before the first text.
+     */
+    private boolean writeComponents(NLGElement element, Appendable output, int blanks) throws IOException {
+        boolean written = false;
+        int separator = blanks;
+
+        for (NLGElement eachComponent : element.getChildren()) {
+            if (write(eachComponent, output, separator)) {
+                written = true;
+                separator = 1;
+            } else if (written) {
+                separator++;
             }
         }
-        return new StringElement(realisation.toString());
+        return written;
     }
 
+    /**
+     * Formats the elements into one shared buffer and returns the text of
+     * each as a <code>StringElement</code>.
+     */
     @Override
     public List<NLGElement> realise(List<NLGElement> elements) {
-        return null;
+        List<NLGElement> realisedList = new ArrayList<NLGElement>();
+        if (elements == null || elements.isEmpty()) {
+            return realisedList;
+        }
+
+        int length = estimateLength(elements, 0);
+        RealisationContext context = getRealisationContext();
+        StringBuilder text = context.borrowBuilder();
+        text.ensureCapacity(length);
+        int[] ends = new int[elements.size()];
+        try {
+            for (int i = 0; i < ends.length; i++) {
+                write(elements.get(i), text, 0);
+                ends[i] = text.length();
+            }
+
+            int start = 0;
+            for (int end : ends) {
+                realisedList.add(new StringElement(text.substring(start, end)));
+                start = end;
+            }
+        } catch (IOException e) {
+            // a StringBuilder does not throw
+            throw new IllegalStateException(e);
+        } finally {
+            context.release(text);
+        }
+        return realisedList;
+    }
+
+    @Override
+    public void realise(List<NLGElement> elements, Appendable output, CharSequence separator) throws IOException {
+        if (elements == null || elements.isEmpty()) {
+            return;
+        }
+        if (output instanceof StringBuilder) {
+            StringBuilder builder = (StringBuilder) output;
+            int separators = separator == null ? 0 : separator.length() * (elements.size() - 1);
+            builder.ensureCapacity(builder.length() + estimateLength(elements, separators));
+        }
+
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0 && separator != null) {
+                output.append(separator);
+            }
+            write(elements.get(i), output, 0);
+        }
+    }
+
+    /**
+     * Works out the length of the text of some elements, plus some extra
+     * characters, without writing it.
+     */
+    private static int estimateLength(List<NLGElement> elements, int extra) {
+        long length = extra;
+        for (NLGElement element : elements) {
+            length += estimateLength(element);
+        }
+        return (int) Math.min(length, Integer.MAX_VALUE - 8);
+    }
+
+    /**
+     * Works out the length of the text <code>write</code> gives an element,
+     * counting a blank before every component of a list or coordination.
+     */
+    private static long estimateLength(NLGElement element) {
+        if (element == null) {
+            return 0;
+        }
+
+        switch (FormatterHelper.layout(element)) {
+            case TEXT:
+                return length(element.getRealisation());
+
+            case DOCUMENT:
+                return element.getCategory() == DocumentCategory.SENTENCE ? length(element.getRealisation()) : 0;
+
+            case COMPONENTS:
+                long length = 0;
+                for (NLGElement eachComponent : element.getChildren()) {
+                    length += estimateLength(eachComponent) + 1;
+                }
+                return length;
+
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Gives the length of a realisation, counting <code>null</code> as empty.
+     */
+    private static int length(String realisation) {
+        return realisation == null ? 0 : realisation.length();
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.framework;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * <p>
+ * A formatter that can format many realised elements in one go. The
+ * <code>Realiser</code> runs the other stages element by element and then
+ * hands all their outputs to such a formatter at once, which writes them into
+ * a single buffer sized beforehand rather than building a string per element.
+ * A formatter that implements this interface must also return one formatted
+ * element per input from <code>NLGModule.realise(List)</code>.
+ * </p>
+ */
+public interface BatchFormatter {
+
+	/**
+	 * Formats elements one after the other into an output.
+	 *
+	 * @param elements
+	 *            the elements, as they come out of orthography.
+	 * @param output
+	 *            the output the text is appended to.
+	 * @param separator
+	 *            the text written between two consecutive elements, or
+	 *            <code>null</code> for none.
+	 * @throws IOException
+	 *             if the output cannot be written.
+	 */
+	void realise(List<NLGElement> elements, Appendable output, CharSequence separator) throws IOException;
+}
@@ -113,11 +113,46 @@ public class CoordinatedPhraseElement extends NLGElement {
         setFeature(InternalFeature.COORDINATES, coordinates);
     }
 
+    /**
+     * Adds several coordinates to this coordination, exactly as if each were
+     * given to <code>addCoordinate</code> in turn. The coordinates are copied
+     * once for the whole batch rather than once per coordinate, so building a
+     * coordination of many conjuncts takes linear time.
+     *
+     * @param newCoordinates
+     *            the new coordinates, <code>NLGElement</code>s or
+     *            <code>String</code>s; other values are ignored.
+     */
+    public void addCoordinates(List<?> newCoordinates) {
+        List<NLGElement> coordinates = getFeatureAsElementList(InternalFeature.COORDINATES);
+        for (Object newCoordinate : newCoordinates) {
+            if (newCoordinate instanceof NLGElement) {
+                if (((NLGElement) newCoordinate).isA(PhraseCategory.CLAUSE)
+                        && coordinates.size() > 0) {
+
+                    ((NLGElement) newCoordinate).setFeature(
+                            Feature.SUPRESSED_COMPLEMENTISER, true);
+                }
+                coordinates.add((NLGElement) newCoordinate);
+            } else if (newCoordinate instanceof String) {
+                NLGElement coordElement = new StringElement((String) newCoordinate);
+                coordElement.setFeature(Feature.SUPRESSED_COMPLEMENTISER, true);
+                coordinates.add(coordElement);
+            }
+        }
+        setFeature(InternalFeature.COORDINATES, coordinates);
+    }
+
     @Override
     public List<NLGElement> getChildren() {
         return this.getFeatureAsElementList(InternalFeature.COORDINATES);
     }
 
+    @Override
+    public <R> R accept(NLGElementVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
     /**
      * Clears the existing coordinates in this coordination. It performs exactly
      * the same as <code>removeFeature(Feature.COORDINATES)</code>.
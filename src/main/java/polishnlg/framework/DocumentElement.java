@@ -250,6 +250,11 @@ public class DocumentElement extends NLGElement {
         return getComponents();
     }
 
+    @Override
+    public <R> R accept(NLGElementVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
     /**
      * Replaces the existing components with the supplied list of components.
      * This is identical to calling:<br>
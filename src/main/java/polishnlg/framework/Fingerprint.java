@@ -0,0 +1,204 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+
+package polishnlg.framework;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * A 128-bit structural fingerprint of an <code>NLGElement</code> tree. It
+ * covers the class, category, realisation and features of every element, and
+ * for words the base form and id. Element-valued features (heads, complements,
+ * components and so on) contribute their own fingerprints, so the fingerprint
+ * of the root summarises the whole tree. The order in which features were set
+ * does not matter. The parent and the factory of an element are not part of
+ * its structure and are ignored.
+ * </p>
+ * <p>
+ * Fingerprints are immutable and implement <code>equals</code> and
+ * <code>hashCode</code>, so they can be used directly as map keys. They are
+ * obtained with <code>NLGElement.getFingerprint()</code>.
+ * </p>
+ */
+public final class Fingerprint {
+
+	/** Stands in for an element that is reached again through its own features. */
+	static final Fingerprint CYCLE = new Fingerprint(-1L, -1L);
+
+	private final long high;
+
+	private final long low;
+
+	Fingerprint(long high, long low) {
+		this.high = high;
+		this.low = low;
+	}
+
+	/**
+	 * @return the upper 64 bits of the fingerprint.
+	 */
+	public long getHigh() {
+		return this.high;
+	}
+
+	/**
+	 * @return the lower 64 bits of the fingerprint.
+	 */
+	public long getLow() {
+		return this.low;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof Fingerprint)) {
+			return false;
+		}
+		Fingerprint other = (Fingerprint) o;
+		return this.high == other.high && this.low == other.low;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (this.high ^ (this.high >>> 32) ^ this.low);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%016x%016x", this.high, this.low); //$NON-NLS-1$
+	}
+
+	/**
+	 * Brings the fingerprints of the elements an element refers to up to
+	 * date.
+	 *
+	 * @return the sum of their generations, which grows whenever one of them
+	 *		 is recomputed. Elements being visited count for nothing.
+	 */
+	static long refreshChildren(NLGElement element, IdentityHashMap<NLGElement, Boolean> visiting) {
+		long generations = 0;
+		for (Object value : element.features.values()) {
+			generations += refreshValue(value, visiting);
+		}
+		return generations;
+	}
+
+	private static long refreshValue(Object value, IdentityHashMap<NLGElement, Boolean> visiting) {
+		if (value instanceof NLGElement) {
+			NLGElement child = (NLGElement) value;
+			if (child.getFingerprint(visiting) == CYCLE) {
+				return 0;
+			}
+			return child.fingerprintGeneration;
+		}
+		long generations = 0;
+		if (value instanceof Collection<?>) {
+			for (Object each : (Collection<?>) value) {
+				generations += refreshValue(each, visiting);
+			}
+		}
+		return generations;
+	}
+
+	/**
+	 * Computes the fingerprint of a single element from the fingerprints of
+	 * the elements it refers to, which <code>refreshChildren</code> has
+	 * brought up to date.
+	 */
+	static Fingerprint compute(NLGElement element, IdentityHashMap<NLGElement, Boolean> visiting) {
+		Hash hash = new Hash();
+		hash.add(element.getClass().getName());
+		hashValue(element.getCategory(), hash, visiting);
+		hash.add(element.getRealisation());
+		if (element instanceof WordElement) {
+			hash.add(((WordElement) element).getBaseForm());
+			hash.add(((WordElement) element).getId());
+		}
+
+		// features are hashed one by one and summed, so that the order of the
+		// map does not matter
+		long high = 0;
+		long low = 0;
+		for (Map.Entry<String, Object> feature : element.features.entrySet()) {
+			Hash featureHash = new Hash();
+			featureHash.add(feature.getKey());
+			hashValue(feature.getValue(), featureHash, visiting);
+			high += featureHash.high;
+			low += featureHash.low;
+		}
+		hash.add(high);
+		hash.add(low);
+		return new Fingerprint(hash.high, hash.low);
+	}
+
+	private static void hashValue(Object value, Hash hash, IdentityHashMap<NLGElement, Boolean> visiting) {
+		if (value == null) {
+			hash.add(0L);
+		} else if (value instanceof NLGElement) {
+			Fingerprint child = visiting.containsKey(value) ? CYCLE : ((NLGElement) value).fingerprint;
+			hash.add(child.high);
+			hash.add(child.low);
+		} else if (value instanceof Collection<?>) {
+			hash.add(((Collection<?>) value).size());
+			for (Object each : (Collection<?>) value) {
+				hashValue(each, hash, visiting);
+			}
+		} else if (value instanceof Enum<?>) {
+			hash.add(((Enum<?>) value).getDeclaringClass().getName());
+			hash.add(((Enum<?>) value).name());
+		} else if (value instanceof CharSequence) {
+			hash.add(value.toString());
+		} else if (value instanceof Double || value instanceof Float) {
+			hash.add(Double.doubleToLongBits(((Number) value).doubleValue()));
+		} else if (value instanceof Number) {
+			hash.add(((Number) value).longValue());
+		} else {
+			hash.add(value.getClass().getName());
+			hash.add(value.hashCode());
+		}
+	}
+
+	/**
+	 * Two independent 64-bit lanes fed with the same input. Strings are fed
+	 * character by character rather than through <code>String.hashCode</code>,
+	 * whose 32 bits collide far too easily for a cache key.
+	 */
+	private static final class Hash {
+		long high = 0x9E3779B97F4A7C15L;
+		long low = 0xC2B2AE3D27D4EB4FL;
+
+		void add(long value) {
+			this.high = Long.rotateLeft((this.high ^ value) * 0xFF51AFD7ED558CCDL, 31);
+			this.low = Long.rotateLeft((this.low + value) * 0xC4CEB9FE1A85EC53L, 27) ^ (this.low >>> 33);
+		}
+
+		void add(String value) {
+			if (value == null) {
+				add(0L);
+				return;
+			}
+			add(value.length() + 1L);
+			for (int i = 0; i < value.length(); i++) {
+				add(value.charAt(i));
+			}
+		}
+	}
+}
@@ -102,6 +102,11 @@ public class InflectedWordElement extends NLGElement {
         return null;
     }
 
+    @Override
+    public <R> R accept(NLGElementVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
     @Override
     public String toString() {
         return "InflectedWordElement[" + getBaseForm() + ':'
@@ -73,6 +73,11 @@ public class ListElement extends NLGElement {
         return getFeatureAsElementList(InternalFeature.COMPONENTS);
     }
 
+    @Override
+    public <R> R accept(NLGElementVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
     /**
      * Creates a new list element containing the given component.
      *
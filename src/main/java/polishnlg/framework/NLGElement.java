@@ -44,6 +44,24 @@ public abstract class NLGElement {
     /** The NLGFactory which created this element */
     private NLGFactory factory;
 
+    /** Counts the changes made to this element through this API. */
+    private int version;
+
+    /** The cached fingerprint of this element. */
+    Fingerprint fingerprint;
+
+    /** The version of this element when the fingerprint was computed. */
+    private int fingerprintVersion;
+
+    /**
+     * The sum of the generations of the elements this one refers to when the
+     * fingerprint was computed.
+     */
+    private long fingerprintChildren;
+
+    /** Counts the times the fingerprint of this element has been computed. */
+    long fingerprintGeneration;
+
     /**
      * Sets the category of this element.
      *
@@ -52,6 +70,7 @@ public abstract class NLGElement {
      */
     public void setCategory(ElementCategory newCategory) {
         this.category = newCategory;
+        structureChanged();
     }
 
     /**
@@ -82,6 +101,7 @@ public abstract class NLGElement {
             } else {
                 this.features.put(featureName, featureValue);
             }
+            structureChanged();
         }
     }
 
@@ -96,6 +116,7 @@ public abstract class NLGElement {
     public void setFeature(String featureName, boolean featureValue) {
         if (featureName != null) {
             this.features.put(featureName, new Boolean(featureValue));
+            structureChanged();
         }
     }
 
@@ -110,6 +131,7 @@ public abstract class NLGElement {
     public void setFeature(String featureName, int featureValue) {
         if (featureName != null) {
             this.features.put(featureName, new Integer(featureValue));
+            structureChanged();
         }
     }
 
@@ -124,6 +146,7 @@ public abstract class NLGElement {
     public void setFeature(String featureName, long featureValue) {
         if (featureName != null) {
             this.features.put(featureName, new Long(featureValue));
+            structureChanged();
         }
     }
 
@@ -138,6 +161,7 @@ public abstract class NLGElement {
     public void setFeature(String featureName, float featureValue) {
         if (featureName != null) {
             this.features.put(featureName, new Float(featureValue));
+            structureChanged();
         }
     }
 
@@ -153,6 +177,7 @@ public abstract class NLGElement {
     public void setFeature(String featureName, double featureValue) {
         if (featureName != null) {
             this.features.put(featureName, new Double(featureValue));
+            structureChanged();
         }
     }
 
@@ -476,6 +501,7 @@ public abstract class NLGElement {
      */
     public void removeFeature(String featureName) {
         this.features.remove(featureName);
+        structureChanged();
     }
 
     /**
@@ -483,6 +509,7 @@ public abstract class NLGElement {
      */
     public void clearAllFeatures() {
         this.features.clear();
+        structureChanged();
     }
 
     /**
@@ -514,6 +541,7 @@ public abstract class NLGElement {
      */
     public void setRealisation(String realised) {
         this.realisation = realised;
+        structureChanged();
     }
 
     /**
@@ -582,6 +610,16 @@ public abstract class NLGElement {
      */
     public abstract List<NLGElement> getChildren();
 
+    /**
+     * Passes this element to the method of the visitor for its kind of
+     * element.
+     *
+     * @param visitor
+     *            the visitor.
+     * @return the result of the visit.
+     */
+    public abstract <R> R accept(NLGElementVisitor<R> visitor);
+
     /**
      * Retrieves the set of features currently contained in the feature map.
      *
@@ -710,5 +748,53 @@ public abstract class NLGElement {
         return eq;
     }
 
+    /**
+     * Retrieves the structural fingerprint of this element and everything it
+     * refers to through its features. Elements with the same fingerprint have
+     * the same class, category, realisation and features all the way down, so
+     * the fingerprint can be used as the key of a cache of realisations.
+     * <p>
+     * The fingerprint is cached on each element of the tree. Every element
+     * counts its own changes, and counts how often its fingerprint has been
+     * computed; a cached fingerprint is reused when the element has not
+     * changed and none of the elements it refers to had to recompute theirs.
+     * Checking this walks the tree but hashes only what changed. Changes
+     * made directly to the map returned by <code>getAllFeatures()</code>, or
+     * to a list held as a feature value, are not seen. Like the rest of the
+     * element API this is not safe while another thread modifies the tree.
+     * </p>
+     *
+     * @return the <code>Fingerprint</code> of this element.
+     */
+    public Fingerprint getFingerprint() {
+        return getFingerprint(new IdentityHashMap<NLGElement, Boolean>());
+    }
+
+    Fingerprint getFingerprint(IdentityHashMap<NLGElement, Boolean> visiting) {
+        if (visiting.put(this, Boolean.TRUE) != null) {
+            return Fingerprint.CYCLE;
+        }
 
+        // bring the elements this one refers to up to date first
+        long children = Fingerprint.refreshChildren(this, visiting);
+        Fingerprint cached = this.fingerprint;
+        if (cached == null || this.fingerprintVersion != this.version || this.fingerprintChildren != children) {
+            int version = this.version;
+            cached = Fingerprint.compute(this, visiting);
+            this.fingerprint = cached;
+            this.fingerprintVersion = version;
+            this.fingerprintChildren = children;
+            this.fingerprintGeneration++;
+        }
+        visiting.remove(this);
+        return cached;
+    }
+
+    /**
+     * Must be called by subclasses whenever they change state that is part
+     * of the fingerprint, so that the cached fingerprint is discarded.
+     */
+    protected void structureChanged() {
+        this.version++;
+    }
 }
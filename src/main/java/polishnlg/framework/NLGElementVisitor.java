@@ -0,0 +1,102 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.framework;
+
+/**
+ * <p>
+ * A visitor over the concrete kinds of <code>NLGElement</code>. An element
+ * passes itself to the matching method in <code>NLGElement.accept</code>, so a
+ * processing stage picks the code for an element with one virtual call instead
+ * of a chain of <code>instanceof</code> tests. Phrase specifications such as
+ * <code>SPhraseSpec</code> are visited as <code>PhraseElement</code>s.
+ * </p>
+ * <p>
+ * Elements are never <code>null</code> when a method is called; callers check
+ * for <code>null</code> before calling <code>accept</code>.
+ * </p>
+ *
+ * @param <R>
+ *            the type of the result of a visit.
+ */
+public interface NLGElementVisitor<R> {
+
+	/**
+	 * Visits a document element: a document, section, paragraph, sentence,
+	 * list or list item.
+	 *
+	 * @param element
+	 *            the element.
+	 * @return the result of the visit.
+	 */
+	R visit(DocumentElement element);
+
+	/**
+	 * Visits a phrase, including any phrase specification.
+	 *
+	 * @param element
+	 *            the element.
+	 * @return the result of the visit.
+	 */
+	R visit(PhraseElement element);
+
+	/**
+	 * Visits a coordination of elements.
+	 *
+	 * @param element
+	 *            the element.
+	 * @return the result of the visit.
+	 */
+	R visit(CoordinatedPhraseElement element);
+
+	/**
+	 * Visits a list of elements.
+	 *
+	 * @param element
+	 *            the element.
+	 * @return the result of the visit.
+	 */
+	R visit(ListElement element);
+
+	/**
+	 * Visits a word as it appears in the lexicon.
+	 *
+	 * @param element
+	 *            the element.
+	 * @return the result of the visit.
+	 */
+	R visit(WordElement element);
+
+	/**
+	 * Visits a word that is to be inflected by morphology.
+	 *
+	 * @param element
+	 *            the element.
+	 * @return the result of the visit.
+	 */
+	R visit(InflectedWordElement element);
+
+	/**
+	 * Visits canned text or the realisation of another element.
+	 *
+	 * @param element
+	 *            the element.
+	 * @return the result of the visit.
+	 */
+	R visit(StringElement element);
+}
@@ -29,6 +29,8 @@ import java.util.List;
 import java.lang.String;
 
 import polishnlg.lexicon.Lexicon;
+import polishnlg.lexicon.PolishCharacters;
+import polishnlg.lexicon.WordGroupIndex;
 import polishnlg.phrasespec.*;
 import polishnlg.features.*;
 
@@ -52,6 +54,15 @@ public class NLGFactory {
 	 * The lexicon to be used with this factory.
 	 */
 	private Lexicon lexicon;
+
+	/** The default number of strings remembered per lexical category. */
+	public static final int DEFAULT_RESOLUTION_CACHE_SIZE = 5000;
+
+	/**
+	 * What strings given to <code>createNLGElement</code> resolved to, or
+	 * <code>null</code> if this is not remembered.
+	 */
+	private ResolutionCache resolutions = new ResolutionCache(DEFAULT_RESOLUTION_CACHE_SIZE);
 	
 	//POLISH MORPHOLOGY CODE
 	
@@ -95,6 +106,20 @@ public class NLGFactory {
 	 */
 	public void setLexicon(Lexicon newLexicon) {
 		this.lexicon = newLexicon;
+		if (this.resolutions != null) {
+			this.resolutions.clear();
+		}
+	}
+
+	/**
+	 * Sets how many strings per lexical category <code>createNLGElement</code>
+	 * remembers the resolution of. A remembered string is turned into an
+	 * element without consulting the lexicon again.
+	 *
+	 * @param size the number of strings per category, 0 to remember nothing.
+	 */
+	public void setResolutionCacheSize(int size) {
+		this.resolutions = size > 0 ? new ResolutionCache(size) : null;
 	}
 
 	/**
@@ -254,32 +279,49 @@ public class NLGFactory {
 
 		// String - look up in lexicon if a word, otherwise return StringElement
 		else if (element instanceof String) {
-			NLGElement newWord = createWord(element, category);
-			if (stringIsWord((String) element, category)) {
-				// In case it's a noun (& not a pronoun), capitalize 1st letter
-				String helpElement = (String) element;
-				if (((String) element).contains("-")) {
-					String[] split = ((String) element).split("-");
-					String lastOne = split[split.length-1];
-					NLGElement lastWord = createWord(lastOne, category);
-					if(lastWord.hasFeature(LexicalFeature.GENDER)) {
-						newWord = createWord(element, category);
-						newWord.setFeature(LexicalFeature.GENDER, lastWord.getFeature(LexicalFeature.GENDER));
-						return newWord;
-					}
-				}
-				return createWord(element, category);
+			if (this.resolutions == null || this.lexicon == null || category == null) {
+				return resolveString((String) element, category);
 			}
-			else if (((String) element).contains(" ")) {
-				newWord = checkForWordGroupLexeme(element, newWord);
+			NLGElement resolved = this.resolutions.get((String) element, category);
+			if (resolved == null) {
+				resolved = resolveString((String) element, category);
+				this.resolutions.put((String) element, category, resolved);
 			}
+			return resolved;
+		}
+		throw new IllegalArgumentException(element.toString() + " is not a valid type");
+	}
 
-			else if (((String) element).contains("-") && category.equals(LexicalCategory.ADJECTIVE)) {
-				return createWord(element, LexicalCategory.ADJECTIVE);
+	/**
+	 * Turns a string into a word, a word group lexeme or canned text for
+	 * <code>createNLGElement</code>.
+	 *
+	 * @param element  - string to look up
+	 * @param category - default lexical category of the string
+	 * @return NLGelement
+	 */
+	private NLGElement resolveString(String element, LexicalCategory category) {
+		// the word looked up here is new, so it can be returned as it is
+		NLGElement newWord = createWord(element, category);
+		if (stringIsWord(element, category)) {
+			if (element.contains("-")) {
+				// a compound takes the gender of its last part
+				String[] split = element.split("-");
+				NLGElement lastWord = createWord(split[split.length - 1], category);
+				if (lastWord.hasFeature(LexicalFeature.GENDER)) {
+					newWord.setFeature(LexicalFeature.GENDER, lastWord.getFeature(LexicalFeature.GENDER));
+				}
 			}
 			return newWord;
 		}
-		throw new IllegalArgumentException(element.toString() + " is not a valid type");
+		else if (element.contains(" ")) {
+			newWord = checkForWordGroupLexeme(element, newWord);
+		}
+
+		else if (element.contains("-") && category.equals(LexicalCategory.ADJECTIVE)) {
+			return createWord(element, LexicalCategory.ADJECTIVE);
+		}
+		return newWord;
 	}
 
 	/**
@@ -291,31 +333,42 @@ public class NLGFactory {
 	 * @param newWord - default object to store modified element
 	 * @return NLGelement
 	 */
-	private NLGElement checkForWordGroupLexeme(Object element, NLGElement newWord) {
+	private NLGElement checkForWordGroupLexeme(String element, NLGElement newWord) {
 		// count how many words the string contains
-		int countBlanks = ((String) element).length() - ((String) element).replace(" ", "").length();
-		if (countBlanks == 1) {
-			String part1 = ((String) element).split(" ")[0];
-			String part2 = ((String) element).split(" ")[1];
-			if (stringIsBaseForm(part1, LexicalCategory.ADJECTIVE) >= 0 && stringIsWord(part2, LexicalCategory.NOUN)) {
-				newWord = createWord(element, LexicalCategory.NOUN);
-			}
-			// nouns consisting of 2 adjectives + noun, e.g. "Vereinigte Arabische Emirate"
-		} else if (countBlanks == 2) {
-			String part1 = ((String) element).split(" ")[0];
-			String part2 = ((String) element).split(" ")[1];
-			String part3 = ((String) element).split(" ")[2];
-			if (stringIsBaseForm(part1, LexicalCategory.ADJECTIVE) >= 0 && stringIsBaseForm(part2, LexicalCategory.ADJECTIVE) >= 0 && stringIsWord(part3, LexicalCategory.NOUN)) {
-				newWord = createWord(element, LexicalCategory.NOUN);
+		int countBlanks = 0;
+		for (int index = element.indexOf(' '); index >= 0; index = element.indexOf(' ', index + 1)) {
+			countBlanks++;
+		}
+		if (countBlanks != 1 && countBlanks != 2) {
+			// create a plain String
+			return new StringElement(element);
+		}
+
+		boolean isWordGroup;
+		WordGroupIndex wordGroups = lexicon.getWordGroupIndex();
+		if (wordGroups != null) {
+			isWordGroup = wordGroups.isWordGroupLexeme(element);
+		} else {
+			String[] parts = element.split(" ");
+			if (countBlanks == 1) {
+				isWordGroup = stringIsBaseForm(parts[0], LexicalCategory.ADJECTIVE) >= 0
+						&& stringIsWord(parts[1], LexicalCategory.NOUN);
 			} else {
-				// create a plain String
-				newWord = new StringElement((String) element);
+				// nouns consisting of 2 adjectives + noun, e.g. "Vereinigte Arabische Emirate"
+				isWordGroup = stringIsBaseForm(parts[0], LexicalCategory.ADJECTIVE) >= 0
+						&& stringIsBaseForm(parts[1], LexicalCategory.ADJECTIVE) >= 0
+						&& stringIsWord(parts[2], LexicalCategory.NOUN);
 			}
+		}
+
+		if (isWordGroup) {
+			return createWord(element, LexicalCategory.NOUN);
+		} else if (countBlanks == 1) {
+			return newWord;
 		} else {
 			// create a plain String
-			newWord = new StringElement((String) element);
+			return new StringElement(element);
 		}
-		return newWord;
 	}
 
 	/**
@@ -330,18 +383,14 @@ public class NLGFactory {
 	 */
 	protected int stringIsBaseForm(String word, LexicalCategory category) {
 		if (!category.equals(LexicalCategory.NOUN)) {
-			word = word.toLowerCase();
+			word = PolishCharacters.toLowerCase(word);
 		}
 		int whichIsAdjective = -1;
 		if (word.length() > 2) {
-			if (lexicon.hasWord(word, category))
-				whichIsAdjective = 0;
-			else if (lexicon.hasWord((word).substring(0, (word).length() - 1), category))
-				whichIsAdjective = 1;
-			else if (lexicon.hasWord((word).substring(0, (word).length() - 2), category))
-				whichIsAdjective = 2;
-			else if (lexicon.hasWord((word).substring(0, (word).length() - 3), category))
-				whichIsAdjective = 3;
+			// one query for all truncations; the lowest set bit removes the fewest characters
+			int truncations = lexicon.getKnownTruncations(word, category, WordGroupIndex.MAX_TRUNCATION);
+			if (truncations != 0)
+				whichIsAdjective = Integer.numberOfTrailingZeros(truncations);
 		}
 		return whichIsAdjective;
 	}
@@ -358,7 +407,7 @@ public class NLGFactory {
 	private boolean stringIsWord(String string, LexicalCategory category) {
 		return lexicon != null
 				&& (lexicon.hasWord(string, category)
-						|| (lexicon.hasWord((string.substring(0, 1).toUpperCase() + string.substring(1)), category))
+						|| (lexicon.hasWord(PolishCharacters.capitalise(string), category))
 						|| (string.matches(WORD_REGEX)) || string.contains("-"));
 	}
 
@@ -371,10 +420,16 @@ public class NLGFactory {
 	 * @return
 	 */
 	private boolean stringIsAdjective(String string) {
-		return lexicon != null
-				&& ((string.length() > 2) &&
-						(lexicon.hasWord(string, LexicalCategory.ADJECTIVE)
-								|| (lexicon.hasWord((string.substring(0, 1).toUpperCase() + string.substring(1)), LexicalCategory.ADJECTIVE))));
+		if (lexicon == null || string.length() <= 2) {
+			return false;
+		}
+		String capitalised = PolishCharacters.capitalise(string);
+		WordGroupIndex wordGroups = lexicon.getWordGroupIndex();
+		if (wordGroups != null) {
+			return wordGroups.isAdjective(string) || wordGroups.isAdjective(capitalised);
+		}
+		return lexicon.hasWord(string, LexicalCategory.ADJECTIVE)
+				|| lexicon.hasWord(capitalised, LexicalCategory.ADJECTIVE);
 	}
 
 	/**
@@ -478,18 +533,23 @@ public class NLGFactory {
 		// count how many words the string contains
 		int countBlanks = ((String) noun).length() - ((String) noun).replace(" ", "").length();
 
+		String[] parts = ((String) noun).split(" ");
+		WordGroupIndex wordGroups = lexicon.getWordGroupIndex();
+
 		if (countBlanks == 1) {
-			String part1 = ((String) noun).split(" ")[0];
-			String part2 = ((String) noun).split(" ")[1];
+			String part1 = parts[0];
+			String part2 = parts[1];
 			if(part1 != null & part2 != null) {
 				NLGElement adjectiveElement = null;
-				if (!lexicon.hasWord(part1, LexicalCategory.NOUN) && (stringIsAdjective(part1.toLowerCase()) || stringIsAdjective(part1.toLowerCase().substring(0, (part1).length() - 1))
-						|| stringIsAdjective(part1.toLowerCase().substring(0, (part1).length() - 2)))) {
-					adjectiveElement = createWordFromBaseform(part1.toLowerCase(), LexicalCategory.ADJECTIVE);
+				boolean part1IsNoun = wordGroups != null ? wordGroups.isNoun(part1)
+						: lexicon.hasWord(part1, LexicalCategory.NOUN);
+				String lower1 = PolishCharacters.toLowerCase(part1);
+				if (!part1IsNoun && (stringIsAdjective(lower1) || stringIsAdjective(lower1.substring(0, (part1).length() - 1))
+						|| stringIsAdjective(lower1.substring(0, (part1).length() - 2)))) {
+					adjectiveElement = createWordFromBaseform(lower1, LexicalCategory.ADJECTIVE);
 				}
 				if (stringIsWord(part2, LexicalCategory.NOUN) && adjectiveElement != null) {
-					nounElement = createWordFromBaseform((part2.substring(0, 1).toUpperCase()
-							+ part2.substring(1)), LexicalCategory.NOUN);
+					nounElement = createWordFromBaseform(PolishCharacters.capitalise(part2), LexicalCategory.NOUN);
 					adjectiveElement = createWord(part1, LexicalCategory.PREPOSITION);
 					if (part2.equalsIgnoreCase(nounElement.getFeatureAsString(LexicalFeature.PLURAL))) {
 						adjectiveElement.setFeature(Feature.NUMBER, NumberAgreement.PLURAL);
@@ -500,23 +560,25 @@ public class NLGFactory {
 			}
 
 		} else if (countBlanks == 2) {
-			String part1 = ((String) noun).split(" ")[0];
-			String part2 = ((String) noun).split(" ")[1];
-			String part3 = ((String) noun).split(" ")[2];
+			String part1 = parts[0];
+			String part2 = parts[1];
+			String part3 = parts[2];
 			NLGElement adjectiveElement1 = null;
 			NLGElement adjectiveElement2 = null;
 			if (stringIsWord(part1, LexicalCategory.ANY) && stringIsWord(part2, LexicalCategory.ANY)
 					&& stringIsWord(part3, LexicalCategory.ANY)) {
-				if (stringIsAdjective(part1.toLowerCase()) || stringIsAdjective(part1.toLowerCase().substring(0, (part1).length() - 1))
-						|| stringIsAdjective(part1.toLowerCase().substring(0, (part1).length() - 2))) {
-					adjectiveElement1 = createWordFromBaseform(part1.toLowerCase(), LexicalCategory.ADJECTIVE);
+				String lower1 = PolishCharacters.toLowerCase(part1);
+				if (stringIsAdjective(lower1) || stringIsAdjective(lower1.substring(0, (part1).length() - 1))
+						|| stringIsAdjective(lower1.substring(0, (part1).length() - 2))) {
+					adjectiveElement1 = createWordFromBaseform(lower1, LexicalCategory.ADJECTIVE);
 				}
-				if (stringIsAdjective(part2.toLowerCase()) || stringIsAdjective(part2.toLowerCase().substring(0, (part2).length() - 1))
-						|| stringIsAdjective(part2.toLowerCase().substring(0, (part2).length() - 2))) {
-					adjectiveElement2 = createWordFromBaseform(part2.toLowerCase(), LexicalCategory.ADJECTIVE);
+				String lower2 = PolishCharacters.toLowerCase(part2);
+				if (stringIsAdjective(lower2) || stringIsAdjective(lower2.substring(0, (part2).length() - 1))
+						|| stringIsAdjective(lower2.substring(0, (part2).length() - 2))) {
+					adjectiveElement2 = createWordFromBaseform(lower2, LexicalCategory.ADJECTIVE);
 				}
 				if (stringIsWord(part3, LexicalCategory.NOUN) && adjectiveElement1 != null && adjectiveElement2 != null) {
-					nounElement = createWordFromBaseform((part3.substring(0, 1).toUpperCase() + part3.substring(1)), LexicalCategory.NOUN);
+					nounElement = createWordFromBaseform(PolishCharacters.capitalise(part3), LexicalCategory.NOUN);
 					adjectiveElement1.setFeature(InternalFeature.COMPOSITE, true);
 					phraseElement.addModifier(adjectiveElement1);
 					adjectiveElement2.setFeature(InternalFeature.COMPOSITE, true);
@@ -550,11 +612,11 @@ public class NLGFactory {
 		if (word.length() > 2) {
 			// check if 1st part is an adjective (but can be also given in an inflected form, e.g. "russische" instead of "russisch"
 			if (stringIsBaseform == 0) {
-				newElement = createNLGElement(word.toLowerCase(), category);
+				newElement = createNLGElement(PolishCharacters.toLowerCase(word), category);
 			} else if (stringIsBaseform == 1) {
-				newElement = createNLGElement((word.toLowerCase()).substring(0, (word).length() - 1), category);
+				newElement = createNLGElement((PolishCharacters.toLowerCase(word)).substring(0, (word).length() - 1), category);
 			} else if (stringIsBaseform == 2) {
-				newElement = createNLGElement((word.toLowerCase()).substring(0, (word).length() - 2), category);
+				newElement = createNLGElement((PolishCharacters.toLowerCase(word)).substring(0, (word).length() - 2), category);
 			} else {
 				//default - create entry with word type "any"
 				newElement = createNLGElement(word, category);
@@ -572,14 +634,14 @@ public class NLGFactory {
 	 * @param word        the base word for the pronoun.
 	 */
 	private void setPronounFeatures(NLGElement wordElement, String word) {
-		if (FIRST_PRONOUNS.contains(word.toLowerCase())) {
+		if (FIRST_PRONOUNS.contains(PolishCharacters.toLowerCase(word))) {
 			wordElement.setFeature(Feature.PERSON, Person.FIRST);
-		} else if (SECOND_PRONOUNS.contains(word.toLowerCase())) {
+		} else if (SECOND_PRONOUNS.contains(PolishCharacters.toLowerCase(word))) {
 			wordElement.setFeature(Feature.PERSON, Person.SECOND);
 		} else {
 			wordElement.setFeature(Feature.PERSON, Person.THIRD);
 		}
-		if (PLURAL_PRONOUNS.contains(word.toLowerCase())) {
+		if (PLURAL_PRONOUNS.contains(PolishCharacters.toLowerCase(word))) {
 			wordElement.setPlural(true);
 		}
 	}
@@ -779,6 +841,22 @@ public class NLGFactory {
 
 		return inflElement;
 	}
+	/**
+	 * Creates a placeholder word for a slot of a sentence template. The
+	 * placeholder is used in a plan like any other word; features that drive
+	 * agreement, such as the gender, should be set on it before the plan is
+	 * compiled with <code>Realiser.compileTemplate</code>.
+	 *
+	 * @param name     the name the slot is bound by.
+	 * @param category the lexical category of the words filling the slot.
+	 * @return a <code>WordElement</code> marked as a slot.
+	 */
+	public WordElement createSlot(String name, LexicalCategory category) {
+		WordElement slot = new WordElement(name, category);
+		slot.setFeature(InternalFeature.SLOT, name);
+		return slot;
+	}
+
 /***********************************************************************************
  * Document level stuff
  ***********************************************************************************/
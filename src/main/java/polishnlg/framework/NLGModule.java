@@ -21,6 +21,7 @@ package polishnlg.framework;
 
 import polishnlg.lexicon.*;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -81,6 +82,27 @@ public abstract class NLGModule {
      */
     abstract public List<NLGElement> realise(List<NLGElement> elements);
 
+    /**
+     * Realises the given element and appends the text of the result to an
+     * output, as <code>realise(element).getRealisation()</code> would give it.
+     * This implementation does exactly that; modules whose result is text,
+     * such as the formatters, override it to write into the output as they
+     * go instead of building a string at every level of the tree.
+     *
+     * @param element
+     *            the <code>NLGElement</code> to be realised.
+     * @param output
+     *            the output the text is appended to.
+     * @throws IOException
+     *             if the output cannot be written.
+     */
+    public void realise(NLGElement element, Appendable output) throws IOException {
+        NLGElement realised = realise(element);
+        if (realised != null) {
+            output.append(realised.getRealisation());
+        }
+    }
+
     /**
      * Sets the lexicon to be used by this module. Passing in <code>null</code>
      * will remove the existing lexicon and no lexicon will be used.
@@ -101,4 +123,14 @@ public abstract class NLGModule {
     public Lexicon getLexicon() {
         return this.lexicon;
     }
+
+    /**
+     * Retrieves the context this module borrows its scratch buffers from:
+     * that of the current thread, which every module on the thread shares.
+     *
+     * @return the <code>RealisationContext</code> of the current thread.
+     */
+    public RealisationContext getRealisationContext() {
+        return RealisationContext.current();
+    }
 }
@@ -92,6 +92,11 @@ public class PhraseElement extends NLGElement {
         return children;
     }
 
+    @Override
+    public <R> R accept(NLGElementVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
     /**
      * Sets the head, or main component, of this current phrase. For example,
      * the head for a verb phrase should be a verb while the head of a noun
@@ -0,0 +1,204 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+
+package polishnlg.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Scratch space for one realisation at a time: string builders and element
+ * lists that the processors borrow while they work and give back when they
+ * are done, so a realiser that runs request after request keeps reusing the
+ * same few buffers instead of allocating new ones at every level of every
+ * tree. Each thread has one context, which every processor and formatter
+ * working on that thread borrows from (see <code>current</code> and
+ * <code>NLGModule.getRealisationContext</code>); a <code>Realiser</code>
+ * resets it at the start of each request.
+ * </p>
+ * <p>
+ * Borrowing is last in, first out, which is what recursive processing
+ * gives. Giving back a buffer also gives back any buffer borrowed after it
+ * and not returned, and <code>reset</code> gives back everything, so a
+ * request abandoned halfway through by an exception leaks nothing into the
+ * next one. The contents of a borrowed buffer must not be kept once it has
+ * been given back.
+ * </p>
+ * <p>
+ * As the context belongs to the thread, realisers and modules running on
+ * other threads, virtual or not, never see its buffers, even when they share
+ * a formatter or a processor. A context must not be used by several threads
+ * at once. A request started on a thread while another is under way on it,
+ * from inside one of its stages, would give back the buffers of the first.
+ * </p>
+ */
+public final class RealisationContext {
+
+    /** The context of each thread, created when the thread first needs it. */
+    private static final ThreadLocal<RealisationContext> CURRENT = new ThreadLocal<RealisationContext>() {
+
+        @Override
+        protected RealisationContext initialValue() {
+            return new RealisationContext();
+        }
+    };
+
+    /**
+     * Builders that have grown beyond this many characters are shrunk when
+     * the context is reset, so one very long document does not pin its
+     * buffers for the lifetime of the realiser.
+     */
+    public static final int MAXIMUM_RETAINED_CAPACITY = 1 << 14;
+
+    private final List<StringBuilder> builders = new ArrayList<StringBuilder>();
+
+    private int borrowedBuilders = 0;
+
+    private final List<ArrayList<NLGElement>> lists = new ArrayList<ArrayList<NLGElement>>();
+
+    private int borrowedLists = 0;
+
+    private long elements = 0;
+
+    private Runnable elementCheck = null;
+
+    /**
+     * @return the context of the current thread.
+     */
+    public static RealisationContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Borrows an empty builder.
+     *
+     * @return the builder, to be given back with <code>release</code>.
+     */
+    public StringBuilder borrowBuilder() {
+        if (this.borrowedBuilders == this.builders.size()) {
+            this.builders.add(new StringBuilder(64));
+        }
+        StringBuilder builder = this.builders.get(this.borrowedBuilders++);
+        builder.setLength(0);
+        return builder;
+    }
+
+    /**
+     * Gives back a builder, along with any builder borrowed after it. A
+     * builder that is not borrowed from this context is ignored.
+     *
+     * @param builder
+     *            the builder.
+     */
+    public void release(StringBuilder builder) {
+        for (int i = this.borrowedBuilders - 1; i >= 0; i--) {
+            if (this.builders.get(i) == builder) {
+                this.borrowedBuilders = i;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Borrows an empty list.
+     *
+     * @return the list, to be given back with <code>release</code>.
+     */
+    public List<NLGElement> borrowList() {
+        if (this.borrowedLists == this.lists.size()) {
+            this.lists.add(new ArrayList<NLGElement>());
+        }
+        return this.lists.get(this.borrowedLists++);
+    }
+
+    /**
+     * Gives back a list, along with any list borrowed after it, and empties
+     * them. A list that is not borrowed from this context is ignored.
+     *
+     * @param list
+     *            the list.
+     */
+    public void release(List<NLGElement> list) {
+        for (int i = this.borrowedLists - 1; i >= 0; i--) {
+            if (this.lists.get(i) == list) {
+                while (this.borrowedLists > i) {
+                    this.lists.get(--this.borrowedLists).clear();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gives back everything borrowed and shrinks the builders that have grown
+     * too large. Called between requests.
+     */
+    public void reset() {
+        this.borrowedBuilders = 0;
+        for (StringBuilder builder : this.builders) {
+            if (builder.capacity() > MAXIMUM_RETAINED_CAPACITY) {
+                builder.setLength(0);
+                builder.trimToSize();
+            }
+        }
+        while (this.borrowedLists > 0) {
+            this.lists.get(--this.borrowedLists).clear();
+        }
+    }
+
+    /**
+     * Called by the processors and formatters as they come to each element
+     * of the tree they work on. Runs the element check, if there is one.
+     */
+    public void enterElement() {
+        this.elements++;
+        if (this.elementCheck != null) {
+            this.elementCheck.run();
+        }
+    }
+
+    /**
+     * Sets a check to run as each element is entered, which may abandon the
+     * work under way by throwing an unchecked exception. A
+     * <code>Realiser</code> with limits uses it to stop a stage that runs out
+     * of time or is cancelled partway through a tree.
+     *
+     * @param check
+     *            the check, or <code>null</code> (the default) for none.
+     */
+    public void setElementCheck(Runnable check) {
+        this.elementCheck = check;
+    }
+
+    /**
+     * @return the number of elements entered on this context since it was
+     *         created, which is not reset between requests.
+     */
+    public long getElementCount() {
+        return this.elements;
+    }
+
+    /**
+     * @return the number of builders and lists currently borrowed.
+     */
+    public int getBorrowed() {
+        return this.borrowedBuilders + this.borrowedLists;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ *
+ * Contributor(s) German version: Kira Klimt, Daniel Braun, Technical University of Munich
+ * 
+ * Contributor(s) Polish version: Sasha Gdaniec
+ */
+
+package polishnlg.framework;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Remembers what <code>NLGFactory.createNLGElement</code> made of a string in
+ * a given lexical category: a word from the lexicon, a word group lexeme or
+ * canned text. The lexicon is only consulted the first time a string is seen;
+ * after that the factory gets a copy of the element it produced then, so that
+ * callers can go on modifying what they are given, exactly as they can with
+ * the copies handed out by the lexicon.
+ * </p>
+ * <p>
+ * Each category holds at most a fixed number of strings, dropping the least
+ * recently used. The factory clears the cache when its lexicon is replaced.
+ * </p>
+ */
+final class ResolutionCache {
+
+	private final int maximumSize;
+
+	private final EnumMap<LexicalCategory, LinkedHashMap<String, NLGElement>> resolutions =
+			new EnumMap<LexicalCategory, LinkedHashMap<String, NLGElement>>(LexicalCategory.class);
+
+	ResolutionCache(int maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * @return a copy of the element the string resolved to, or
+	 *         <code>null</code> if it has not been seen.
+	 */
+	synchronized NLGElement get(String string, LexicalCategory category) {
+		LinkedHashMap<String, NLGElement> forCategory = this.resolutions.get(category);
+		if (forCategory == null) {
+			return null;
+		}
+		return copy(string, forCategory.get(string));
+	}
+
+	/**
+	 * Remembers a copy of the element a string resolved to. Elements other
+	 * than words and canned text are not remembered.
+	 */
+	synchronized void put(String string, LexicalCategory category, NLGElement resolved) {
+		NLGElement copy = copy(string, resolved);
+		if (copy == null) {
+			return;
+		}
+		LinkedHashMap<String, NLGElement> forCategory = this.resolutions.get(category);
+		if (forCategory == null) {
+			forCategory = new LinkedHashMap<String, NLGElement>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, NLGElement> eldest) {
+					return size() > ResolutionCache.this.maximumSize;
+				}
+			};
+			this.resolutions.put(category, forCategory);
+		}
+		forCategory.put(string, copy);
+	}
+
+	synchronized void clear() {
+		this.resolutions.clear();
+	}
+
+	private static NLGElement copy(String string, NLGElement element) {
+		if (element == null) {
+			return null;
+		} else if (element.getClass() == WordElement.class) {
+			return new WordElement((WordElement) element);
+		} else if (element.getClass() == StringElement.class) {
+			// canned text is always the string itself
+			return new StringElement(string);
+		}
+		return null;
+	}
+}
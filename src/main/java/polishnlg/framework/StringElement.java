@@ -46,6 +46,11 @@ public class StringElement extends NLGElement {
         return new ArrayList<NLGElement>();
     }
 
+    @Override
+    public <R> R accept(NLGElementVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
     @Override
     public String toString() {
         return getRealisation();
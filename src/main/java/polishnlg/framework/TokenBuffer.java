@@ -0,0 +1,279 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+
+package polishnlg.framework;
+
+import java.util.Arrays;
+
+import polishnlg.features.InternalFeature;
+
+/**
+ * <p>
+ * A realised text together with its tokens. The text is kept in one
+ * <code>char</code> array and each token is a range of it, with the element
+ * it was realised from and the discourse function that element had, so the
+ * words of the output can be highlighted or linked without tokenising the
+ * text again. A buffer is obtained from <code>Realiser.realiseTokens</code>.
+ * </p>
+ * <p>
+ * A buffer is also an <code>Appendable</code>: the formatters write the text
+ * into it and, when they come to a sentence realised with tokens, copy the
+ * tokens of the sentence along with its text. Text written in any other way
+ * has no tokens.
+ * </p>
+ */
+public final class TokenBuffer implements Appendable {
+
+    private char[] text = new char[64];
+
+    private int length = 0;
+
+    /** The start and end of each token, one after the other. */
+    private int[] ranges = new int[32];
+
+    private NLGElement[] sources = new NLGElement[16];
+
+    private Object[] functions = new Object[16];
+
+    private int size = 0;
+
+    /**
+     * @return the number of tokens.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param index
+     *            the index of a token.
+     * @return the offset in the text of the first character of the token.
+     */
+    public int getStart(int index) {
+        checkIndex(index);
+        return this.ranges[2 * index];
+    }
+
+    /**
+     * @param index
+     *            the index of a token.
+     * @return the offset in the text after the last character of the token.
+     */
+    public int getEnd(int index) {
+        checkIndex(index);
+        return this.ranges[2 * index + 1];
+    }
+
+    /**
+     * @param index
+     *            the index of a token.
+     * @return the text of the token.
+     */
+    public String getToken(int index) {
+        checkIndex(index);
+        return new String(this.text, this.ranges[2 * index], this.ranges[2 * index + 1] - this.ranges[2 * index]);
+    }
+
+    /**
+     * @param index
+     *            the index of a token.
+     * @return the element the token was realised from: the
+     *         <code>WordElement</code> of an inflected word, or the element
+     *         itself for canned text.
+     */
+    public NLGElement getSource(int index) {
+        checkIndex(index);
+        return this.sources[index];
+    }
+
+    /**
+     * @param index
+     *            the index of a token.
+     * @return the discourse function of the element the token was realised
+     *         from, or <code>null</code>.
+     */
+    public Object getDiscourseFunction(int index) {
+        checkIndex(index);
+        return this.functions[index];
+    }
+
+    /**
+     * @return the number of characters of text.
+     */
+    public int length() {
+        return this.length;
+    }
+
+    /**
+     * Gives access to the text without copying it. The array must not be
+     * modified, and only its first <code>length()</code> characters are text.
+     *
+     * @return the array holding the text.
+     */
+    public char[] getChars() {
+        return this.text;
+    }
+
+    /**
+     * @return the text.
+     */
+    @Override
+    public String toString() {
+        return new String(this.text, 0, this.length);
+    }
+
+    @Override
+    public TokenBuffer append(char c) {
+        ensureLength(this.length + 1);
+        this.text[this.length++] = c;
+        return this;
+    }
+
+    @Override
+    public TokenBuffer append(CharSequence csq) {
+        String string = String.valueOf(csq);
+        return append(string, 0, string.length());
+    }
+
+    @Override
+    public TokenBuffer append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            return append("null", start, end); //$NON-NLS-1$
+        }
+        if (start < 0 || start > end || end > csq.length()) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + csq.length()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        ensureLength(this.length + end - start);
+        if (csq instanceof String) {
+            ((String) csq).getChars(start, end, this.text, this.length);
+            this.length += end - start;
+        } else {
+            for (int i = start; i < end; i++) {
+                this.text[this.length++] = csq.charAt(i);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends the realisation of an element with its tokens. The tokens are
+     * those the orthography processor gave a sentence if it has any and they
+     * match the text; otherwise each blank-separated run of the text is a
+     * token whose source is the element.
+     *
+     * @param text
+     *            the text of the element, as the formatter writes it.
+     * @param element
+     *            the element.
+     * @return this buffer.
+     */
+    public TokenBuffer appendText(String text, NLGElement element) {
+        Object tokens = element.getFeature(InternalFeature.TOKENS);
+        if (tokens instanceof TokenBuffer && ((TokenBuffer) tokens).textEquals(text)) {
+            appendTokens((TokenBuffer) tokens);
+            return this;
+        }
+
+        int offset = this.length;
+        append(text);
+        Object function = element.getFeature(InternalFeature.DISCOURSE_FUNCTION);
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean blank = i == text.length() || Character.isWhitespace(text.charAt(i));
+            if (blank && start >= 0) {
+                addToken(offset + start, offset + i, element, function);
+                start = -1;
+            } else if (!blank && start < 0) {
+                start = i;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends the text and the tokens of another buffer.
+     *
+     * @param tokens
+     *            the other buffer.
+     * @return this buffer.
+     */
+    public TokenBuffer appendTokens(TokenBuffer tokens) {
+        int offset = this.length;
+        ensureLength(this.length + tokens.length);
+        System.arraycopy(tokens.text, 0, this.text, this.length, tokens.length);
+        this.length += tokens.length;
+        for (int i = 0; i < tokens.size; i++) {
+            addToken(offset + tokens.ranges[2 * i], offset + tokens.ranges[2 * i + 1], tokens.sources[i],
+                    tokens.functions[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a token over text already in the buffer.
+     *
+     * @param start
+     *            the offset of the first character of the token.
+     * @param end
+     *            the offset after the last character of the token.
+     * @param source
+     *            the element the token was realised from.
+     * @param function
+     *            the discourse function of the element, or <code>null</code>.
+     */
+    public void addToken(int start, int end, NLGElement source, Object function) {
+        if (start < 0 || start >= end || end > this.length) {
+            throw new IllegalArgumentException("Bad token range " + start + "-" + end); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        if (this.size == this.sources.length) {
+            this.ranges = Arrays.copyOf(this.ranges, this.ranges.length * 2);
+            this.sources = Arrays.copyOf(this.sources, this.sources.length * 2);
+            this.functions = Arrays.copyOf(this.functions, this.functions.length * 2);
+        }
+        this.ranges[2 * this.size] = start;
+        this.ranges[2 * this.size + 1] = end;
+        this.sources[this.size] = source;
+        this.functions[this.size] = function;
+        this.size++;
+    }
+
+    private boolean textEquals(String other) {
+        if (other.length() != this.length) {
+            return false;
+        }
+        for (int i = 0; i < this.length; i++) {
+            if (this.text[i] != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureLength(int required) {
+        if (required > this.text.length) {
+            this.text = Arrays.copyOf(this.text, Math.max(required, this.text.length * 2));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Token " + index + " of " + this.size); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+}
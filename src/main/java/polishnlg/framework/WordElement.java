@@ -148,6 +148,7 @@ public class WordElement extends NLGElement {
      */
     public void setBaseForm(String baseForm) {
         this.baseForm = baseForm;
+        structureChanged();
     }
 
     /**
@@ -156,6 +157,7 @@ public class WordElement extends NLGElement {
      */
     public void setId(String id) {
         this.id = id;
+        structureChanged();
     }
 
     @Override
@@ -212,6 +214,11 @@ public class WordElement extends NLGElement {
         return new ArrayList<NLGElement>();
     }
 
+    @Override
+    public <R> R accept(NLGElementVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
     @Override
     public String printTree(String indent) {
         StringBuffer print = new StringBuffer();
@@ -0,0 +1,197 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ *
+ * Contributor(s) German version: Kira Klimt, Daniel Braun, Technical University of Munich
+ * 
+ * Contributor(s) Polish version: Sasha Gdaniec
+ *
+ */
+
+package polishnlg.lexicon;
+
+import java.util.Arrays;
+
+import polishnlg.framework.LexicalCategory;
+
+/**
+ * <p>
+ * A character trie of the base forms of a lexicon. Every node records the
+ * categories of the words whose base form ends there, so a single walk along a
+ * word passes every base form that is a prefix of it. This answers in one
+ * traversal which truncations of a word (the word without its last few
+ * characters) are base forms of a category, and which is the longest known
+ * stem of a word, questions that otherwise take one lexicon lookup per
+ * candidate.
+ * </p>
+ * <p>
+ * The trie is filled when the lexicon is loaded and is only read afterwards.
+ * </p>
+ */
+public class BaseFormTrie {
+
+	private static final char[] NO_LABELS = new char[0];
+
+	private static final Node[] NO_CHILDREN = new Node[0];
+
+	private final Node root = new Node();
+
+	private int size = 0;
+
+	/**
+	 * Adds a base form.
+	 *
+	 * @param baseForm
+	 *            the base form of a word
+	 * @param category
+	 *            the category of the word
+	 */
+	public void add(String baseForm, LexicalCategory category) {
+		Node node = this.root;
+		for (int i = 0; i < baseForm.length(); i++) {
+			node = node.childOrCreate(baseForm.charAt(i));
+		}
+		if (node.categories == 0) {
+			this.size++;
+		}
+		node.categories |= bit(category);
+	}
+
+	/**
+	 * @return the number of distinct base forms in the trie
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @param baseForm
+	 *            the base form to look for
+	 * @param category
+	 *            the category, or <code>ANY</code>
+	 * @return <code>true</code> if a word of the category has this base form
+	 */
+	public boolean contains(String baseForm, LexicalCategory category) {
+		Node node = this.root;
+		for (int i = 0; i < baseForm.length() && node != null; i++) {
+			node = node.child(baseForm.charAt(i));
+		}
+		return node != null && matches(node, category);
+	}
+
+	/**
+	 * Finds the truncations of a word that are base forms of a category.
+	 * Truncation <code>k</code> is the word without its last <code>k</code>
+	 * characters.
+	 *
+	 * @param word
+	 *            the word
+	 * @param category
+	 *            the category, or <code>ANY</code>
+	 * @param maxTruncation
+	 *            the largest truncation to consider, at most 31
+	 * @return a bit mask with bit <code>k</code> set if truncation
+	 *         <code>k</code> is a base form; <code>0</code> if none is
+	 */
+	public int knownTruncations(String word, LexicalCategory category, int maxTruncation) {
+		if (maxTruncation < 0 || maxTruncation > 31) {
+			throw new IllegalArgumentException("maxTruncation must be between 0 and 31: " + maxTruncation); //$NON-NLS-1$
+		}
+		int length = word.length();
+		int shortest = Math.max(0, length - maxTruncation);
+		int mask = 0;
+		Node node = this.root;
+		for (int depth = 0; node != null; depth++) {
+			if (depth >= shortest && matches(node, category)) {
+				mask |= 1 << (length - depth);
+			}
+			if (depth == length) {
+				break;
+			}
+			node = node.child(word.charAt(depth));
+		}
+		return mask;
+	}
+
+	/**
+	 * Finds the longest prefix of a word that is a base form of a category.
+	 *
+	 * @param word
+	 *            the word
+	 * @param category
+	 *            the category, or <code>ANY</code>
+	 * @return the length of the longest such prefix, <code>word.length()</code>
+	 *         if the word itself is a base form, or -1 if no prefix is
+	 */
+	public int longestKnownStem(String word, LexicalCategory category) {
+		int longest = -1;
+		Node node = this.root;
+		for (int depth = 0; node != null; depth++) {
+			if (matches(node, category)) {
+				longest = depth;
+			}
+			if (depth == word.length()) {
+				break;
+			}
+			node = node.child(word.charAt(depth));
+		}
+		return longest;
+	}
+
+	private static boolean matches(Node node, LexicalCategory category) {
+		return category == LexicalCategory.ANY ? node.categories != 0 : (node.categories & bit(category)) != 0;
+	}
+
+	private static long bit(LexicalCategory category) {
+		return 1L << category.ordinal();
+	}
+
+	/**
+	 * A node of the trie. The labels of the children are kept sorted, so a
+	 * child is found by binary search without a map per node.
+	 */
+	private static final class Node {
+		char[] labels = NO_LABELS;
+		Node[] children = NO_CHILDREN;
+		long categories = 0;
+
+		Node child(char label) {
+			int index = Arrays.binarySearch(this.labels, label);
+			return index >= 0 ? this.children[index] : null;
+		}
+
+		Node childOrCreate(char label) {
+			int index = Arrays.binarySearch(this.labels, label);
+			if (index >= 0) {
+				return this.children[index];
+			}
+			int insert = -index - 1;
+			int count = this.labels.length;
+			char[] labels = new char[count + 1];
+			Node[] children = new Node[count + 1];
+			System.arraycopy(this.labels, 0, labels, 0, insert);
+			System.arraycopy(this.children, 0, children, 0, insert);
+			System.arraycopy(this.labels, insert, labels, insert + 1, count - insert);
+			System.arraycopy(this.children, insert, children, insert + 1, count - insert);
+			labels[insert] = label;
+			children[insert] = new Node();
+			this.labels = labels;
+			this.children = children;
+			return children[insert];
+		}
+	}
+}
@@ -31,6 +31,13 @@ import java.util.List;
 
 
 public abstract class Lexicon {
+
+    /** The lookup counts of the threads counting lookups, see <code>startCountingLookups</code>. */
+    private final ThreadLocal<long[]> lookups = new ThreadLocal<long[]>();
+
+    /** Set once any thread has counted lookups; until then no count is looked for. */
+    private volatile boolean counting = false;
+
     /****************************************************************************/
     // constructors and related
     /****************************************************************************/
@@ -91,6 +98,11 @@ public abstract class Lexicon {
      * @return word
      */
     public WordElement lookupWord(String baseForm, LexicalCategory category) {
+        if (this.counting) {
+            long[] count = this.lookups.get();
+            if (count != null)
+                count[0]++;
+        }
         if (hasWord(baseForm, category))
             return getWord(baseForm, category);
         else if (hasWordFromVariant(baseForm, category))
@@ -112,6 +124,89 @@ public abstract class Lexicon {
         return lookupWord(baseForm, LexicalCategory.ANY);
     }
 
+    /**
+     * Starts counting the words the current thread looks up with
+     * <code>lookupWord</code>, from zero. Other threads using the lexicon at
+     * the same time are not counted.
+     */
+    public void startCountingLookups() {
+        this.counting = true;
+        this.lookups.set(new long[1]);
+    }
+
+    /**
+     * Stops counting the lookups of the current thread.
+     *
+     * @return the number of words the thread looked up since
+     *         <code>startCountingLookups</code>, 0 if it was not counting.
+     */
+    public long stopCountingLookups() {
+        long[] count = this.lookups.get();
+        this.lookups.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Returns the index used to recognise word group lexemes without probing
+     * the lexicon word by word. Lexicons that cannot list their words return
+     * <code>null</code>, and callers then fall back to <code>hasWord</code>.
+     *
+     * @return the <code>WordGroupIndex</code>, or <code>null</code>
+     */
+    public WordGroupIndex getWordGroupIndex() {
+        return null;
+    }
+
+    /**
+     * Finds which truncations of a word (the word without its last
+     * <code>k</code> characters, for <code>k</code> from 0 to
+     * <code>maxTruncation</code>) are base forms of a category. This version
+     * asks <code>hasWord</code> once per truncation; lexicons holding a
+     * <code>BaseFormTrie</code> answer in a single traversal.
+     *
+     * @param word
+     *            - the word, eg "russische"
+     * @param category
+     *            - syntactic category of the base forms (ANY for unknown)
+     * @param maxTruncation
+     *            - the largest number of characters to remove, at most 31
+     * @return a bit mask with bit <code>k</code> set if truncation
+     *         <code>k</code> is a base form, <code>0</code> if none is
+     */
+    public int getKnownTruncations(String word, LexicalCategory category, int maxTruncation) {
+        if (maxTruncation < 0 || maxTruncation > 31) {
+            throw new IllegalArgumentException("maxTruncation must be between 0 and 31: " + maxTruncation); //$NON-NLS-1$
+        }
+        int mask = 0;
+        for (int truncation = 0; truncation <= maxTruncation && truncation <= word.length(); truncation++) {
+            if (hasWord(word.substring(0, word.length() - truncation), category)) {
+                mask |= 1 << truncation;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Finds the longest prefix of a word that is a base form of a category.
+     * This version asks <code>hasWord</code> for every prefix, longest first;
+     * lexicons holding a <code>BaseFormTrie</code> answer in a single
+     * traversal.
+     *
+     * @param word
+     *            - the word
+     * @param category
+     *            - syntactic category of the base form (ANY for unknown)
+     * @return the length of the longest such prefix, or -1 if there is none
+     */
+    public int getLongestKnownStem(String word, LexicalCategory category) {
+        for (int length = word.length(); length >= 0; length--) {
+            if (hasWord(word.substring(0, length), category)) {
+                return length;
+            }
+        }
+        return -1;
+    }
+
     /****************************************************************************/
     // get words by baseform and category
     // fundamental version is getWords(String baseForm, Category category),
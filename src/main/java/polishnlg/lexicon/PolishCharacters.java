@@ -0,0 +1,204 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ *
+ * Contributor(s) German version: Kira Klimt, Daniel Braun, Technical University of Munich
+ * 
+ * Contributor(s) Polish version: Sasha Gdaniec
+ *
+ */
+
+package polishnlg.lexicon;
+
+/**
+ * <p>
+ * Character utilities for Polish words that work from lookup tables instead of
+ * regular expressions or the locale-sensitive <code>String</code> case
+ * conversions. The tables cover the Latin characters up to and including Latin
+ * Extended-A, which holds all the Polish diacritics; other characters fall back
+ * to the single-character methods of <code>Character</code>.
+ * </p>
+ * <p>
+ * Case conversion is one character to one character and does not depend on the
+ * default locale, so a converted string always has the length of the original.
+ * Methods return their argument unchanged when there is nothing to convert.
+ * </p>
+ */
+public abstract class PolishCharacters {
+
+	/** The characters below this value are looked up in the tables. */
+	private static final int TABLE_SIZE = 0x180;
+
+	private static final byte VOWEL = 1;
+
+	private static final byte POLISH_LOWER_CASE = 2;
+
+	private static final char[] UPPER_CASE = new char[TABLE_SIZE];
+
+	private static final char[] LOWER_CASE = new char[TABLE_SIZE];
+
+	private static final byte[] FLAGS = new byte[TABLE_SIZE];
+
+	static {
+		for (char c = 0; c < TABLE_SIZE; c++) {
+			UPPER_CASE[c] = Character.toUpperCase(c);
+			LOWER_CASE[c] = Character.toLowerCase(c);
+		}
+		for (char c : "aeiouyąęóAEIOUYĄĘÓ".toCharArray()) { //$NON-NLS-1$
+			FLAGS[c] |= VOWEL;
+		}
+		for (char c : "abcdefghijklmnopqrstuvwxyząćęłńóśżź".toCharArray()) { //$NON-NLS-1$
+			FLAGS[c] |= POLISH_LOWER_CASE;
+		}
+	}
+
+	private PolishCharacters() {
+	}
+
+	/**
+	 * @param c
+	 *            a character.
+	 * @return <code>true</code> if the character is one of the Polish vowel
+	 *         letters <em>a e i o u y ą ę ó</em>, in either case.
+	 */
+	public static boolean isVowel(char c) {
+		return c < TABLE_SIZE && (FLAGS[c] & VOWEL) != 0;
+	}
+
+	/**
+	 * @param c
+	 *            a character.
+	 * @return <code>true</code> if the character is a lower-case letter of the
+	 *         Polish alphabet, counting the letters <em>q v x</em> of loan
+	 *         words.
+	 */
+	public static boolean isPolishLowerCase(char c) {
+		return c < TABLE_SIZE && (FLAGS[c] & POLISH_LOWER_CASE) != 0;
+	}
+
+	/**
+	 * @param c
+	 *            a character.
+	 * @return the upper-case form of the character.
+	 */
+	public static char toUpperCase(char c) {
+		return c < TABLE_SIZE ? UPPER_CASE[c] : Character.toUpperCase(c);
+	}
+
+	/**
+	 * @param c
+	 *            a character.
+	 * @return the lower-case form of the character.
+	 */
+	public static char toLowerCase(char c) {
+		return c < TABLE_SIZE ? LOWER_CASE[c] : Character.toLowerCase(c);
+	}
+
+	/**
+	 * Converts a string to lower case. The string is only copied if one of its
+	 * characters changes.
+	 *
+	 * @param s
+	 *            the string.
+	 * @return the string in lower case.
+	 */
+	public static String toLowerCase(String s) {
+		int length = s.length();
+		int i = 0;
+		while (i < length && toLowerCase(s.charAt(i)) == s.charAt(i)) {
+			i++;
+		}
+		if (i == length) {
+			return s;
+		}
+		char[] chars = s.toCharArray();
+		for (; i < length; i++) {
+			chars[i] = toLowerCase(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Converts the first character of a string to upper case, as in the base
+	 * forms of nouns looked up with a capital. The string is only copied if the
+	 * character changes.
+	 *
+	 * @param s
+	 *            the string.
+	 * @return the capitalised string.
+	 */
+	public static String capitalise(String s) {
+		if (s.isEmpty()) {
+			return s;
+		}
+		char first = s.charAt(0);
+		char upper = toUpperCase(first);
+		if (upper == first) {
+			return s;
+		}
+		char[] chars = s.toCharArray();
+		chars[0] = upper;
+		return new String(chars);
+	}
+
+	/**
+	 * Capitalises the first character of a builder in place if it is a
+	 * lower-case letter of the Polish alphabet. Other characters, such as
+	 * digits or the letters of other languages, are left alone.
+	 *
+	 * @param builder
+	 *            the builder.
+	 */
+	public static void capitaliseFirstLetter(StringBuilder builder) {
+		if (builder.length() > 0 && isPolishLowerCase(builder.charAt(0))) {
+			builder.setCharAt(0, UPPER_CASE[builder.charAt(0)]);
+		}
+	}
+
+	/**
+	 * Counts the syllables of a word as the number of runs of vowels in it.
+	 * Leading and trailing blanks are ignored, and words of at most three
+	 * characters count as one syllable.
+	 *
+	 * @param word
+	 *            the word.
+	 * @return the number of syllables.
+	 */
+	public static int countSyllables(CharSequence word) {
+		int start = 0;
+		int end = word.length();
+		while (start < end && word.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && word.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		if (end - start <= 3) {
+			return 1;
+		}
+		int syllables = 0;
+		boolean inVowel = false;
+		for (int i = start; i < end; i++) {
+			boolean vowel = isVowel(word.charAt(i));
+			if (vowel && !inVowel) {
+				syllables++;
+			}
+			inVowel = vowel;
+		}
+		return syllables;
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ *
+ * Contributor(s) German version: Kira Klimt, Daniel Braun, Technical University of Munich
+ * 
+ * Contributor(s) Polish version: Sasha Gdaniec
+ *
+ */
+
+package polishnlg.lexicon;
+
+import java.util.Collection;
+
+import polishnlg.framework.LexicalCategory;
+import polishnlg.framework.WordElement;
+
+/**
+ * <p>
+ * This class recognises word group lexemes such as "Russische Föderation" or
+ * "Vereinigte Arabische Emirate": one or two adjectives, possibly in an
+ * inflected form, followed by a noun. Such lexemes are not entries of the
+ * lexicon, so they are recognised by their shape; the index holds the base
+ * forms of the lexicon's adjectives and nouns, built once when the lexicon is
+ * loaded, and classifies the tokens of a string in a single left-to-right
+ * scan.
+ * </p>
+ * <p>
+ * The answers are those the <code>NLGFactory</code> would get by probing
+ * <code>Lexicon.hasWord</code>, without copying the matching words for every
+ * probe.
+ * </p>
+ */
+public class WordGroupIndex {
+
+	/** The longest ending that is stripped to find an adjective's base form. */
+	public static final int MAX_TRUNCATION = 3;
+
+	private final BaseFormTrie baseForms;
+
+	/**
+	 * Builds the index over the base forms of a lexicon.
+	 *
+	 * @param baseForms
+	 *            the base forms of all words of the lexicon
+	 */
+	public WordGroupIndex(BaseFormTrie baseForms) {
+		this.baseForms = baseForms;
+	}
+
+	/**
+	 * Builds the index from the words of a lexicon.
+	 *
+	 * @param words
+	 *            all words of the lexicon
+	 */
+	public WordGroupIndex(Collection<WordElement> words) {
+		this(new BaseFormTrie());
+		for (WordElement word : words) {
+			if (word.getBaseForm() != null && (word.getCategory() == LexicalCategory.ADJECTIVE
+					|| word.getCategory() == LexicalCategory.NOUN)) {
+				this.baseForms.add(word.getBaseForm(), (LexicalCategory) word.getCategory());
+			}
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the lexicon has an adjective with this base
+	 *         form
+	 */
+	public boolean isAdjective(String baseForm) {
+		return this.baseForms.contains(baseForm, LexicalCategory.ADJECTIVE);
+	}
+
+	/**
+	 * @return <code>true</code> if the lexicon has a noun with this base form
+	 */
+	public boolean isNoun(String baseForm) {
+		return this.baseForms.contains(baseForm, LexicalCategory.NOUN);
+	}
+
+	/**
+	 * Checks whether a word is an adjective, as it is or without its last one
+	 * to three characters (e.g. "russische" for "russisch"). The word is
+	 * lower-cased first; words of two characters or less never match.
+	 *
+	 * @param word
+	 *            the word
+	 * @return the number of characters that had to be removed, or -1 if the
+	 *         word is not an adjective
+	 */
+	public int adjectiveTruncation(String word) {
+		String lower = PolishCharacters.toLowerCase(word);
+		if (lower.length() <= 2) {
+			return -1;
+		}
+		int mask = this.baseForms.knownTruncations(lower, LexicalCategory.ADJECTIVE, MAX_TRUNCATION);
+		return mask == 0 ? -1 : Integer.numberOfTrailingZeros(mask);
+	}
+
+	/**
+	 * Checks whether a string is a word group lexeme: two or three tokens
+	 * separated by single blanks, all but the last an adjective (see
+	 * <code>adjectiveTruncation</code>) and the last a noun or a single word.
+	 *
+	 * @param string
+	 *            the string
+	 * @return <code>true</code> if the string is a word group lexeme
+	 */
+	public boolean isWordGroupLexeme(String string) {
+		int tokens = 0;
+		int start = 0;
+		while (true) {
+			int end = string.indexOf(' ', start);
+			if (end < 0) {
+				// the last token must be a noun
+				return tokens >= 1 && isNounToken(string.substring(start));
+			}
+			if (++tokens > 2 || adjectiveTruncation(string.substring(start, end)) < 0) {
+				return false;
+			}
+			start = end + 1;
+		}
+	}
+
+	private boolean isNounToken(String token) {
+		if (token.isEmpty()) {
+			return false;
+		}
+		return isNoun(token) || isNoun(PolishCharacters.capitalise(token))
+				|| isSingleWord(token) || token.indexOf('-') >= 0;
+	}
+
+	/**
+	 * Checks whether a token consists only of ASCII word characters or only of
+	 * characters of the Latin script, like the factory's word pattern
+	 * <code>\w*||\p{IsLatin}+</code>.
+	 */
+	static boolean isSingleWord(String token) {
+		boolean ascii = true;
+		boolean latin = true;
+		for (int index = 0; index < token.length() && (ascii || latin);) {
+			int codePoint = token.codePointAt(index);
+			if (!(codePoint < 128 && (Character.isLetterOrDigit(codePoint) || codePoint == '_'))) {
+				ascii = false;
+			}
+			if (Character.UnicodeScript.of(codePoint) != Character.UnicodeScript.LATIN) {
+				latin = false;
+			}
+			index += Character.charCount(codePoint);
+		}
+		return ascii || latin;
+	}
+}
@@ -64,6 +64,8 @@ public class XMLLexicon extends Lexicon {
     private Map<String, WordElement> indexByID; // map from ID to word
     private Map<String, List<WordElement>> indexByBase; // map from base to set of words with this baseform
     private Map<String, List<WordElement>> indexByVariant; // map from variants to set of words with this variant
+    private BaseFormTrie baseForms; // trie of base forms for truncation and stem queries
+    private WordGroupIndex wordGroupIndex; // adjectives and nouns for recognising word group lexemes
 
     /**********************************************************************/
     // constructors
@@ -153,6 +155,13 @@ public class XMLLexicon extends Lexicon {
         } catch (Exception ex) {
             System.out.println(ex.toString());
         }
+        baseForms = new BaseFormTrie();
+        for (WordElement word : words) {
+            if (word.getBaseForm() != null && word.getCategory() instanceof LexicalCategory) {
+                baseForms.add(word.getBaseForm(), (LexicalCategory) word.getCategory());
+            }
+        }
+        wordGroupIndex = new WordGroupIndex(baseForms);
     }
 
 
@@ -438,6 +447,21 @@ public class XMLLexicon extends Lexicon {
         return result;
     }
 
+    @Override
+    public WordGroupIndex getWordGroupIndex() {
+        return wordGroupIndex;
+    }
+
+    @Override
+    public int getKnownTruncations(String word, LexicalCategory category, int maxTruncation) {
+        return baseForms.knownTruncations(word, category, maxTruncation);
+    }
+
+    @Override
+    public int getLongestKnownStem(String word, LexicalCategory category) {
+        return baseForms.longestKnownStem(word, category);
+    }
+
     /*
      * (non-Javadoc)
      *
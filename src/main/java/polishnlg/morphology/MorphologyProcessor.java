@@ -29,6 +29,7 @@ import java.util.List;
 
 import polishnlg.framework.*;
 import polishnlg.features.*;
+import polishnlg.lexicon.PolishCharacters;
 import polishnlg.syntax.SyntaxProcessor;
 
 
@@ -68,53 +69,43 @@ public class MorphologyProcessor extends NLGModule {
 
 	SyntaxProcessor syntaxHelper = new SyntaxProcessor();
 
+	/** Picks the code that inflects each kind of element. */
+	private final NLGElementVisitor<NLGElement> dispatcher = new Dispatcher();
+
+	private boolean recordSources = false;
+
 	@Override
 	public void initialise() {
 		// Do nothing
 	}
 
+	/**
+	 * @return <code>true</code> if inflected words are linked to the words
+	 *         they were inflected from.
+	 */
+	public boolean isRecordSources() {
+		return this.recordSources;
+	}
+
+	/**
+	 * Sets whether each inflected word gets the
+	 * <code>InternalFeature.SOURCE</code> feature, linking it to the word it
+	 * was inflected from.
+	 *
+	 * @param recordSources
+	 *            <code>true</code> to link inflected words to their sources.
+	 */
+	public void setRecordSources(boolean recordSources) {
+		this.recordSources = recordSources;
+	}
+
 	@Override
 	public NLGElement realise(NLGElement element) {
 		NLGElement realisedElement = null;
 
-		if (element instanceof InflectedWordElement) {
-			realisedElement = doMorphology((InflectedWordElement) element);
-
-		} else if (element instanceof StringElement) {
-			realisedElement = element;
-
-		} else if (element instanceof DocumentElement) {
-			List<NLGElement> children = element.getChildren();
-			((DocumentElement) element).setComponents(realise(children));
-			realisedElement = element;
-
-		} else if (element instanceof ListElement) {
-			realisedElement = new ListElement();
-			List<NLGElement> children = element.getChildren();
-			if(children != null) {
-                if (element.hasFeature(InternalFeature.CLAUSE_STATUS)) {
-                    for (NLGElement child : children) {
-                        child.setFeature(InternalFeature.CLAUSE_STATUS, element.getFeature(InternalFeature.CLAUSE_STATUS));
-                    }
-                }
-            }
-			((ListElement) realisedElement).addComponents(realise(children));
-		} else if (element instanceof CoordinatedPhraseElement) {
-			List<NLGElement> children = element.getChildren();
-			((CoordinatedPhraseElement) element).clearCoordinates();
-
-			if (children != null && children.size() > 0) {
-				((CoordinatedPhraseElement) element).addCoordinate(realise(children.get(0)));
-
-				for (int index = 1; index < children.size(); index++) {
-					((CoordinatedPhraseElement) element).addCoordinate(realise(children.get(index)));
-				}
-
-				realisedElement = element;
-			}
-
-		} else if (element != null) {
-			realisedElement = element;
+		if (element != null) {
+			getRealisationContext().enterElement();
+			realisedElement = element.accept(this.dispatcher);
 		}
 		if (element.getFeature(InternalFeature.INBETWEEN_VERB) != null) {
 			realisedElement.setFeature(InternalFeature.INBETWEEN_VERB,
@@ -300,7 +291,7 @@ public class MorphologyProcessor extends NLGModule {
 			        String realised = element.getBaseForm();
 		            if (element.getFeatureAsBoolean("composite")) {
 		                // inflection for compound words, e.g. "die Russische Föderation"
-		                realised = " " + realised.substring(0, 1).toUpperCase() + realised.substring(1);
+		                realised = " " + PolishCharacters.capitalise(realised);
 		            }
 					realisedElement = new StringElement(realised);
 			        if(realised.equals("als")) {
@@ -317,4 +308,88 @@ public class MorphologyProcessor extends NLGModule {
 		return realisedElement;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Inflects each kind of element for <code>realise</code>. Words are
+	 * inflected, documents, lists and coordinations have their children
+	 * realised, and anything else is left as it is.
+	 */
+	private final class Dispatcher implements NLGElementVisitor<NLGElement> {
+
+		@Override
+		public NLGElement visit(DocumentElement element) {
+			List<NLGElement> children = element.getChildren();
+			element.setComponents(realise(children));
+			return element;
+		}
+
+		@Override
+		public NLGElement visit(PhraseElement element) {
+			return element;
+		}
+
+		@Override
+		public NLGElement visit(CoordinatedPhraseElement element) {
+			List<NLGElement> children = element.getChildren();
+			element.clearCoordinates();
+
+			if (children == null || children.isEmpty()) {
+				return null;
+			}
+			List<NLGElement> realisedChildren = new ArrayList<NLGElement>(children.size());
+			// the syntax processor puts the same conjunction element in
+			// every gap, so it is inflected only once
+			NLGElement conjunction = null;
+			NLGElement realisedConjunction = null;
+			for (NLGElement child : children) {
+				if (child != null && child == conjunction) {
+					realisedChildren.add(realisedConjunction);
+				} else {
+					NLGElement realisedChild = realise(child);
+					if (child != null && DiscourseFunction.CONJUNCTION.equals(
+							child.getFeature(InternalFeature.DISCOURSE_FUNCTION))) {
+						conjunction = child;
+						realisedConjunction = realisedChild;
+					}
+					realisedChildren.add(realisedChild);
+				}
+			}
+			element.addCoordinates(realisedChildren);
+			return element;
+		}
+
+		@Override
+		public NLGElement visit(ListElement element) {
+			ListElement realisedElement = new ListElement();
+			List<NLGElement> children = element.getChildren();
+			if (children != null) {
+				if (element.hasFeature(InternalFeature.CLAUSE_STATUS)) {
+					for (NLGElement child : children) {
+						child.setFeature(InternalFeature.CLAUSE_STATUS, element.getFeature(InternalFeature.CLAUSE_STATUS));
+					}
+				}
+			}
+			realisedElement.addComponents(realise(children));
+			return realisedElement;
+		}
+
+		@Override
+		public NLGElement visit(WordElement element) {
+			return element;
+		}
+
+		@Override
+		public NLGElement visit(InflectedWordElement element) {
+			NLGElement realisedElement = doMorphology(element);
+			if (recordSources && realisedElement != null) {
+				NLGElement baseWord = element.getFeatureAsElement(InternalFeature.BASE_WORD);
+				realisedElement.setFeature(InternalFeature.SOURCE, baseWord != null ? baseWord : element);
+			}
+			return realisedElement;
+		}
+
+		@Override
+		public NLGElement visit(StringElement element) {
+			return element;
+		}
+	}
+}
@@ -26,6 +26,7 @@ package polishnlg.morphology;
 
 import polishnlg.framework.*;
 import polishnlg.features.*;
+import polishnlg.lexicon.PolishCharacters;
 
 import java.util.Set;
 
@@ -67,7 +68,6 @@ public abstract class MorphologyRules extends NLGModule {
 	 */
 	//POLISH MORPHOLOGY CODE
 	protected static StringElement doNounMorphology(InflectedWordElement element, WordElement baseWord) {
-		StringBuffer realised = new StringBuffer();
 		String baseForm = getBaseForm(element, baseWord);
 		String inflectedForm = baseForm;
 		String genus = element.getFeatureAsString(LexicalFeature.GENDER);
@@ -99,8 +99,7 @@ public abstract class MorphologyRules extends NLGModule {
 			inflectedForm = baseForm;
 		}
 
-		realised.append(inflectedForm);
-		StringElement realisedElement = new StringElement(realised.toString());
+		StringElement realisedElement = new StringElement(inflectedForm);
 		realisedElement.setFeature(InternalFeature.DISCOURSE_FUNCTION,
 				element.getFeature(InternalFeature.DISCOURSE_FUNCTION));
 
@@ -803,14 +802,7 @@ public abstract class MorphologyRules extends NLGModule {
 	 * @return the number of syllables
 	 */
 	public static int getNumberOfSyllables(String s) {
-		s = s.trim();
-		if (s.length() <= 3) {
-			return 1;
-		}
-		s = s.toLowerCase();
-		s = s.replaceAll("[aeiouyąęó]+", "a");
-		s = "x" + s + "x";
-		return s.split("a").length - 1;
+		return PolishCharacters.countSyllables(s);
 	}
 	
 	//END
@@ -31,6 +31,7 @@ import java.util.List;
 
 import polishnlg.framework.*;
 import polishnlg.features.*;
+import polishnlg.lexicon.PolishCharacters;
 
 
 /**
@@ -59,6 +60,11 @@ public class OrthographyProcessor extends NLGModule {
 	// CUE_PHRASE=true) feature.
 	
 	private boolean subordinateCommaSet;
+
+	private boolean recordTokens = false;
+
+	/** Picks the code that punctuates each kind of element. */
+	private final NLGElementVisitor<NLGElement> dispatcher = new Dispatcher();
 	
 	//POLISH MORPHOLOGY CODE
 
@@ -109,170 +115,48 @@ public class OrthographyProcessor extends NLGModule {
 		this.commaSepPremodifiers = commaSepPremodifiers;
 	}
 
+	/**
+	 * Check whether this processor gives each sentence its tokens.
+	 *
+	 * @return <code>true</code> if sentences get the
+	 *         <code>InternalFeature.TOKENS</code> feature.
+	 */
+	public boolean isRecordTokens() {
+		return this.recordTokens;
+	}
+
+	/**
+	 * Sets whether this processor gives each sentence a
+	 * <code>TokenBuffer</code> in the <code>InternalFeature.TOKENS</code>
+	 * feature, holding its text and the words in it.
+	 *
+	 * @param recordTokens
+	 *            <code>true</code> to record the tokens of sentences.
+	 */
+	public void setRecordTokens(boolean recordTokens) {
+		this.recordTokens = recordTokens;
+	}
+
 
 	@Override
 	public NLGElement realise(NLGElement element) {
 		NLGElement realisedElement = null;
-		Object function = null; //the element's discourse function
-		Object clauseStatus = null; //the element's clause status
-
-		//get the element's function first
-		if(element instanceof ListElement) {
-			List<NLGElement> children = element.getChildren();
-			if(!children.isEmpty()) {
-				NLGElement firstChild = children.get(0);
-				function = firstChild.getFeature(InternalFeature.DISCOURSE_FUNCTION);
-				if(element.hasFeature(InternalFeature.CLAUSE_STATUS)) {
-					clauseStatus = element.getFeature(InternalFeature.CLAUSE_STATUS);
-				}
-			}
-		} else {
-			if(element != null) {
-				function = element.getFeature(InternalFeature.DISCOURSE_FUNCTION);
-			}
-		}
-		
+		List<NLGElement> words = null;
 
 		if(element != null) {
+			getRealisationContext().enterElement();
 			ElementCategory category = element.getCategory();
+			Object function = getDiscourseFunction(element); //the element's discourse function
 
-			if(category instanceof DocumentCategory && element instanceof DocumentElement) {
-				List<NLGElement> components = ((DocumentElement) element).getComponents();
-
-				switch((DocumentCategory) category){
-
-				case SENTENCE :
-					subordinateCommaSet = false;
-					realisedElement = realiseSentence(components, element);
-					break;
-
-				case LIST_ITEM :
-					if(components != null && components.size() > 0) {
-						// recursively realise whatever is in the list item
-						// NB: this will realise embedded lists within list
-						// items
-						realisedElement = new ListElement(realise(components));
-						realisedElement.setParent(element.getParent());
-					}
-					break;
-
-				default :
-					((DocumentElement) element).setComponents(realise(components));
-					realisedElement = element;
-				}
-
-			} else if(element instanceof ListElement) {
-				// AG: changes here: if we have a premodifier, then we ask the
-				// realiseList method to separate with a comma.
-				// if it's a postmod, we need commas at the start and end only
-				// if it's appositive
-				StringBuffer buffer = new StringBuffer();
-
-				if(DiscourseFunction.PRE_MODIFIER.equals(function)) {
-
-					boolean all_appositives = true;
-					for(NLGElement child : element.getChildren()){
-						all_appositives = all_appositives && child.getFeatureAsBoolean(Feature.APPOSITIVE);
-					}
-
-					if(all_appositives){
-						buffer.append(", ");
-					}
-					realiseList(buffer, element.getChildren(), this.commaSepPremodifiers ? "," : "");
-					if(all_appositives){
-						buffer.append(", ");
-					}
-				
-				} else if(DiscourseFunction.POST_MODIFIER.equals(function) || DiscourseFunction.MODIFIER.equals(function) || true) {
-					boolean adjModifiers = false;
-					List<NLGElement> postmods = element.getChildren();
-					int len = postmods.size();
-
-					for(int i = 0; i < len; i++ ) {
-						if(postmods.get(i).getCategory() != null && (postmods.get(i).getCategory().equals(LexicalCategory.ADJECTIVE))
-								&& postmods.get(i).hasFeature(InternalFeature.COMPOSITE) && !postmods.get(i).getFeatureAsBoolean(InternalFeature.COMPOSITE)) {
-							adjModifiers = true;
-						} else {
-							adjModifiers = false;
-							break;
-						}
-					}
-					//POLISH MORPHOLOGY CODE
-					if(postmods.size() > 1) {
-						StringBuffer realisation = new StringBuffer();
-						NLGElement realisedChild = null;
-						int length = postmods.size();
-						if(length == 2) {
-							realisation.append(realise(postmods.get(0)));
-							realisation.append(" i ");
-							realisation.append(realise(postmods.get(1)));
-						} else {
-							
-						for(int index = 0; index < length; index++ ) {
-							realisedChild = postmods.get(index);
-							if(index < length - 1) {
-								realisation.append(realise(realisedChild));
-								realisation.append(", ");
-							} else {
-								realisation.setLength(realisation.length() - 2);
-								realisation.append(" oraz ");
-								realisedChild = realise(realisedChild);
-								realisation.append(realisedChild).append(' ');
-							}
-						} 
-					}
-						//END
-						realisation.toString().replace(" ,", ",");
-						buffer.append(realisation);
-					} else {
-						for(int i = 0; i < len; i++ ) {
-							// for(NLGElement postmod: element.getChildren()) {
-							NLGElement postmod = postmods.get(i);
-
-							// if the postmod is appositive, it's sandwiched in
-							// commas
-							if(postmod.getFeatureAsBoolean(Feature.APPOSITIVE)) {
-								buffer.append(", ");
-								buffer.append(realise(postmod));
-								buffer.append(", ");
-							} else {
-								buffer.append(" ");
-								buffer.append(realise(postmod));
-								if(postmod instanceof ListElement
-										|| (postmod.getRealisation() != null && !postmod.getRealisation().equals(""))) {
-									buffer.append(" ");
-								}
-							}
-						}
-					}
-
-				} else if((DiscourseFunction.CUE_PHRASE.equals(function) || DiscourseFunction.FRONT_MODIFIER.equals(function))
-						&& this.commaSepCuephrase){
-					realiseList(buffer, element.getChildren(), this.commaSepCuephrase ? "," : "");
-
-				} else {
-					if(clauseStatus != null && clauseStatus.equals(ClauseStatus.SUBORDINATE) && !subordinateCommaSet) {
-						if(element != null &&  (((ListElement) element).getFirst().getRealisation().startsWith("i ")) || (((ListElement) element).getFirst().getRealisation().startsWith(" "))) {
-							subordinateCommaSet = true;
-						} else if (element != null && ((ListElement) element).getFirst() instanceof ListElement
-								&& (((ListElement) ((ListElement) element).getFirst()).getFirst().getRealisation().startsWith("i ") || ((ListElement) ((ListElement) element).getFirst()).getFirst().getRealisation().startsWith("oraz "))) {
-							subordinateCommaSet = true;
-						}
-						else {
-							buffer.append(", ");
-							subordinateCommaSet = true;
-						}
-					}
-					realiseList(buffer, element.getChildren(), "");
-				}
-				realisedElement = new StringElement(buffer.toString());
-
-			} else if(element instanceof CoordinatedPhraseElement) {
-				realisedElement = realiseCoordinatedPhrase(element.getChildren());
-			} else {
-				realisedElement = element;
+			// the words are collected before the sentence is punctuated,
+			// which removes its components
+			if(this.recordTokens && DocumentCategory.SENTENCE.equals(category)) {
+				words = getRealisationContext().borrowList();
+				TokenHelper.collectWords(element.getChildren(), words);
 			}
 
+			realisedElement = element.accept(this.dispatcher);
+
 			// make the realised element inherit the original category
 			// essential if list items are to be properly formatted later
 			if(realisedElement != null) {
@@ -294,6 +178,176 @@ public class OrthographyProcessor extends NLGModule {
 
 		//remove preceding and trailing whitespace from internal punctuation
 		removePunctSpace(realisedElement);
+
+		if(words != null) {
+			if(realisedElement != null && realisedElement.getRealisation() != null) {
+				realisedElement.setFeature(InternalFeature.TOKENS,
+						TokenHelper.tokenise(realisedElement.getRealisation(), words));
+			}
+			getRealisationContext().release(words);
+		}
+		return realisedElement;
+	}
+
+	/**
+	 * Retrieves the discourse function of an element. A list takes the
+	 * function of its first child.
+	 */
+	private static Object getDiscourseFunction(NLGElement element) {
+		if(element instanceof ListElement) {
+			List<NLGElement> children = element.getChildren();
+			return children.isEmpty() ? null : children.get(0).getFeature(InternalFeature.DISCOURSE_FUNCTION);
+		}
+		return element.getFeature(InternalFeature.DISCOURSE_FUNCTION);
+	}
+
+	/**
+	 * Realises a document, section, paragraph, sentence, list or list item.
+	 */
+	private NLGElement realiseDocument(DocumentElement element) {
+		NLGElement realisedElement = null;
+		List<NLGElement> components = element.getComponents();
+
+		switch((DocumentCategory) element.getCategory()){
+
+		case SENTENCE :
+			subordinateCommaSet = false;
+			realisedElement = realiseSentence(components, element);
+			break;
+
+		case LIST_ITEM :
+			if(components != null && components.size() > 0) {
+				// recursively realise whatever is in the list item
+				// NB: this will realise embedded lists within list
+				// items
+				realisedElement = new ListElement(realise(components));
+				realisedElement.setParent(element.getParent());
+			}
+			break;
+
+		default :
+			element.setComponents(realise(components));
+			realisedElement = element;
+		}
+		return realisedElement;
+	}
+
+	/**
+	 * Realises a list of elements as a single string, separating the elements
+	 * according to their discourse function.
+	 */
+	private NLGElement realiseListElement(ListElement element) {
+		Object function = getDiscourseFunction(element);
+		Object clauseStatus = null;
+		if(!element.getChildren().isEmpty() && element.hasFeature(InternalFeature.CLAUSE_STATUS)) {
+			clauseStatus = element.getFeature(InternalFeature.CLAUSE_STATUS);
+		}
+
+		// AG: changes here: if we have a premodifier, then we ask the
+		// realiseList method to separate with a comma.
+		// if it's a postmod, we need commas at the start and end only
+		// if it's appositive
+		StringBuilder buffer = getRealisationContext().borrowBuilder();
+
+		if(DiscourseFunction.PRE_MODIFIER.equals(function)) {
+
+			boolean all_appositives = true;
+			for(NLGElement child : element.getChildren()){
+				all_appositives = all_appositives && child.getFeatureAsBoolean(Feature.APPOSITIVE);
+			}
+
+			if(all_appositives){
+				buffer.append(", ");
+			}
+			realiseList(buffer, element.getChildren(), this.commaSepPremodifiers ? "," : "");
+			if(all_appositives){
+				buffer.append(", ");
+			}
+		
+		} else if(DiscourseFunction.POST_MODIFIER.equals(function) || DiscourseFunction.MODIFIER.equals(function) || true) {
+			boolean adjModifiers = false;
+			List<NLGElement> postmods = element.getChildren();
+			int len = postmods.size();
+
+			for(int i = 0; i < len; i++ ) {
+				if(postmods.get(i).getCategory() != null && (postmods.get(i).getCategory().equals(LexicalCategory.ADJECTIVE))
+						&& postmods.get(i).hasFeature(InternalFeature.COMPOSITE) && !postmods.get(i).getFeatureAsBoolean(InternalFeature.COMPOSITE)) {
+					adjModifiers = true;
+				} else {
+					adjModifiers = false;
+					break;
+				}
+			}
+			//POLISH MORPHOLOGY CODE
+			if(postmods.size() > 1) {
+				StringBuilder realisation = getRealisationContext().borrowBuilder();
+				NLGElement realisedChild = null;
+				int length = postmods.size();
+				if(length == 2) {
+					realisation.append(realise(postmods.get(0)));
+					realisation.append(" i ");
+					realisation.append(realise(postmods.get(1)));
+				} else {
+					
+				for(int index = 0; index < length; index++ ) {
+					realisedChild = postmods.get(index);
+					if(index < length - 1) {
+						realisation.append(realise(realisedChild));
+						realisation.append(", ");
+					} else {
+						realisation.setLength(realisation.length() - 2);
+						realisation.append(" oraz ");
+						realisedChild = realise(realisedChild);
+						realisation.append(realisedChild).append(' ');
+					}
+				} 
+			}
+				//END
+				buffer.append(realisation);
+				getRealisationContext().release(realisation);
+			} else {
+				for(int i = 0; i < len; i++ ) {
+					// for(NLGElement postmod: element.getChildren()) {
+					NLGElement postmod = postmods.get(i);
+
+					// if the postmod is appositive, it's sandwiched in
+					// commas
+					if(postmod.getFeatureAsBoolean(Feature.APPOSITIVE)) {
+						buffer.append(", ");
+						buffer.append(realise(postmod));
+						buffer.append(", ");
+					} else {
+						buffer.append(" ");
+						buffer.append(realise(postmod));
+						if(postmod instanceof ListElement
+								|| (postmod.getRealisation() != null && !postmod.getRealisation().equals(""))) {
+							buffer.append(" ");
+						}
+					}
+				}
+			}
+
+		} else if((DiscourseFunction.CUE_PHRASE.equals(function) || DiscourseFunction.FRONT_MODIFIER.equals(function))
+				&& this.commaSepCuephrase){
+			realiseList(buffer, element.getChildren(), this.commaSepCuephrase ? "," : "");
+
+		} else {
+			if(clauseStatus != null && clauseStatus.equals(ClauseStatus.SUBORDINATE) && !subordinateCommaSet) {
+				if(element != null &&  (element.getFirst().getRealisation().startsWith("i ")) || (element.getFirst().getRealisation().startsWith(" "))) {
+					subordinateCommaSet = true;
+				} else if (element != null && element.getFirst() instanceof ListElement
+						&& (((ListElement) element.getFirst()).getFirst().getRealisation().startsWith("i ") || ((ListElement) element.getFirst()).getFirst().getRealisation().startsWith("oraz "))) {
+					subordinateCommaSet = true;
+				}
+				else {
+					buffer.append(", ");
+					subordinateCommaSet = true;
+				}
+			}
+			realiseList(buffer, element.getChildren(), "");
+		}
+		NLGElement realisedElement = new StringElement(buffer.toString());
+		getRealisationContext().release(buffer);
 		return realisedElement;
 	}
 
@@ -309,13 +363,82 @@ public class OrthographyProcessor extends NLGModule {
 			String realisation = realisedElement.getRealisation();
 
 			if(realisation != null) {
-				realisation = realisation.replaceAll(" ,", ",");
-				realisation = realisation.replaceAll(",,+", ",");
-				realisation = realisation.replaceAll("  +", " ");
-				realisedElement.setRealisation(realisation);
+				StringBuilder buffer = getRealisationContext().borrowBuilder();
+				realisedElement.setRealisation(normalisePunctuation(realisation, buffer));
+				getRealisationContext().release(buffer);
+			}
+
+		}
+	}
+
+	/**
+	 * Removes a blank before a comma, then repeated commas, then repeated
+	 * blanks, in one pass over the text. The result is the same as that of
+	 * <code>replaceAll(" ,", ",")</code>, <code>replaceAll(",,+", ",")</code>
+	 * and <code>replaceAll("  +", " ")</code> in that order: only the blank
+	 * right before a comma goes, so <em>"a  ,"</em> becomes <em>"a ,"</em>.
+	 *
+	 * @param text
+	 *            the text to normalise.
+	 * @param buffer
+	 *            a buffer for the result, overwritten.
+	 * @return the normalised text, or <code>text</code> itself if nothing had
+	 *         to be removed.
+	 */
+	static String normalisePunctuation(String text, StringBuilder buffer) {
+		int length = text.length();
+		char previous = 0;
+		int first = 0;
+		while(first < length && !isDropped(text, first, previous)) {
+			previous = text.charAt(first);
+			first++;
+		}
+		if(first == length) {
+			return text;
+		}
+
+		buffer.setLength(0);
+		buffer.append(text, 0, first);
+		for(int i = first + 1; i < length; i++) {
+			if(!isDropped(text, i, previous)) {
+				previous = text.charAt(i);
+				buffer.append(previous);
 			}
+		}
+		return buffer.toString();
+	}
 
+	/**
+	 * Checks whether <code>normalisePunctuation</code> drops a character,
+	 * given the last character it kept.
+	 */
+	private static boolean isDropped(String text, int index, char previous) {
+		char c = text.charAt(index);
+		if(c == ' ') {
+			return previous == ' ' || index + 1 < text.length() && text.charAt(index + 1) == ',';
 		}
+		return c == ',' && previous == ',';
+	}
+
+	/**
+	 * Checks whether a realisation is made of whitespace only, that is of the
+	 * characters matched by <code>\s</code> in a regular expression.
+	 */
+	private static boolean isBlank(String text) {
+		for(int i = 0; i < text.length(); i++) {
+			switch(text.charAt(i)) {
+			case ' ':
+			case '\t':
+			case '\n':
+			case '\u000B':
+			case '\f':
+			case '\r':
+				break;
+			default:
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -333,7 +456,7 @@ public class OrthographyProcessor extends NLGModule {
 
 		NLGElement realisedElement = null;
 		if(components != null && components.size() > 0) {
-			StringBuffer realisation = new StringBuffer();
+			StringBuilder realisation = getRealisationContext().borrowBuilder();
 			realiseList(realisation, components, "");
 
 			stripLeadingCommas(realisation);
@@ -343,6 +466,7 @@ public class OrthographyProcessor extends NLGModule {
 			((DocumentElement) element).clearComponents();
 			// realisation.append(' ');
 			element.setRealisation(realisation.toString());
+			getRealisationContext().release(realisation);
 			realisedElement = element;
 		}
 
@@ -354,13 +478,13 @@ public class OrthographyProcessor extends NLGModule {
 	 * normal sentences or a question mark ('?') for interrogatives.
 	 *
 	 * @param realisation
-	 *            the <code>StringBuffer<code> containing the current
+	 *            the <code>StringBuilder<code> containing the current
 	 * realisation of the sentence.
 	 * @param interrogative
 	 *            a <code>boolean</code> flag showing <code>true</code> if the
 	 *            sentence is an interrogative, <code>false</code> otherwise.
 	 */
-	private void terminateSentence(StringBuffer realisation, boolean interrogative) {
+	private void terminateSentence(StringBuilder realisation, boolean interrogative) {
 		char character = realisation.charAt(realisation.length() - 1);
 		if(character != '.' && character != '?') {
 			if(interrogative) {
@@ -376,10 +500,10 @@ public class OrthographyProcessor extends NLGModule {
 	 * of a sentence.
 	 *
 	 * @param realisation
-	 *            the <code>StringBuffer<code> containing the current
+	 *            the <code>StringBuilder<code> containing the current
 	 * realisation of the sentence.
 	 */
-	private void stripLeadingCommas(StringBuffer realisation) {
+	private void stripLeadingCommas(StringBuilder realisation) {
 		char character = realisation.charAt(0);
 		if(character == ' ' || character == ',') {
 			realisation.deleteCharAt(0);
@@ -393,16 +517,12 @@ public class OrthographyProcessor extends NLGModule {
 	 * letter.
 	 *
 	 * @param realisation
-	 *            the <code>StringBuffer<code> containing the current
+	 *            the <code>StringBuilder<code> containing the current
 	 * realisation of the sentence.
 	 */
-	private void capitaliseFirstLetter(StringBuffer realisation) {
+	private void capitaliseFirstLetter(StringBuilder realisation) {
 		//POLISH MORPHOLOGY CODE
-		char character = realisation.charAt(0);
-		if((character >= 'a' && character <= 'z') || character == 'ą' || character == 'ć' || character == 'ę' || character == 'ł' || character == 'ń' || character == 'ó' || character == 'ś' || character == 'ż' || character == 'ź') {
-			character = Character.toUpperCase(character);
-			realisation.setCharAt(0, character);
-		}
+		PolishCharacters.capitaliseFirstLetter(realisation);
 		//END
 	}
 
@@ -427,7 +547,7 @@ public class OrthographyProcessor extends NLGModule {
 	 * realisation.
 	 *
 	 * @param realisation
-	 *            the <code>StringBuffer<code> containing the current
+	 *            the <code>StringBuilder<code> containing the current
 	 * 			  realisation of the sentence.
 	 * @param components
 	 *            the <code>List</code> of <code>NLGElement</code>s representing
@@ -436,7 +556,7 @@ public class OrthographyProcessor extends NLGModule {
 	 *            the string to use to separate elements of the list, empty if
 	 *            no separator needed
 	 */
-	private void realiseList(StringBuffer realisation, List<NLGElement> components, String listSeparator) {
+	private void realiseList(StringBuilder realisation, List<NLGElement> components, String listSeparator) {
 
 		NLGElement realisedChild = null;
 
@@ -446,7 +566,7 @@ public class OrthographyProcessor extends NLGModule {
 			String childRealisation = realisedChild.getRealisation();
 
 			// check that the child realisation is non-empty
-			if(childRealisation != null && childRealisation.length() > 0 && !childRealisation.matches("^[\\s\\n]+$")) {
+			if(childRealisation != null && childRealisation.length() > 0 && !isBlank(childRealisation)) {
 				// before certain conjunctions, such as "während", which introduce a subordinate clause, a comma has to be placed
 				if(CONJUNCTIONS_COMMA.contains(childRealisation)) {
 					realisation.append(", ");
@@ -477,7 +597,9 @@ public class OrthographyProcessor extends NLGModule {
 	 * @return the realised element as an <code>NLGElement</code>.
 	 */
 	private NLGElement realiseCoordinatedPhrase(List<NLGElement> components) {
-		StringBuffer realisation = new StringBuffer();
+		// a blank before a comma is dropped as the text is built, so the
+		// result is not searched again however many coordinates there are
+		StringBuilder realisation = getRealisationContext().borrowBuilder();
 		NLGElement realisedChild = null;
 
 		int length = components.size();
@@ -486,13 +608,84 @@ public class OrthographyProcessor extends NLGModule {
 			realisedChild = components.get(index);
 			if(index < length - 2
 					&& DiscourseFunction.CONJUNCTION.equals(realisedChild.getFeature(InternalFeature.DISCOURSE_FUNCTION))) {
-				realisation.append(", ");
+				appendWithoutBlankBeforeComma(realisation, ", ");
 			} else {
 				realisedChild = realise(realisedChild);
-				realisation.append(realisedChild.getRealisation()).append(' ');
+				appendWithoutBlankBeforeComma(realisation, realisedChild.getRealisation());
+				realisation.append(' ');
 			}
 		}
 		realisation.setLength(realisation.length() - 1);
-		return new StringElement(realisation.toString().replace(" ,", ","));
+		NLGElement realisedElement = new StringElement(realisation.toString());
+		getRealisationContext().release(realisation);
+		return realisedElement;
+	}
+
+	/**
+	 * Appends text to a coordination, replacing every blank followed by a
+	 * comma with the comma alone, including a blank that ends the text
+	 * already appended.
+	 */
+	private static void appendWithoutBlankBeforeComma(StringBuilder realisation, String text) {
+		if (text == null) {
+			realisation.append(text);
+			return;
+		}
+		int start = 0;
+		if (text.startsWith(",") && realisation.length() > 0
+				&& realisation.charAt(realisation.length() - 1) == ' ') {
+			realisation.setLength(realisation.length() - 1);
+		}
+		for (int blank = text.indexOf(" ,"); blank >= 0; blank = text.indexOf(" ,", start)) {
+			realisation.append(text, start, blank);
+			start = blank + 1;
+		}
+		realisation.append(text, start, text.length());
+	}
+
+	/**
+	 * Punctuates each kind of element for <code>realise</code>. Documents,
+	 * lists and coordinations are turned into text; anything else is left as
+	 * it is.
+	 */
+	private final class Dispatcher implements NLGElementVisitor<NLGElement> {
+
+		@Override
+		public NLGElement visit(DocumentElement element) {
+			if(element.getCategory() instanceof DocumentCategory) {
+				return realiseDocument(element);
+			}
+			return element;
+		}
+
+		@Override
+		public NLGElement visit(PhraseElement element) {
+			return element;
+		}
+
+		@Override
+		public NLGElement visit(CoordinatedPhraseElement element) {
+			return realiseCoordinatedPhrase(element.getChildren());
+		}
+
+		@Override
+		public NLGElement visit(ListElement element) {
+			return realiseListElement(element);
+		}
+
+		@Override
+		public NLGElement visit(WordElement element) {
+			return element;
+		}
+
+		@Override
+		public NLGElement visit(InflectedWordElement element) {
+			return element;
+		}
+
+		@Override
+		public NLGElement visit(StringElement element) {
+			return element;
+		}
 	}
-}
\ No newline at end of file
+}
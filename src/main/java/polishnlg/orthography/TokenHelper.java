@@ -0,0 +1,127 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ *
+ * Contributor(s) German version: Kira Klimt, Daniel Braun, Technical University of Munich
+ * 
+ * Contributor(s) Polish version: Sasha Gdaniec
+ *
+ */
+
+
+package polishnlg.orthography;
+
+import java.util.List;
+
+import polishnlg.features.InternalFeature;
+import polishnlg.framework.*;
+
+/**
+ * <p>
+ * This class contains static methods used by the
+ * <code>OrthographyProcessor</code> to find the tokens of a sentence. The
+ * words the morphology processor produced are collected before the sentence
+ * is punctuated, then looked for in order in the punctuated text. Commas,
+ * conjunctions and other text that orthography adds between them are skipped
+ * over and do not become tokens, and a word that orthography drops gives no
+ * token.
+ * </p>
+ */
+abstract class TokenHelper {
+
+	/**
+	 * Collects the realised words of a sentence in the order orthography
+	 * writes them.
+	 *
+	 * @param components
+	 *            the components of the sentence.
+	 * @param words
+	 *            the list the words are added to.
+	 */
+	static void collectWords(List<NLGElement> components, List<NLGElement> words) {
+		if(components == null) {
+			return;
+		}
+		for(NLGElement component : components) {
+			if(component instanceof StringElement) {
+				words.add(component);
+			} else if(component instanceof ListElement || component instanceof CoordinatedPhraseElement
+					|| component instanceof DocumentElement) {
+				collectWords(component.getChildren(), words);
+			}
+		}
+	}
+
+	/**
+	 * Finds the words in the text of the sentence.
+	 *
+	 * @param text
+	 *            the punctuated text of the sentence.
+	 * @param words
+	 *            the words collected before the sentence was punctuated.
+	 * @return a buffer holding the text and its tokens.
+	 */
+	static TokenBuffer tokenise(String text, List<NLGElement> words) {
+		TokenBuffer tokens = new TokenBuffer();
+		tokens.append(text);
+		int position = 0;
+		for(NLGElement word : words) {
+			String realisation = word.getRealisation();
+			if(realisation == null) {
+				continue;
+			}
+			Object source = word.getFeature(InternalFeature.SOURCE);
+			NLGElement sourceElement = source instanceof NLGElement ? (NLGElement) source : word;
+			Object function = word.getFeature(InternalFeature.DISCOURSE_FUNCTION);
+
+			// canned text may hold several words, each of which is a token
+			int start = -1;
+			for(int i = 0; i <= realisation.length(); i++) {
+				boolean blank = i == realisation.length() || Character.isWhitespace(realisation.charAt(i));
+				if(blank && start >= 0) {
+					int found = find(text, position, realisation, start, i);
+					if(found >= 0) {
+						position = found + i - start;
+						tokens.addToken(found, position, sourceElement, function);
+					}
+					start = -1;
+				} else if(!blank && start < 0) {
+					start = i;
+				}
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Finds the next place, from a position on, where part of a word starts
+	 * the text or follows a character that is not a letter or digit.
+	 * The first letter of a sentence is capitalised, so the case is ignored.
+	 *
+	 * @return the offset of the part in the text, or -1.
+	 */
+	private static int find(String text, int from, String word, int start, int end) {
+		int length = end - start;
+		for(int i = from; i + length <= text.length(); i++) {
+			if((i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))
+					&& text.regionMatches(true, i, word, start, length)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
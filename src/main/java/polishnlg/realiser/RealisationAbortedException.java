@@ -0,0 +1,72 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.realiser;
+
+/**
+ * <p>
+ * Thrown by a <code>Realiser</code> when a request breaks one of its
+ * <code>RealisationLimits</code> or is cancelled. The realiser can be used
+ * again for the next request; the element being realised may have been
+ * partly modified and should be discarded.
+ * </p>
+ */
+public class RealisationAbortedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Why a request was abandoned.
+	 */
+	public enum Reason {
+
+		/** The plan was nested too deeply. */
+		DEPTH,
+
+		/** The plan had too many elements. */
+		ELEMENTS,
+
+		/** The request took too long. */
+		TIME,
+
+		/** The thread doing the realisation was interrupted. */
+		CANCELLED;
+	}
+
+	private final Reason reason;
+
+	/**
+	 * Creates an exception for a request abandoned for the given reason.
+	 *
+	 * @param reason
+	 *            why the request was abandoned.
+	 * @param message
+	 *            the detail message.
+	 */
+	public RealisationAbortedException(Reason reason, String message) {
+		super(message);
+		this.reason = reason;
+	}
+
+	/**
+	 * @return why the request was abandoned.
+	 */
+	public Reason getReason() {
+		return this.reason;
+	}
+}
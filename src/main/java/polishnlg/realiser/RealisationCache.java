@@ -0,0 +1,215 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.realiser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import polishnlg.framework.Fingerprint;
+import polishnlg.framework.NLGModule;
+import polishnlg.lexicon.Lexicon;
+
+/**
+ * <p>
+ * A bounded cache of sentence realisations used by
+ * <code>Realiser.realiseSentence</code>. Entries are keyed by the
+ * <code>Fingerprint</code> of the input tree, so two separately built but
+ * identical plans share one entry.
+ * When the cache is full the least recently used entry is evicted.
+ * </p>
+ * <p>
+ * The fingerprint is taken before the realiser touches the tree, as realisation
+ * modifies its input. Entries are also keyed by the lexicon and formatter
+ * that produced them, compared by identity, so one cache can be shared by
+ * realisers set up differently. The <code>Realiser</code> still clears the
+ * cache whenever its lexicon or formatter is replaced, in case the new one
+ * is an old one changed in place.
+ * </p>
+ */
+public class RealisationCache {
+
+	/** The default maximum number of cached sentences. */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+	private final int maximumSize;
+
+	private final LinkedHashMap<Key, String> entries;
+
+	private long hits = 0;
+
+	private long misses = 0;
+
+	private long evictions = 0;
+
+	/**
+	 * Creates a cache holding at most <code>DEFAULT_MAXIMUM_SIZE</code>
+	 * sentences.
+	 */
+	public RealisationCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Creates a cache holding at most the given number of sentences.
+	 *
+	 * @param maximumSize
+	 *            the maximum number of entries, must be positive.
+	 */
+	public RealisationCache(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize); //$NON-NLS-1$
+		}
+		this.maximumSize = maximumSize;
+		this.entries = new LinkedHashMap<Key, String>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+				if (size() > RealisationCache.this.maximumSize) {
+					RealisationCache.this.evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Retrieves the realisation cached for a key, counting a hit or a miss.
+	 *
+	 * @param fingerprint
+	 *            the fingerprint of the input tree.
+	 * @param lexicon
+	 *            the lexicon of the realiser, may be <code>null</code>.
+	 * @param formatter
+	 *            the formatter of the realiser, may be <code>null</code>.
+	 * @return the cached realisation or <code>null</code>.
+	 */
+	public synchronized String get(Fingerprint fingerprint, Lexicon lexicon, NLGModule formatter) {
+		String realisation = this.entries.get(new Key(fingerprint, lexicon, formatter));
+		if (realisation == null) {
+			this.misses++;
+		} else {
+			this.hits++;
+		}
+		return realisation;
+	}
+
+	/**
+	 * Stores a realisation, evicting the least recently used entry if the
+	 * cache is full.
+	 *
+	 * @param fingerprint
+	 *            the fingerprint of the input tree.
+	 * @param lexicon
+	 *            the lexicon the sentence was realised with.
+	 * @param formatter
+	 *            the formatter the sentence was realised with.
+	 * @param realisation
+	 *            the realised sentence, ignored if <code>null</code>.
+	 */
+	public synchronized void put(Fingerprint fingerprint, Lexicon lexicon, NLGModule formatter, String realisation) {
+		if (realisation != null) {
+			this.entries.put(new Key(fingerprint, lexicon, formatter), realisation);
+		}
+	}
+
+	/**
+	 * Removes all entries. The hit, miss and eviction counts are kept.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+	}
+
+	/**
+	 * @return the number of cached sentences.
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * @return the maximum number of cached sentences.
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * @return the number of lookups that found a cached sentence.
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * @return the number of lookups that found nothing.
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * @return the number of entries removed to respect the maximum size.
+	 */
+	public synchronized long getEvictions() {
+		return this.evictions;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "RealisationCache[size=" + this.entries.size() + ", hits=" + this.hits //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", misses=" + this.misses + ", evictions=" + this.evictions + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * The fingerprint of a tree together with the lexicon and formatter it
+	 * was realised with.
+	 */
+	private static final class Key {
+
+		private final Fingerprint fingerprint;
+
+		private final Lexicon lexicon;
+
+		private final NLGModule formatter;
+
+		Key(Fingerprint fingerprint, Lexicon lexicon, NLGModule formatter) {
+			this.fingerprint = fingerprint;
+			this.lexicon = lexicon;
+			this.formatter = formatter;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return this.fingerprint.equals(other.fingerprint) && this.lexicon == other.lexicon
+					&& this.formatter == other.formatter;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.fingerprint.hashCode() ^ System.identityHashCode(this.lexicon) * 31
+					^ System.identityHashCode(this.formatter);
+		}
+	}
+}
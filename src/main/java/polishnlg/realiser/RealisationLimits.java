@@ -0,0 +1,201 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.realiser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import polishnlg.framework.NLGElement;
+
+/**
+ * <p>
+ * Limits on the work a <code>Realiser</code> does for one request. Before
+ * realising a plan, the realiser walks it with an explicit stack, so that
+ * even a plan far too deep for the recursive processors is measured without
+ * risk of a <code>StackOverflowError</code>, and refuses plans that are nested
+ * more deeply or have more elements than allowed. The time limit and
+ * cancellation are checked before each stage of the pipeline and again as
+ * the stage comes to each element of the tree, so a stage that runs out of
+ * time is stopped partway through.
+ * </p>
+ * <p>
+ * Depth counts the elements on the longest path from the root of the plan,
+ * following every element-valued feature: a clause, its verb phrase and the
+ * head verb are three levels. The processors use several Java frames per
+ * level, so a depth limit of a few hundred keeps within the default thread
+ * stack size.
+ * </p>
+ * <p>
+ * A request is cancelled by interrupting the thread doing the realisation.
+ * The interrupt status is left set for the caller to see.
+ * </p>
+ * <p>
+ * Limits are immutable and may be shared by several realisers.
+ * </p>
+ */
+public class RealisationLimits {
+
+	private final int maximumDepth;
+
+	private final int maximumElements;
+
+	private final long timeoutNanos;
+
+	/**
+	 * Creates limits on the depth and size of a plan and on the time taken to
+	 * realise it.
+	 *
+	 * @param maximumDepth
+	 *            the deepest plan to realise, must be positive.
+	 * @param maximumElements
+	 *            the most distinct elements in a plan, must be positive.
+	 * @param timeoutMillis
+	 *            the longest a request may take, in milliseconds, must be
+	 *            positive. <code>Long.MAX_VALUE</code> sets no time limit.
+	 */
+	public RealisationLimits(int maximumDepth, int maximumElements, long timeoutMillis) {
+		if (maximumDepth <= 0) {
+			throw new IllegalArgumentException("maximumDepth must be positive: " + maximumDepth); //$NON-NLS-1$
+		}
+		if (maximumElements <= 0) {
+			throw new IllegalArgumentException("maximumElements must be positive: " + maximumElements); //$NON-NLS-1$
+		}
+		if (timeoutMillis <= 0) {
+			throw new IllegalArgumentException("timeoutMillis must be positive: " + timeoutMillis); //$NON-NLS-1$
+		}
+		this.maximumDepth = maximumDepth;
+		this.maximumElements = maximumElements;
+		this.timeoutNanos = timeoutMillis >= Long.MAX_VALUE / 1000000L ? Long.MAX_VALUE : timeoutMillis * 1000000L;
+	}
+
+	/**
+	 * @return the deepest plan to realise.
+	 */
+	public int getMaximumDepth() {
+		return this.maximumDepth;
+	}
+
+	/**
+	 * @return the most distinct elements in a plan.
+	 */
+	public int getMaximumElements() {
+		return this.maximumElements;
+	}
+
+	/**
+	 * @return the longest a request may take, in milliseconds.
+	 */
+	public long getTimeoutMillis() {
+		return this.timeoutNanos == Long.MAX_VALUE ? Long.MAX_VALUE : this.timeoutNanos / 1000000L;
+	}
+
+	/**
+	 * Computes the time by which a request starting now must be done.
+	 *
+	 * @return the deadline in <code>System.nanoTime</code> terms, or
+	 *         <code>Long.MAX_VALUE</code> if there is no time limit.
+	 */
+	long deadline() {
+		if (this.timeoutNanos == Long.MAX_VALUE) {
+			return Long.MAX_VALUE;
+		}
+		return System.nanoTime() + this.timeoutNanos;
+	}
+
+	/**
+	 * Checks that a request with the given deadline may go on, either to the
+	 * next stage or to the next element within a stage.
+	 *
+	 * @param running
+	 *            <code>true</code> if the stage has started.
+	 * @throws RealisationAbortedException
+	 *             if the thread has been interrupted or the deadline has
+	 *             passed.
+	 */
+	void checkTime(long deadline, RealisationStage stage, boolean running) {
+		if (Thread.currentThread().isInterrupted()) {
+			throw new RealisationAbortedException(RealisationAbortedException.Reason.CANCELLED,
+					"Realisation cancelled " + (running ? "in " : "before ") + stage); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) {
+			throw new RealisationAbortedException(RealisationAbortedException.Reason.TIME,
+					"Realisation took more than " + getTimeoutMillis() + " ms " //$NON-NLS-1$ //$NON-NLS-2$
+							+ (running ? "in " : "before ") + stage); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Walks a plan without recursion and checks its depth and size.
+	 *
+	 * @param plan
+	 *            the plan to be realised.
+	 * @throws RealisationAbortedException
+	 *             if the plan is too deep or has too many elements.
+	 */
+	void checkPlan(NLGElement plan) {
+		if (plan == null) {
+			return;
+		}
+		IdentityHashMap<NLGElement, Integer> depths = new IdentityHashMap<NLGElement, Integer>();
+		List<NLGElement> pending = new ArrayList<NLGElement>();
+		depths.put(plan, 1);
+		pending.add(plan);
+
+		while (!pending.isEmpty()) {
+			NLGElement element = pending.remove(pending.size() - 1);
+			int childDepth = depths.get(element) + 1;
+			for (Object value : element.getAllFeatures().values()) {
+				if (value instanceof NLGElement) {
+					visit((NLGElement) value, childDepth, depths, pending);
+				} else if (value instanceof Collection<?>) {
+					for (Object each : (Collection<?>) value) {
+						if (each instanceof NLGElement) {
+							visit((NLGElement) each, childDepth, depths, pending);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void visit(NLGElement child, int depth, IdentityHashMap<NLGElement, Integer> depths,
+			List<NLGElement> pending) {
+		if (depths.containsKey(child)) {
+			return;
+		}
+		if (depth > this.maximumDepth) {
+			throw new RealisationAbortedException(RealisationAbortedException.Reason.DEPTH,
+					"Plan is nested more than " + this.maximumDepth + " elements deep"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (depths.size() >= this.maximumElements) {
+			throw new RealisationAbortedException(RealisationAbortedException.Reason.ELEMENTS,
+					"Plan has more than " + this.maximumElements + " elements"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		depths.put(child, depth);
+		pending.add(child);
+	}
+
+	@Override
+	public String toString() {
+		return "RealisationLimits[maximumDepth=" + this.maximumDepth + ", maximumElements=" //$NON-NLS-1$ //$NON-NLS-2$
+				+ this.maximumElements + ", timeoutMillis=" + getTimeoutMillis() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.realiser;
+
+import polishnlg.framework.NLGElement;
+
+/**
+ * <p>
+ * Receives measurements from a <code>Realiser</code> as it works. All methods
+ * do nothing, so a listener only overrides what it is interested in. The
+ * realiser holds no listener by default and then takes no measurements at
+ * all.
+ * </p>
+ * <p>
+ * A realiser calls its listener from the thread doing the realisation; a
+ * listener shared by several realisers must be thread-safe.
+ * </p>
+ */
+public abstract class RealisationListener {
+
+	/**
+	 * Called when a stage of the pipeline has finished.
+	 *
+	 * @param stage
+	 *            the stage.
+	 * @param output
+	 *            the element produced by the stage.
+	 * @param nanos
+	 *            the time taken by the stage, in nanoseconds.
+	 * @param elements
+	 *            the number of elements the stage came to as it worked
+	 *            through the tree.
+	 * @param lexiconLookups
+	 *            the number of words the stage looked up in the lexicon, on
+	 *            the thread doing the realisation.
+	 */
+	public void stageCompleted(RealisationStage stage, NLGElement output, long nanos, long elements,
+			long lexiconLookups) {
+		// do nothing
+	}
+
+	/**
+	 * Called when <code>realiseSentence</code> finds the sentence in the
+	 * realisation cache.
+	 */
+	public void cacheHit() {
+		// do nothing
+	}
+
+	/**
+	 * Called when <code>realiseSentence</code> does not find the sentence in the
+	 * realisation cache.
+	 */
+	public void cacheMiss() {
+		// do nothing
+	}
+
+	/**
+	 * Called when a request holds canned text only and skips syntax and
+	 * morphology. The stages that do run are reported as usual.
+	 */
+	public void cannedText() {
+		// do nothing
+	}
+}
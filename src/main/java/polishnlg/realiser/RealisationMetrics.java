@@ -0,0 +1,224 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.realiser;
+
+import java.util.Arrays;
+
+import polishnlg.framework.NLGElement;
+
+/**
+ * <p>
+ * A <code>RealisationListener</code> that keeps running totals for each stage
+ * of the pipeline: the number of runs, the time taken as a histogram with
+ * power-of-two buckets, the number of elements worked on and the number of
+ * lexicon lookups, as well as the hits and misses of the realisation cache and
+ * the number of requests realised as canned text.
+ * </p>
+ * <p>
+ * All methods are synchronized, so one instance can be shared by several
+ * realisers.
+ * </p>
+ */
+public class RealisationMetrics extends RealisationListener {
+
+	/** The number of histogram buckets; bucket <em>i</em> holds times below 2^i ns. */
+	public static final int BUCKETS = 64;
+
+	private static final int STAGES = RealisationStage.values().length;
+
+	private final long[] runs = new long[STAGES];
+
+	private final long[] totalNanos = new long[STAGES];
+
+	private final long[] maxNanos = new long[STAGES];
+
+	private final long[][] histograms = new long[STAGES][BUCKETS];
+
+	private final long[] elements = new long[STAGES];
+
+	private final long[] lookups = new long[STAGES];
+
+	private long cacheHits = 0;
+
+	private long cacheMisses = 0;
+
+	private long cannedTexts = 0;
+
+	@Override
+	public void stageCompleted(RealisationStage stage, NLGElement output, long nanos, long elements,
+			long lexiconLookups) {
+		int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0L)));
+		int index = stage.ordinal();
+
+		synchronized (this) {
+			this.runs[index]++;
+			this.totalNanos[index] += nanos;
+			this.maxNanos[index] = Math.max(this.maxNanos[index], nanos);
+			this.histograms[index][bucket]++;
+			this.elements[index] += elements;
+			this.lookups[index] += lexiconLookups;
+		}
+	}
+
+	@Override
+	public synchronized void cacheHit() {
+		this.cacheHits++;
+	}
+
+	@Override
+	public synchronized void cacheMiss() {
+		this.cacheMisses++;
+	}
+
+	@Override
+	public synchronized void cannedText() {
+		this.cannedTexts++;
+	}
+
+	/**
+	 * @return the number of times the stage has run.
+	 */
+	public synchronized long getRuns(RealisationStage stage) {
+		return this.runs[stage.ordinal()];
+	}
+
+	/**
+	 * @return the total time spent in the stage, in nanoseconds.
+	 */
+	public synchronized long getTotalNanos(RealisationStage stage) {
+		return this.totalNanos[stage.ordinal()];
+	}
+
+	/**
+	 * @return the longest single run of the stage, in nanoseconds.
+	 */
+	public synchronized long getMaxNanos(RealisationStage stage) {
+		return this.maxNanos[stage.ordinal()];
+	}
+
+	/**
+	 * Returns a copy of the latency histogram of a stage. Bucket <em>i</em>
+	 * counts the runs that took at least 2^(i-1) and less than 2^i
+	 * nanoseconds; bucket 0 counts runs that took no measurable time.
+	 *
+	 * @return the histogram, <code>BUCKETS</code> long.
+	 */
+	public synchronized long[] getHistogram(RealisationStage stage) {
+		return this.histograms[stage.ordinal()].clone();
+	}
+
+	/**
+	 * Estimates a percentile of the latency of a stage from its histogram.
+	 * The estimate is the upper bound of the bucket holding the percentile,
+	 * capped by the longest run, so it is at most twice the true value.
+	 *
+	 * @param percentile
+	 *            between 0 and 100.
+	 * @return the estimated latency in nanoseconds, 0 if the stage never ran.
+	 */
+	public synchronized long getPercentileNanos(RealisationStage stage, double percentile) {
+		long[] histogram = this.histograms[stage.ordinal()];
+		long total = this.runs[stage.ordinal()];
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(total * Math.min(Math.max(percentile, 0.0), 100.0) / 100.0);
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += histogram[bucket];
+			if (seen >= Math.max(rank, 1)) {
+				long upperBound = bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+				return Math.min(upperBound, this.maxNanos[stage.ordinal()]);
+			}
+		}
+		return this.maxNanos[stage.ordinal()];
+	}
+
+	/**
+	 * @return the total number of elements the stage came to in the trees it
+	 *         worked on.
+	 */
+	public synchronized long getElementCount(RealisationStage stage) {
+		return this.elements[stage.ordinal()];
+	}
+
+	/**
+	 * @return the number of lexicon lookups made by the stage.
+	 */
+	public synchronized long getLexiconLookups(RealisationStage stage) {
+		return this.lookups[stage.ordinal()];
+	}
+
+	/**
+	 * @return the number of sentences served from the realisation cache.
+	 */
+	public synchronized long getCacheHits() {
+		return this.cacheHits;
+	}
+
+	/**
+	 * @return the number of sentences not found in the realisation cache.
+	 */
+	public synchronized long getCacheMisses() {
+		return this.cacheMisses;
+	}
+
+	/**
+	 * @return the number of requests that skipped syntax and morphology
+	 *         because they held canned text only.
+	 */
+	public synchronized long getCannedTexts() {
+		return this.cannedTexts;
+	}
+
+	/**
+	 * Sets all counts back to zero.
+	 */
+	public synchronized void reset() {
+		for (int index = 0; index < STAGES; index++) {
+			this.runs[index] = 0;
+			this.totalNanos[index] = 0;
+			this.maxNanos[index] = 0;
+			this.elements[index] = 0;
+			this.lookups[index] = 0;
+			Arrays.fill(this.histograms[index], 0L);
+		}
+		this.cacheHits = 0;
+		this.cacheMisses = 0;
+		this.cannedTexts = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder buffer = new StringBuilder();
+		for (RealisationStage stage : RealisationStage.values()) {
+			int index = stage.ordinal();
+			buffer.append(stage).append(": runs=").append(this.runs[index]) //$NON-NLS-1$
+					.append(", totalNanos=").append(this.totalNanos[index]) //$NON-NLS-1$
+					.append(", p50Nanos=").append(getPercentileNanos(stage, 50)) //$NON-NLS-1$
+					.append(", p99Nanos=").append(getPercentileNanos(stage, 99)) //$NON-NLS-1$
+					.append(", maxNanos=").append(this.maxNanos[index]) //$NON-NLS-1$
+					.append(", elements=").append(this.elements[index]) //$NON-NLS-1$
+					.append(", lexiconLookups=").append(this.lookups[index]).append('\n'); //$NON-NLS-1$
+		}
+		buffer.append("cache: hits=").append(this.cacheHits).append(", misses=").append(this.cacheMisses) //$NON-NLS-1$ //$NON-NLS-2$
+				.append('\n').append("canned text: requests=").append(this.cannedTexts); //$NON-NLS-1$
+		return buffer.toString();
+	}
+}
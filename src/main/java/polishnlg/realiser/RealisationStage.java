@@ -0,0 +1,38 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.realiser;
+
+/**
+ * The stages of the <code>Realiser</code> pipeline, in the order in which they
+ * run.
+ */
+public enum RealisationStage {
+
+	/** The <code>SyntaxProcessor</code>. */
+	SYNTAX,
+
+	/** The <code>MorphologyProcessor</code>. */
+	MORPHOLOGY,
+
+	/** The <code>OrthographyProcessor</code>. */
+	ORTHOGRAPHY,
+
+	/** The formatter, a <code>TextFormatter</code> unless another is set. */
+	FORMATTER;
+}
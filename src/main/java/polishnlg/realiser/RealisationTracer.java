@@ -0,0 +1,161 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.realiser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import polishnlg.framework.NLGElement;
+
+/**
+ * <p>
+ * Records the trees passing through the <code>Realiser</code> pipeline for a
+ * sample of requests. Events are kept in a ring buffer of fixed capacity, so
+ * the oldest are dropped as new ones arrive.
+ * </p>
+ * <p>
+ * Tracing is eager for the sampled requests: each event prints its tree with
+ * <code>printTree</code> as it is recorded, as the stages modify the trees
+ * they are given and a tree printed later would show a later stage. The
+ * saving comes from sampling, not from deferring the work: tracing every
+ * tenth request, for instance, costs one printout per stage of those
+ * requests and nothing for the others.
+ * </p>
+ * <p>
+ * A tracer can be shared by several realisers; all methods are synchronized.
+ * </p>
+ */
+public class RealisationTracer {
+
+	/** The default number of events kept. */
+	public static final int DEFAULT_CAPACITY = 100;
+
+	private final TraceEvent[] events;
+
+	private final int sampleEvery;
+
+	/** The index in <code>events</code> the next event is written to. */
+	private int next = 0;
+
+	private int size = 0;
+
+	private long requests = 0;
+
+	private long traced = 0;
+
+	/**
+	 * Creates a tracer that records every request and keeps the last
+	 * <code>DEFAULT_CAPACITY</code> events.
+	 */
+	public RealisationTracer() {
+		this(DEFAULT_CAPACITY, 1);
+	}
+
+	/**
+	 * Creates a tracer.
+	 *
+	 * @param capacity
+	 *            the number of events kept, must be positive.
+	 * @param sampleEvery
+	 *            trace one request in this many, must be positive.
+	 */
+	public RealisationTracer(int capacity, int sampleEvery) {
+		if (capacity <= 0 || sampleEvery <= 0) {
+			throw new IllegalArgumentException("capacity and sampleEvery must be positive"); //$NON-NLS-1$
+		}
+		this.events = new TraceEvent[capacity];
+		this.sampleEvery = sampleEvery;
+	}
+
+	/**
+	 * Counts a new request and decides whether it is traced.
+	 *
+	 * @return the number of the traced request, or -1 if it is not sampled.
+	 */
+	synchronized long startRequest() {
+		if (this.requests++ % this.sampleEvery != 0) {
+			return -1;
+		}
+		return ++this.traced;
+	}
+
+	void record(long request, RealisationStage stage, NLGElement element) {
+		// the tree is printed before taking the lock
+		TraceEvent event = new TraceEvent(request, stage, element, System.nanoTime());
+		synchronized (this) {
+			this.events[this.next] = event;
+			this.next = (this.next + 1) % this.events.length;
+			if (this.size < this.events.length) {
+				this.size++;
+			}
+		}
+	}
+
+	/**
+	 * @return the recorded events, oldest first.
+	 */
+	public synchronized List<TraceEvent> getEvents() {
+		List<TraceEvent> result = new ArrayList<TraceEvent>(this.size);
+		int first = (this.next - this.size + this.events.length) % this.events.length;
+		for (int index = 0; index < this.size; index++) {
+			result.add(this.events[(first + index) % this.events.length]);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of requests seen, traced or not.
+	 */
+	public synchronized long getRequestCount() {
+		return this.requests;
+	}
+
+	/**
+	 * Drops all recorded events.
+	 */
+	public synchronized void clear() {
+		Arrays.fill(this.events, null);
+		this.next = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Prints the recorded events, oldest first, each as a title followed by
+	 * its tree.
+	 *
+	 * @return the printed trace.
+	 */
+	public String printEvents() {
+		StringBuilder print = new StringBuilder();
+		long previousRequest = -1;
+		long requestStart = 0;
+		for (TraceEvent event : getEvents()) {
+			if (event.getRequest() != previousRequest) {
+				previousRequest = event.getRequest();
+				requestStart = event.getNanoTime();
+			}
+			print.append("request ").append(event.getRequest()).append(' ') //$NON-NLS-1$
+					.append(event.getTitle()).append(" +") //$NON-NLS-1$
+					.append((event.getNanoTime() - requestStart) / 1000).append("us\n") //$NON-NLS-1$
+					.append(event.printTree(null)).append('\n');
+		}
+		return print.toString();
+	}
+}
@@ -18,13 +18,20 @@
  */
 package polishnlg.realiser;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import polishnlg.features.Feature;
+import polishnlg.framework.BatchFormatter;
 import polishnlg.framework.DocumentCategory;
 import polishnlg.framework.DocumentElement;
+import polishnlg.framework.Fingerprint;
 import polishnlg.framework.NLGElement;
 import polishnlg.framework.NLGModule;
+import polishnlg.framework.StringElement;
+import polishnlg.framework.TokenBuffer;
 import polishnlg.morphology.MorphologyProcessor;
 import polishnlg.orthography.OrthographyProcessor;
 import polishnlg.syntax.SyntaxProcessor;
@@ -43,6 +50,13 @@ public class Realiser extends NLGModule {
     private SyntaxProcessor      syntax;
     private NLGModule            formatter = null;
     private boolean              debug     = false;
+    private RealisationCache     cache     = null;
+    private RealisationListener  listener  = null;
+    private RealisationTracer    tracer    = null;
+    private long                 tracedRequest = -1;
+    private RealisationLimits    limits    = null;
+    private long                 deadline  = Long.MAX_VALUE;
+    private final LimitCheck     limitCheck = new LimitCheck();
 
     /**
      * create a realiser (no lexicon)
@@ -80,6 +94,7 @@ public class Realiser extends NLGModule {
     @Override
     public NLGElement realise(NLGElement element) {
 
+        startRequest(element);
         StringBuilder debug = new StringBuilder();
 
         if(this.debug) {
@@ -89,7 +104,8 @@ public class Realiser extends NLGModule {
             debug.append(element.printTree("&nbsp;&nbsp;").replaceAll("\n", "<br/>"));
         }
 
-        NLGElement postSyntax = this.syntax.realise(element);
+        boolean canned = isCannedText(element);
+        NLGElement postSyntax = canned ? startCannedText(element) : realiseSyntax(element);
         if(this.debug) {
             System.out.println("<br/>POST-SYNTAX TREE<br/>"); //$NON-NLS-1$
             System.out.println(postSyntax.printTree(null));
@@ -97,7 +113,8 @@ public class Realiser extends NLGModule {
             debug.append(postSyntax.printTree("&nbsp;&nbsp;").replaceAll("\n", "<br/>"));
         }
 
-        NLGElement postMorphology = this.morphology.realise(postSyntax);
+        NLGElement postMorphology = canned ? postSyntax
+                : runStage(RealisationStage.MORPHOLOGY, this.morphology, postSyntax);
         if(this.debug) {
             System.out.println("\nPOST-MORPHOLOGY TREE\n"); //$NON-NLS-1$
             System.out.println(postMorphology.printTree(null));
@@ -105,7 +122,7 @@ public class Realiser extends NLGModule {
             debug.append(postMorphology.printTree("&nbsp;&nbsp;").replaceAll("\n", "<br/>"));
         }
 
-        NLGElement postOrthography = this.orthography.realise(postMorphology);
+        NLGElement postOrthography = runStage(RealisationStage.ORTHOGRAPHY, this.orthography, postMorphology);
         if(this.debug) {
             System.out.println("\nPOST-ORTHOGRAPHY TREE\n"); //$NON-NLS-1$
             System.out.println(postOrthography.printTree(null));
@@ -115,7 +132,7 @@ public class Realiser extends NLGModule {
 
         NLGElement postFormatter = null;
         if(this.formatter != null) {
-            postFormatter = this.formatter.realise(postOrthography);
+            postFormatter = runStage(RealisationStage.FORMATTER, this.formatter, postOrthography);
             if(this.debug) {
                 System.out.println("\nPOST-FORMATTER TREE\n"); //$NON-NLS-1$
                 System.out.println(postFormatter.printTree(null));
@@ -131,9 +148,283 @@ public class Realiser extends NLGModule {
             postFormatter.setFeature("debug", debug.toString());
         }
 
+        this.tracedRequest = -1;
         return postFormatter;
     }
 
+    /**
+     * Realises an element and appends the text to an output. The formatter
+     * writes straight into the output rather than building the text level by
+     * level, so a large document is copied once. The listener is told about
+     * the formatter stage with no output element. In debug mode this simply
+     * appends the realisation of <code>realise(element)</code>.
+     *
+     * @param element
+     *            the element to realise.
+     * @param output
+     *            the output the text is appended to.
+     * @throws IOException
+     *             if the output cannot be written.
+     */
+    @Override
+    public void realise(NLGElement element, Appendable output) throws IOException {
+        if(this.debug || this.formatter == null) {
+            super.realise(element, output);
+            return;
+        }
+
+        startRequest(element);
+        runFormatter(realiseToOrthography(element), output);
+        this.tracedRequest = -1;
+    }
+
+    /**
+     * Realises an element into a <code>TokenBuffer</code>, which holds the
+     * text and, for each word of it, its offsets in the text, the element it
+     * was realised from and its discourse function. The tokens are found as
+     * orthography punctuates each sentence and are moved along as the
+     * formatter writes the text, so the output is never tokenised again.
+     * Text outside sentences, such as titles, is split at blanks. Only the
+     * <code>TextFormatter</code> and an <code>HTMLFormatter</code> that does
+     * not escape text copy tokens; with another formatter the buffer holds
+     * the text alone.
+     *
+     * @param element
+     *            the element to realise.
+     * @return the text and its tokens.
+     */
+    public TokenBuffer realiseTokens(NLGElement element) {
+        TokenBuffer tokens = new TokenBuffer();
+        this.morphology.setRecordSources(true);
+        this.orthography.setRecordTokens(true);
+        try {
+            startRequest(element);
+            NLGElement postOrthography = realiseToOrthography(element);
+            if(this.formatter != null)
+                runFormatter(postOrthography, tokens);
+            else if(postOrthography != null && postOrthography.getRealisation() != null)
+                tokens.appendText(postOrthography.getRealisation(), postOrthography);
+        } catch(IOException e) {
+            // a TokenBuffer does not throw
+            throw new IllegalStateException(e);
+        } finally {
+            this.morphology.setRecordSources(false);
+            this.orthography.setRecordTokens(false);
+            this.tracedRequest = -1;
+        }
+        return tokens;
+    }
+
+    /**
+     * Runs syntax, morphology and orthography. Canned text goes straight to
+     * orthography.
+     */
+    private NLGElement realiseToOrthography(NLGElement element) {
+        NLGElement postMorphology;
+        if(isCannedText(element))
+            postMorphology = startCannedText(element);
+        else
+            postMorphology = runStage(RealisationStage.MORPHOLOGY, this.morphology, realiseSyntax(element));
+        return runStage(RealisationStage.ORTHOGRAPHY, this.orthography, postMorphology);
+    }
+
+    /**
+     * Checks whether an element is canned text: a <code>StringElement</code>,
+     * or a document whose parts are all canned text, such as the sentences
+     * made by <code>NLGFactory.createSentence(String)</code>. Syntax and
+     * morphology leave such a tree as it is, so it only needs orthography,
+     * which capitalises and terminates its sentences, and the formatter.
+     * Elided elements and strings carrying features of their own are not
+     * canned text, as syntax or morphology act on them.
+     */
+    private static boolean isCannedText(NLGElement element) {
+        if(element instanceof StringElement) {
+            Map<String, Object> features = element.getAllFeatures();
+            return features.isEmpty()
+                    || features.size() == 1 && Boolean.FALSE.equals(features.get(Feature.ELIDED));
+        }
+        if(!(element instanceof DocumentElement) || element.getFeatureAsBoolean(Feature.ELIDED).booleanValue())
+            return false;
+        for(NLGElement component : ((DocumentElement) element).getComponents()) {
+            if(!isCannedText(component))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Starts a request for canned text, which skips syntax and morphology.
+     *
+     * @return the element itself.
+     */
+    private NLGElement startCannedText(NLGElement element) {
+        startLimits(element);
+        if(this.listener != null)
+            this.listener.cannedText();
+        return element;
+    }
+
+    /**
+     * Runs the syntax processor alone.
+     */
+    NLGElement realiseSyntax(NLGElement element) {
+        startLimits(element);
+        return runStage(RealisationStage.SYNTAX, this.syntax, element);
+    }
+
+    /**
+     * Runs the stages that follow syntax: morphology, orthography and the
+     * formatter.
+     */
+    NLGElement realiseFromMorphology(NLGElement postSyntax) {
+        startRequest(postSyntax);
+        startLimits(postSyntax);
+        NLGElement realised = runStage(RealisationStage.MORPHOLOGY, this.morphology, postSyntax);
+        realised = runStage(RealisationStage.ORTHOGRAPHY, this.orthography, realised);
+        if(this.formatter != null)
+            realised = runStage(RealisationStage.FORMATTER, this.formatter, realised);
+        this.tracedRequest = -1;
+        return realised;
+    }
+
+    /**
+     * Starts a request: gives back the scratch buffers of the last request on
+     * this thread, asks the tracer, if there is one, whether to trace this
+     * request, and records the input tree if so.
+     */
+    private void startRequest(NLGElement input) {
+        getRealisationContext().reset();
+        this.tracedRequest = this.tracer == null ? -1 : this.tracer.startRequest();
+        if(this.tracedRequest >= 0)
+            this.tracer.record(this.tracedRequest, null, input);
+    }
+
+    /**
+     * Checks the input of a request against the limits, if there are any,
+     * and starts the clock for the request.
+     */
+    private void startLimits(NLGElement input) {
+        if(this.limits != null) {
+            this.deadline = this.limits.deadline();
+            this.limits.checkPlan(input);
+        }
+    }
+
+    /**
+     * Runs one stage of the pipeline, reporting to the listener if there is
+     * one.
+     */
+    private NLGElement runStage(RealisationStage stage, NLGModule module, NLGElement input) {
+        if(this.listener == null) {
+            NLGElement output;
+            enterStage(stage);
+            try {
+                output = module.realise(input);
+            } finally {
+                leaveStage();
+            }
+            if(this.tracedRequest >= 0)
+                this.tracer.record(this.tracedRequest, stage, output);
+            return output;
+        }
+
+        Lexicon lexicon = getLexicon();
+        long elements = getRealisationContext().getElementCount();
+        enterStage(stage);
+        if(lexicon != null)
+            lexicon.startCountingLookups();
+        long start = System.nanoTime();
+        NLGElement output;
+        long lookups;
+        try {
+            output = module.realise(input);
+        } finally {
+            lookups = lexicon == null ? 0 : lexicon.stopCountingLookups();
+            leaveStage();
+        }
+        long nanos = System.nanoTime() - start;
+        elements = getRealisationContext().getElementCount() - elements;
+        this.listener.stageCompleted(stage, output, nanos, elements, lookups);
+        if(this.tracedRequest >= 0)
+            this.tracer.record(this.tracedRequest, stage, output);
+        return output;
+    }
+
+    /**
+     * Runs the formatter into an output, reporting to the listener if there
+     * is one.
+     */
+    private void runFormatter(NLGElement input, Appendable output) throws IOException {
+        long elements = getRealisationContext().getElementCount();
+        long start = startFormatter();
+        try {
+            this.formatter.realise(input, output);
+        } finally {
+            leaveStage();
+        }
+        endFormatter(start, elements);
+        if(this.tracedRequest >= 0)
+            this.tracer.record(this.tracedRequest, RealisationStage.FORMATTER, null);
+    }
+
+    /**
+     * Checks the limits before the formatter runs and keeps checking them
+     * while it runs, until <code>leaveStage</code>.
+     *
+     * @return the time the formatter starts, if there is a listener.
+     */
+    private long startFormatter() {
+        enterStage(RealisationStage.FORMATTER);
+        return this.listener == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Checks the limits, if there are any, before a stage and has the
+     * context check them again at each element the stage comes to.
+     */
+    private void enterStage(RealisationStage stage) {
+        if(this.limits != null) {
+            this.limits.checkTime(this.deadline, stage, false);
+            this.limitCheck.stage = stage;
+            getRealisationContext().setElementCheck(this.limitCheck);
+        }
+    }
+
+    /**
+     * Stops checking the limits at each element once a stage is over.
+     */
+    private void leaveStage() {
+        getRealisationContext().setElementCheck(null);
+    }
+
+    /**
+     * Tells the listener, if there is one, about a formatter run.
+     *
+     * @param start
+     *            the time the formatter started.
+     * @param elements
+     *            the element count of the context when the formatter started.
+     */
+    private void endFormatter(long start, long elements) {
+        if(this.listener != null)
+            this.listener.stageCompleted(RealisationStage.FORMATTER, null, System.nanoTime() - start,
+                    getRealisationContext().getElementCount() - elements, 0);
+    }
+
+    /**
+     * Compiles a sentence plan containing slots (see
+     * <code>NLGFactory.createSlot</code>) into a template, which can then be
+     * realised with different words in the slots without running syntax
+     * again. The plan is consumed by compiling it.
+     *
+     * @param plan
+     *            the phrase to compile.
+     * @return the <code>SentenceTemplate</code>.
+     */
+    public SentenceTemplate compileTemplate(NLGElement plan) {
+        return new SentenceTemplate(this, plan);
+    }
+
     /**
      * Convenience class to realise any NLGElement as a sentence
      *
@@ -141,6 +432,21 @@ public class Realiser extends NLGModule {
      * @return String realisation of the NLGElement
      */
     public String realiseSentence(NLGElement element) {
+        Fingerprint key = null;
+        if(this.cache != null) {
+            // the fingerprint must be taken before realisation modifies the tree
+            key = element.getFingerprint();
+            String cached = this.cache.get(key, getLexicon(), this.formatter);
+            if(this.listener != null) {
+                if(cached != null)
+                    this.listener.cacheHit();
+                else
+                    this.listener.cacheMiss();
+            }
+            if(cached != null)
+                return cached;
+        }
+
         NLGElement realised = null;
         if(element instanceof DocumentElement)
             realised = realise(element);
@@ -152,12 +458,35 @@ public class Realiser extends NLGModule {
 
         if(realised == null)
             return null;
-        else
-            return realised.getRealisation();
+
+        String realisation = realised.getRealisation();
+        if(this.cache != null)
+            this.cache.put(key, getLexicon(), this.formatter, realisation);
+        return realisation;
     }
 
+    /**
+     * Realises a list of elements. When the formatter is a
+     * <code>BatchFormatter</code>, the elements go through syntax, morphology
+     * and orthography one by one and are then formatted together; the
+     * listener is told about the formatter stage once for the whole list.
+     */
     @Override
     public List<NLGElement> realise(List<NLGElement> elements) {
+        if(null != elements && !this.debug && this.formatter instanceof BatchFormatter) {
+            List<NLGElement> postOrthography = realiseToOrthography(elements);
+            long formatted = getRealisationContext().getElementCount();
+            long start = startFormatter();
+            List<NLGElement> realisedElements;
+            try {
+                realisedElements = this.formatter.realise(postOrthography);
+            } finally {
+                leaveStage();
+            }
+            endFormatter(start, formatted);
+            return realisedElements;
+        }
+
         List<NLGElement> realisedElements = new ArrayList<NLGElement>();
         if(null != elements) {
             for(NLGElement element : elements) {
@@ -168,18 +497,163 @@ public class Realiser extends NLGModule {
         return realisedElements;
     }
 
+    /**
+     * Realises a list of elements and appends their text to an output, with
+     * a separator between consecutive elements. A <code>BatchFormatter</code>
+     * formats all the elements together, as for <code>realise(List)</code>.
+     *
+     * @param elements
+     *            the elements to realise.
+     * @param output
+     *            the output the text is appended to.
+     * @param separator
+     *            the text written between two consecutive elements, or
+     *            <code>null</code> for none.
+     * @throws IOException
+     *             if the output cannot be written.
+     */
+    public void realise(List<NLGElement> elements, Appendable output, CharSequence separator) throws IOException {
+        if(null == elements)
+            return;
+
+        if(!this.debug && this.formatter instanceof BatchFormatter) {
+            List<NLGElement> postOrthography = realiseToOrthography(elements);
+            long formatted = getRealisationContext().getElementCount();
+            long start = startFormatter();
+            try {
+                ((BatchFormatter) this.formatter).realise(postOrthography, output, separator);
+            } finally {
+                leaveStage();
+            }
+            endFormatter(start, formatted);
+            return;
+        }
+
+        for(int i = 0; i < elements.size(); i++) {
+            if(i > 0 && separator != null)
+                output.append(separator);
+            realise(elements.get(i), output);
+        }
+    }
+
+    /**
+     * Runs syntax, morphology and orthography on each element of a list,
+     * each as a request of its own.
+     */
+    private List<NLGElement> realiseToOrthography(List<NLGElement> elements) {
+        List<NLGElement> postOrthography = new ArrayList<NLGElement>(elements.size());
+        for(NLGElement element : elements) {
+            startRequest(element);
+            postOrthography.add(realiseToOrthography(element));
+            this.tracedRequest = -1;
+        }
+        return postOrthography;
+    }
+
     @Override
     public void setLexicon(Lexicon newLexicon) {
+        super.setLexicon(newLexicon);
         this.syntax.setLexicon(newLexicon);
         this.morphology.setLexicon(newLexicon);
         this.orthography.setLexicon(newLexicon);
+        if(this.cache != null)
+            this.cache.clear();
     }
 
     public void setFormatter(NLGModule formatter) {
         this.formatter = formatter;
+        if(this.cache != null)
+            this.cache.clear();
+    }
+
+    /**
+     * Sets the cache consulted by <code>realiseSentence</code>. Identical
+     * sentence plans are then realised once and served from the cache
+     * afterwards. The cache is cleared whenever the lexicon or the formatter
+     * is replaced.
+     *
+     * @param cache
+     *            the cache, or <code>null</code> (the default) to disable
+     *            caching.
+     */
+    public void setRealisationCache(RealisationCache cache) {
+        this.cache = cache;
+    }
+
+    public RealisationCache getRealisationCache() {
+        return this.cache;
+    }
+
+    /**
+     * Sets the listener told about the time taken by each stage, the lexicon
+     * lookups made and the use of the realisation cache.
+     * <code>RealisationMetrics</code> collects these into histograms and
+     * totals.
+     *
+     * @param listener
+     *            the listener, or <code>null</code> (the default) to take no
+     *            measurements.
+     */
+    public void setRealisationListener(RealisationListener listener) {
+        this.listener = listener;
+    }
+
+    public RealisationListener getRealisationListener() {
+        return this.listener;
+    }
+
+    /**
+     * Sets the limits on the depth and size of the plans this realiser
+     * accepts and on the time it spends on each request. A request that
+     * breaks a limit, or whose thread is interrupted, ends with a
+     * <code>RealisationAbortedException</code>.
+     *
+     * @param limits
+     *            the limits, or <code>null</code> (the default) to realise
+     *            any plan however long it takes.
+     */
+    public void setRealisationLimits(RealisationLimits limits) {
+        this.limits = limits;
+    }
+
+    public RealisationLimits getRealisationLimits() {
+        return this.limits;
+    }
+
+    /**
+     * Sets the tracer that records the trees passing through the pipeline.
+     * Unlike debug mode, which prints every tree of every request to
+     * <code>System.out</code>, a tracer prints the trees of a sample of
+     * requests only, as they are recorded, and keeps the printouts in a
+     * bounded buffer until asked for them.
+     *
+     * @param tracer
+     *            the tracer, or <code>null</code> (the default) to trace
+     *            nothing.
+     */
+    public void setTracer(RealisationTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    public RealisationTracer getTracer() {
+        return this.tracer;
     }
 
     public void setDebugMode(boolean debugOn) {
         this.debug = debugOn;
     }
+
+    /**
+     * Checks the time limit and cancellation of the current request as a
+     * stage comes to each element.
+     */
+    private final class LimitCheck implements Runnable {
+
+        private RealisationStage stage;
+
+        @Override
+        public void run() {
+            Realiser.this.limits.checkTime(Realiser.this.deadline, this.stage, true);
+        }
+    }
 }
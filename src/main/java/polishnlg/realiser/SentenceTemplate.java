@@ -0,0 +1,274 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.realiser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import polishnlg.features.Feature;
+import polishnlg.features.InternalFeature;
+import polishnlg.features.LexicalFeature;
+import polishnlg.framework.CoordinatedPhraseElement;
+import polishnlg.framework.DocumentCategory;
+import polishnlg.framework.DocumentElement;
+import polishnlg.framework.InflectedWordElement;
+import polishnlg.framework.LexicalCategory;
+import polishnlg.framework.ListElement;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.WordElement;
+import polishnlg.lexicon.Lexicon;
+
+/**
+ * <p>
+ * A sentence plan that has been through syntax once and can be realised many
+ * times with different words in its slots. Slots are placeholder words made
+ * with <code>NLGFactory.createSlot</code> and used in the plan like any other
+ * word. Compiling the plan runs the syntax processor on it, so ordering,
+ * agreement and the features that drive inflection are worked out once;
+ * realising the template only inflects the bound words, applies orthography
+ * and formats the result.
+ * </p>
+ * <p>
+ * Agreement is decided at compile time from the features of the slot, so a
+ * slot only accepts words whose gender and number, where the word has them,
+ * are those the placeholder had after syntax. A slot that declares no gender
+ * only accepts words without one. A template that must take fillers of
+ * several genders should be compiled once per gender.
+ * </p>
+ * <p>
+ * Compiling consumes the plan: the syntax processor modifies its input, so the
+ * plan must not be realised again afterwards. Like the <code>Realiser</code> it
+ * belongs to, a template must not be used by several threads at once.
+ * </p>
+ */
+public class SentenceTemplate {
+
+	private final Realiser realiser;
+
+	/** The output of the syntax processor for the plan, as a sentence. */
+	private final NLGElement skeleton;
+
+	/** The placeholders of the skeleton, by slot name. */
+	private final Map<String, List<InflectedWordElement>> sites;
+
+	/** The features each slot carried before syntax, by slot name. */
+	private final Map<String, Map<String, Object>> declarations;
+
+	SentenceTemplate(Realiser realiser, NLGElement plan) {
+		if (plan == null || plan instanceof DocumentElement) {
+			throw new IllegalArgumentException("A template is compiled from a phrase, not a document"); //$NON-NLS-1$
+		}
+		this.realiser = realiser;
+		this.declarations = new HashMap<String, Map<String, Object>>();
+		collectDeclarations(plan, new IdentityHashMap<NLGElement, Boolean>());
+
+		// the plan is put in a sentence first, as realiseSentence does, since
+		// syntax realises a clause differently at the top of a sentence
+		DocumentElement sentence = new DocumentElement(DocumentCategory.SENTENCE, null);
+		sentence.addComponent(plan);
+		this.skeleton = realiser.realiseSyntax(sentence);
+		this.sites = new HashMap<String, List<InflectedWordElement>>();
+		collectSites(this.skeleton);
+	}
+
+	/**
+	 * @return the names of the slots of this template.
+	 */
+	public Set<String> getSlotNames() {
+		return Collections.unmodifiableSet(this.declarations.keySet());
+	}
+
+	/**
+	 * Realises the template as a sentence.
+	 *
+	 * @param bindings
+	 *            the filler of every slot, by slot name. A filler is either a
+	 *            <code>WordElement</code> or a <code>String</code> that is
+	 *            looked up in the lexicon with the category of the slot.
+	 * @return the realised sentence.
+	 * @throws IllegalArgumentException
+	 *             if a slot is unbound or its filler does not agree with the
+	 *             features the slot was compiled with.
+	 */
+	public String realise(Map<String, ? extends Object> bindings) {
+		Map<NLGElement, NLGElement> fillers = new IdentityHashMap<NLGElement, NLGElement>();
+		for (Map.Entry<String, List<InflectedWordElement>> slot : this.sites.entrySet()) {
+			Object value = bindings.get(slot.getKey());
+			if (value == null) {
+				throw new IllegalArgumentException("Slot " + slot.getKey() + " is not bound"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			for (InflectedWordElement site : slot.getValue()) {
+				fillers.put(site, fill(slot.getKey(), site, value));
+			}
+		}
+
+		NLGElement realised = this.realiser.realiseFromMorphology(bind(this.skeleton, fillers));
+		return realised == null ? null : realised.getRealisation();
+	}
+
+	/**
+	 * Records the features of the slots in the plan before syntax changes
+	 * them. Features that differ after syntax were set by syntax and are
+	 * copied to the fillers.
+	 */
+	private void collectDeclarations(NLGElement element, IdentityHashMap<NLGElement, Boolean> visited) {
+		if (element == null || visited.put(element, Boolean.TRUE) != null) {
+			return;
+		}
+		if (element instanceof WordElement && element.hasFeature(InternalFeature.SLOT)) {
+			this.declarations.put(element.getFeatureAsString(InternalFeature.SLOT),
+					new HashMap<String, Object>(element.getAllFeatures()));
+		}
+		for (Object value : element.getAllFeatures().values()) {
+			if (value instanceof NLGElement) {
+				collectDeclarations((NLGElement) value, visited);
+			} else if (value instanceof Collection<?>) {
+				for (Object each : (Collection<?>) value) {
+					if (each instanceof NLGElement) {
+						collectDeclarations((NLGElement) each, visited);
+					}
+				}
+			}
+		}
+	}
+
+	private void collectSites(NLGElement element) {
+		if (element instanceof InflectedWordElement) {
+			String slot = element.getFeatureAsString(InternalFeature.SLOT);
+			if (slot != null) {
+				List<InflectedWordElement> slotSites = this.sites.get(slot);
+				if (slotSites == null) {
+					slotSites = new ArrayList<InflectedWordElement>();
+					this.sites.put(slot, slotSites);
+				}
+				slotSites.add((InflectedWordElement) element);
+			}
+		} else if (element != null && element.getChildren() != null) {
+			for (NLGElement child : element.getChildren()) {
+				collectSites(child);
+			}
+		}
+	}
+
+	/**
+	 * Creates the inflected word for a filler at one placeholder: the
+	 * lexical features come from the filler, the features set by syntax from
+	 * the placeholder.
+	 */
+	private InflectedWordElement fill(String slot, InflectedWordElement site, Object value) {
+		LexicalCategory category = (LexicalCategory) site.getCategory();
+		WordElement word;
+		if (value instanceof WordElement) {
+			word = (WordElement) value;
+		} else {
+			Lexicon lexicon = this.realiser.getLexicon();
+			word = lexicon != null ? lexicon.lookupWord(value.toString(), category)
+					: new WordElement(value.toString(), category);
+		}
+
+		checkAgreement(slot, site, word, LexicalFeature.GENDER);
+		checkAgreement(slot, site, word, Feature.NUMBER);
+
+		Map<String, Object> declared = this.declarations.get(slot);
+
+		InflectedWordElement filled = new InflectedWordElement(word);
+		for (Map.Entry<String, Object> feature : site.getAllFeatures().entrySet()) {
+			String name = feature.getKey();
+			if (InternalFeature.BASE_WORD.equals(name) || LexicalFeature.BASE_FORM.equals(name)
+					|| InternalFeature.SLOT.equals(name)) {
+				continue;
+			}
+			if (declared == null || !feature.getValue().equals(declared.get(name))) {
+				filled.setFeature(name, feature.getValue());
+			}
+		}
+		return filled;
+	}
+
+	/**
+	 * Rejects a filler whose own value of an agreement feature is not the one
+	 * the placeholder had after syntax, as the words agreeing with the slot
+	 * were inflected for that value. A placeholder without a value accepts
+	 * only fillers without one.
+	 */
+	private static void checkAgreement(String slot, InflectedWordElement site, WordElement word, String feature) {
+		Object value = word.getFeature(feature);
+		if (value != null && !value.equals(site.getFeature(feature))) {
+			throw new IllegalArgumentException("Slot " + slot + " was compiled for " + feature + " " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ site.getFeature(feature) + " but " + word.getBaseForm() + " has " + feature + " " + value); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Copies the sentence, lists and coordinations of the skeleton, which
+	 * morphology and orthography rebuild or modify, and puts the fillers in
+	 * place of the placeholders. Words are shared with the skeleton.
+	 */
+	private NLGElement bind(NLGElement element, Map<NLGElement, NLGElement> fillers) {
+		NLGElement filler = fillers.get(element);
+		if (filler != null) {
+			return filler;
+		}
+
+		if (element instanceof DocumentElement) {
+			DocumentElement document = new DocumentElement();
+			copyFeatures(element, document);
+			List<NLGElement> components = new ArrayList<NLGElement>();
+			for (NLGElement child : element.getChildren()) {
+				components.add(bind(child, fillers));
+			}
+			document.setComponents(components);
+			return document;
+		}
+
+		String childFeature;
+		NLGElement copy;
+		if (element instanceof ListElement) {
+			copy = new ListElement();
+			childFeature = InternalFeature.COMPONENTS;
+		} else if (element instanceof CoordinatedPhraseElement) {
+			copy = new CoordinatedPhraseElement();
+			childFeature = InternalFeature.COORDINATES;
+		} else {
+			return element;
+		}
+
+		copyFeatures(element, copy);
+		List<NLGElement> children = new ArrayList<NLGElement>();
+		for (NLGElement child : element.getFeatureAsElementList(childFeature)) {
+			children.add(bind(child, fillers));
+		}
+		copy.setFeature(childFeature, children);
+		return copy;
+	}
+
+	private static void copyFeatures(NLGElement element, NLGElement copy) {
+		copy.setCategory(element.getCategory());
+		copy.setParent(element.getParent());
+		for (Map.Entry<String, Object> feature : element.getAllFeatures().entrySet()) {
+			copy.setFeature(feature.getKey(), feature.getValue());
+		}
+	}
+}
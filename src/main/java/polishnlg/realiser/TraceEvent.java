@@ -0,0 +1,122 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.realiser;
+
+import polishnlg.framework.NLGElement;
+
+/**
+ * <p>
+ * One step of a traced realisation: the tree handed to the pipeline, or the
+ * tree produced by one of its stages. The stages modify parts of the trees
+ * they are given, so the event prints the tree when it is recorded and keeps
+ * the printout; the element itself may have changed by the time the event is
+ * looked at.
+ * </p>
+ */
+public final class TraceEvent {
+
+	private final long request;
+
+	private final RealisationStage stage;
+
+	private final NLGElement element;
+
+	/** The tree as <code>printTree(null)</code> printed it when recorded. */
+	private final String tree;
+
+	private final long nanoTime;
+
+	TraceEvent(long request, RealisationStage stage, NLGElement element, long nanoTime) {
+		this.request = request;
+		this.stage = stage;
+		this.element = element;
+		this.tree = element == null ? "null\n" : element.printTree(null); //$NON-NLS-1$
+		this.nanoTime = nanoTime;
+	}
+
+	/**
+	 * @return the number of the traced request, counted by the tracer from 1.
+	 */
+	public long getRequest() {
+		return this.request;
+	}
+
+	/**
+	 * @return the stage that produced the tree, or <code>null</code> for the
+	 *         tree handed to the pipeline.
+	 */
+	public RealisationStage getStage() {
+		return this.stage;
+	}
+
+	/**
+	 * @return the root of the tree, which later stages may have changed since
+	 *         the event was recorded.
+	 */
+	public NLGElement getElement() {
+		return this.element;
+	}
+
+	/**
+	 * @return the value of <code>System.nanoTime()</code> when the event was
+	 *         recorded.
+	 */
+	public long getNanoTime() {
+		return this.nanoTime;
+	}
+
+	/**
+	 * Gives the printout of the tree made when the event was recorded, in the
+	 * format of <code>NLGElement.printTree</code>.
+	 *
+	 * @param indent
+	 *            the indentation of nested elements, or <code>null</code>.
+	 * @return the printed tree.
+	 */
+	public String printTree(String indent) {
+		if (indent == null || indent.isEmpty()) {
+			return this.tree;
+		}
+		// every line below the root starts with the indentation
+		int firstLine = this.tree.indexOf('\n') + 1;
+		StringBuilder print = new StringBuilder(this.tree.length() + 32);
+		print.append(this.tree, 0, firstLine);
+		for (int start = firstLine; start < this.tree.length();) {
+			int end = this.tree.indexOf('\n', start) + 1;
+			if (end == 0) {
+				end = this.tree.length();
+			}
+			print.append(indent).append(this.tree, start, end);
+			start = end;
+		}
+		return print.toString();
+	}
+
+	/**
+	 * @return the title of the event, such as <code>POST-SYNTAX TREE</code>.
+	 */
+	public String getTitle() {
+		return this.stage == null ? "INITIAL TREE" : "POST-" + this.stage + " TREE"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Override
+	public String toString() {
+		return "TraceEvent[request=" + this.request + ", " + getTitle() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ *
+ * Contributor(s) German version: Kira Klimt, Daniel Braun, Technical University of Munich
+ *
+ */
+
+package polishnlg.syntax;
+
+import java.util.List;
+
+import polishnlg.features.InternalFeature;
+import polishnlg.framework.ListElement;
+import polishnlg.framework.NLGElement;
+
+/**
+ * <p>
+ * This class contains static methods that pass the grammatical case of a
+ * phrase down to the words of its modifiers and complements (see
+ * <code>InternalFeature.CASE_PARENT</code>).
+ * </p>
+ * <p>
+ * A phrase realised as a complement or post-modifier of a noun phrase takes
+ * the case of that noun phrase, and the case of the outermost such phrase
+ * wins. Stamping every word as each phrase is realised means re-walking the
+ * words of all nested phrases once per level of nesting. Instead the case is
+ * recorded on the realised list only, and once the whole tree has been
+ * through syntax a single top-down walk hands each word the case of its
+ * outermost stamped list. Code that takes a list apart during syntax must
+ * first pass its recorded case to the components with
+ * <code>pushParentCase</code>.
+ * </p>
+ */
+abstract class AgreementHelper {
+
+	/**
+	 * Records the case of the parent phrase on a realised element. A word
+	 * receives the case at once; a list keeps it until
+	 * <code>resolveParentCase</code> passes it to its words.
+	 *
+	 * @param parent          the <code>SyntaxProcessor</code> realising the phrase.
+	 * @param caseParent      the case (e.g. SUBJECT) of the parent phrase.
+	 * @param realisedElement the realised modifier or complement.
+	 */
+	static void markParentCase(SyntaxProcessor parent, Object caseParent, NLGElement realisedElement) {
+		if (caseParent == null || realisedElement == null) {
+			return;
+		}
+		realisedElement.setFeature(InternalFeature.CASE_PARENT, caseParent);
+		if (realisedElement instanceof ListElement) {
+			parent.parentCasesPending = true;
+		}
+	}
+
+	/**
+	 * Passes the case recorded on a list to its components. This must be
+	 * called before the components are moved out of the list; the case of
+	 * the list replaces any the components carry, as it was recorded later.
+	 *
+	 * @param list the <code>NLGElement</code> about to be taken apart.
+	 */
+	static void pushParentCase(NLGElement list) {
+		if (!(list instanceof ListElement) || !list.hasFeature(InternalFeature.CASE_PARENT)) {
+			return;
+		}
+		Object caseParent = list.getFeature(InternalFeature.CASE_PARENT);
+		List<NLGElement> components = list.getChildren();
+		if (components != null) {
+			for (NLGElement component : components) {
+				if (component != null) {
+					component.setFeature(InternalFeature.CASE_PARENT, caseParent);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gives every word the case recorded on its outermost enclosing list, in
+	 * one walk over the realised tree, and removes the case from the lists.
+	 * A case is passed down through lists only, so coordinations and other
+	 * elements keep the case recorded inside them.
+	 *
+	 * @param element the root of the realised tree.
+	 */
+	static void resolveParentCase(NLGElement element) {
+		resolveParentCase(element, null);
+	}
+
+	private static void resolveParentCase(NLGElement element, Object inherited) {
+		if (element == null) {
+			return;
+		}
+		Object passedOn = null;
+		if (element instanceof ListElement) {
+			Object own = element.getFeature(InternalFeature.CASE_PARENT);
+			if (own != null) {
+				element.removeFeature(InternalFeature.CASE_PARENT);
+			}
+			passedOn = inherited != null ? inherited : own;
+		} else if (inherited != null) {
+			element.setFeature(InternalFeature.CASE_PARENT, inherited);
+		}
+
+		List<NLGElement> children = element.getChildren();
+		if (children != null) {
+			for (NLGElement child : children) {
+				resolveParentCase(child, passedOn);
+			}
+		}
+	}
+}
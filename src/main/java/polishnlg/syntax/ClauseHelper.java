@@ -42,8 +42,45 @@ import java.util.List;
  */
 abstract class ClauseHelper {
 
+	/**
+	 * The steps of a clause layout, in the order in which they may occur.
+	 */
+	private enum LayoutStep {
+		COMPLEMENTISER, CUE_PHRASE, FRONT_MODIFIERS, PRE_MODIFIERS, INTERROGATIVE, SUBJECTS, PASSIVE, VERB
+	}
+
+	/** Signature bit: a subordinate clause whose complementiser is not suppressed. */
+	private static final int HAS_COMPLEMENTISER = 1;
+
+	/** Signature bit: the clause has a cue phrase. */
+	private static final int HAS_CUE_PHRASE = 2;
+
+	/** Signature bit: the clause has front modifiers. */
+	private static final int HAS_FRONT_MODIFIERS = 4;
+
+	/** Signature bit: the clause has pre-modifiers. */
+	private static final int HAS_PRE_MODIFIERS = 8;
+
+	/** Signature bit: the clause is a question. */
+	private static final int IS_INTERROGATIVE = 16;
+
+	/** The layout of every clause signature, compiled once. */
+	private static final LayoutStep[][] LAYOUTS = new LayoutStep[32][];
+
+	static {
+		for (int signature = 0; signature < LAYOUTS.length; signature++) {
+			LAYOUTS[signature] = compileLayout(signature);
+		}
+	}
+
 	/**
 	 * The main method for controlling the syntax realisation of clauses.
+	 * <p>
+	 * Once the agreement features have been set, the clause's layout is looked
+	 * up by its signature (which of complementiser, cue phrase, front
+	 * modifiers, pre-modifiers and question form it has) and its steps are
+	 * carried out in order.
+	 * </p>
 	 *
 	 * @param parent
 	 *            the parent <code>SyntaxProcessor</code> that called this
@@ -56,9 +93,9 @@ abstract class ClauseHelper {
 		ListElement realisedElement = null;
 		NLGElement splitVerb = null;
 		boolean interrogObj = false;
-		NLGFactory nlgFactory = phrase.getFactory();
 
 		if(phrase != null) {
+			NLGFactory nlgFactory = phrase.getFactory();
 			realisedElement = new ListElement();
 			NLGElement verbElement = phrase.getFeatureAsElement(InternalFeature.VERB_PHRASE);
 			if(verbElement == null) {
@@ -68,49 +105,113 @@ abstract class ClauseHelper {
 			checkSubjectNumberPerson(phrase, verbElement);
 			checkDiscourseFunction(phrase);
 			copyFrontModifiers(phrase, verbElement);
-			addComplementiser(phrase, parent, realisedElement);
-			addCuePhrase(phrase, parent, realisedElement);
-
-			PhraseHelper.realiseList(parent,
-						realisedElement,
-						phrase.getFeatureAsElementList(InternalFeature.FRONT_MODIFIERS),
-						DiscourseFunction.FRONT_MODIFIER);
 
-			PhraseHelper.realiseList(parent,
-						realisedElement,
-						phrase.getFeatureAsElementList(InternalFeature.PREMODIFIERS),
-						DiscourseFunction.PRE_MODIFIER);
-
-			if(phrase.hasFeature(Feature.INTERROGATIVE_TYPE)) {
-				//addSubjectsToFront(phrase, parent, realisedElement, splitVerb);
-
-				realiseInterrogative(phrase, parent, realisedElement, nlgFactory, verbElement);
-			}
-			else if(phrase.getFeature(InternalFeature.FRONT_MODIFIERS) != null) {
-				NLGElement passiveSplitVerb = addPassiveComplementsNumberPerson(phrase,
-						parent,
-						realisedElement,
-						verbElement);
-				if(passiveSplitVerb != null) {
-					splitVerb = passiveSplitVerb;
-				}
-			  	realiseVerb(phrase, parent, realisedElement, splitVerb, verbElement, interrogObj);
-			} else {
-				addSubjectsToFront(phrase, parent, realisedElement, splitVerb);
-				NLGElement passiveSplitVerb = addPassiveComplementsNumberPerson(phrase,
-						parent,
-						realisedElement,
-						verbElement);
-				if(passiveSplitVerb != null) {
-					splitVerb = passiveSplitVerb;
+			for(LayoutStep step : LAYOUTS[getSignature(phrase)]) {
+				switch(step) {
+				case COMPLEMENTISER:
+					addComplementiser(phrase, parent, realisedElement);
+					break;
+				case CUE_PHRASE:
+					addCuePhrase(phrase, parent, realisedElement);
+					break;
+				case FRONT_MODIFIERS:
+					PhraseHelper.realiseList(parent,
+							realisedElement,
+							phrase.getFeatureAsElementList(InternalFeature.FRONT_MODIFIERS),
+							DiscourseFunction.FRONT_MODIFIER);
+					break;
+				case PRE_MODIFIERS:
+					PhraseHelper.realiseList(parent,
+							realisedElement,
+							phrase.getFeatureAsElementList(InternalFeature.PREMODIFIERS),
+							DiscourseFunction.PRE_MODIFIER);
+					break;
+				case INTERROGATIVE:
+					realiseInterrogative(phrase, parent, realisedElement, nlgFactory, verbElement);
+					break;
+				case SUBJECTS:
+					addSubjectsToFront(phrase, parent, realisedElement, splitVerb);
+					break;
+				case PASSIVE:
+					NLGElement passiveSplitVerb = addPassiveComplementsNumberPerson(phrase,
+							parent,
+							realisedElement,
+							verbElement);
+					if(passiveSplitVerb != null) {
+						splitVerb = passiveSplitVerb;
+					}
+					break;
+				case VERB:
+					realiseVerb(phrase, parent, realisedElement, splitVerb, verbElement, interrogObj);
+					break;
 				}
-				realiseVerb(phrase, parent, realisedElement, splitVerb, verbElement, interrogObj);
 			}
 		}
 
 		return realisedElement;
 	}
 
+	/**
+	 * Determines the signature of a clause, which selects its layout. The
+	 * tests are those the layout steps would otherwise make as they go.
+	 *
+	 * @param phrase
+	 *            the <code>PhraseElement</code> representing this clause.
+	 * @return the signature, an index into <code>LAYOUTS</code>.
+	 */
+	private static int getSignature(PhraseElement phrase) {
+		int signature = 0;
+		if(ClauseStatus.SUBORDINATE.equals(phrase.getFeature(InternalFeature.CLAUSE_STATUS))
+				&& !phrase.getFeatureAsBoolean(Feature.SUPRESSED_COMPLEMENTISER).booleanValue()) {
+			signature |= HAS_COMPLEMENTISER;
+		}
+		if(phrase.getFeature(Feature.CUE_PHRASE) != null) {
+			signature |= HAS_CUE_PHRASE;
+		}
+		if(phrase.getFeature(InternalFeature.FRONT_MODIFIERS) != null) {
+			signature |= HAS_FRONT_MODIFIERS;
+		}
+		if(phrase.getFeature(InternalFeature.PREMODIFIERS) != null) {
+			signature |= HAS_PRE_MODIFIERS;
+		}
+		if(phrase.hasFeature(Feature.INTERROGATIVE_TYPE)) {
+			signature |= IS_INTERROGATIVE;
+		}
+		return signature;
+	}
+
+	/**
+	 * Works out the steps that realise a clause of the given signature: the
+	 * complementiser, cue phrase, front modifiers and pre-modifiers, then for
+	 * a question the interrogative word order, otherwise the subjects (unless
+	 * front modifiers take their place), passive complements and the verb.
+	 */
+	private static LayoutStep[] compileLayout(int signature) {
+		List<LayoutStep> steps = new ArrayList<LayoutStep>();
+		if((signature & HAS_COMPLEMENTISER) != 0) {
+			steps.add(LayoutStep.COMPLEMENTISER);
+		}
+		if((signature & HAS_CUE_PHRASE) != 0) {
+			steps.add(LayoutStep.CUE_PHRASE);
+		}
+		if((signature & HAS_FRONT_MODIFIERS) != 0) {
+			steps.add(LayoutStep.FRONT_MODIFIERS);
+		}
+		if((signature & HAS_PRE_MODIFIERS) != 0) {
+			steps.add(LayoutStep.PRE_MODIFIERS);
+		}
+		if((signature & IS_INTERROGATIVE) != 0) {
+			steps.add(LayoutStep.INTERROGATIVE);
+		} else {
+			if((signature & HAS_FRONT_MODIFIERS) == 0) {
+				steps.add(LayoutStep.SUBJECTS);
+			}
+			steps.add(LayoutStep.PASSIVE);
+			steps.add(LayoutStep.VERB);
+		}
+		return steps.toArray(new LayoutStep[steps.size()]);
+	}
+
 	/**
 	 * Checks the subjects of the phrase to determine if there is more than one
 	 * subject. This ensures that the verb phrase is correctly set. Also set
@@ -265,6 +366,7 @@ abstract class ClauseHelper {
 				currentElement.setFeature(InternalFeature.DISCOURSE_FUNCTION, DiscourseFunction.VERB_PHRASE);
 			} else {
 				if(currentElement instanceof ListElement) {
+					AgreementHelper.pushParentCase(currentElement);
 					List<NLGElement> children = currentElement.getChildren();
 					currentElement = children.get(0);
 					currentElement.setFeature(InternalFeature.DISCOURSE_FUNCTION, DiscourseFunction.VERB_PHRASE);
@@ -583,6 +685,7 @@ abstract class ClauseHelper {
 			if(components.hasFeature(InternalFeature.DISCOURSE_FUNCTION) && components.getFeature(InternalFeature.DISCOURSE_FUNCTION).equals(DiscourseFunction.PRE_MODIFIER)) {
 				preModifiers.add(components);
 			} else {
+				AgreementHelper.pushParentCase(components);
 				for(NLGElement component: components.getChildren()) {
 					addModifersComplements(component, verbPhrase, complements, modifiers, objects, subordinateClauses, preModifiers, indirectObjects);
 				}
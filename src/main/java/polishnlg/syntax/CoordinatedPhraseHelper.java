@@ -22,6 +22,7 @@
 
 package polishnlg.syntax;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import polishnlg.framework.*;
@@ -69,7 +70,16 @@ abstract class CoordinatedPhraseHelper {
                         .getFeature(InternalFeature.CASE));
             }
             
+            // one conjunction element is shared by every gap in the
+            // coordination, as all of them are realised the same way
             InflectedWordElement conjunctionElement = null;
+            if (conjunction != null && conjunction.length() > 0) {
+                conjunctionElement = parent.createClosedClassWord(
+                        conjunction, LexicalCategory.CONJUNCTION);
+                conjunctionElement.setFeature(
+                        InternalFeature.DISCOURSE_FUNCTION,
+                        DiscourseFunction.CONJUNCTION);
+            }
 
             if (children != null && children.size() > 0) {
 
@@ -85,7 +95,10 @@ abstract class CoordinatedPhraseHelper {
                     }
                 }*/
 
-                coordinated.addCoordinate(parent.realise(child));
+                // collected first and added at once; addCoordinates skips
+                // children that realised to null
+                List<NLGElement> coordinates = new ArrayList<NLGElement>(2 * children.size());
+                coordinates.add(parent.realise(child));
                 for (int index = 1; index < children.size(); index++) {
                     child = children.get(index);
                     setChildFeatures(phrase, child);
@@ -99,17 +112,13 @@ abstract class CoordinatedPhraseHelper {
                     }
 
                     //skip conjunction if it's null or empty string
-                    if (conjunction != null && conjunction.length() > 0) {
-                        conjunctionElement = new InflectedWordElement(
-                                conjunction, LexicalCategory.CONJUNCTION);
-                        conjunctionElement.setFeature(
-                                InternalFeature.DISCOURSE_FUNCTION,
-                                DiscourseFunction.CONJUNCTION);
-                        coordinated.addCoordinate(conjunctionElement);
+                    if (conjunctionElement != null) {
+                        coordinates.add(conjunctionElement);
                     }
 
-                    coordinated.addCoordinate(parent.realise(child));
+                    coordinates.add(parent.realise(child));
                 }
+                coordinated.addCoordinates(coordinates);
                 realisedElement.addComponent(coordinated);
             }
 
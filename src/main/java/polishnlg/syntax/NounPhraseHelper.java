@@ -288,12 +288,22 @@ abstract class NounPhraseHelper {
 	/**
 	 * Sort the list of modifier or premodifiers for this noun phrase using adjective
 	 * ordering (ie, "big" comes before "red")
+	 * <p>
+	 * A modifier is moved behind its right neighbour while the earliest position
+	 * it can take is after the latest position the neighbour can take, until no
+	 * such pair is left. This is the order the former bubble sort produced; as
+	 * that order does not depend on which pair is swapped first, it is built
+	 * here by inserting the modifiers one by one. Each modifier goes in front
+	 * of the trailing run of modifiers that must all follow it, which are kept
+	 * in one segment per position, so every modifier is placed in constant time
+	 * and its positions are determined only once.
+	 * </p>
 	 * 
 	 * @param originalModifiers
 	 *            the original listing of the modifiers or premodifiers.
 	 * @return the sorted <code>List</code> of modifiers or premodifiers.
 	 */
-	private static List<NLGElement> sortNPPreModifiers(
+	static List<NLGElement> sortNPPreModifiers(
 			List<NLGElement> originalModifiers) {
 
 		List<NLGElement> orderedModifiers = null;
@@ -301,20 +311,28 @@ abstract class NounPhraseHelper {
 		if (originalModifiers == null || originalModifiers.size() <= 1) {
 			orderedModifiers = originalModifiers;
 		} else {
-			orderedModifiers = new ArrayList<NLGElement>(originalModifiers);
-			boolean changesMade = false;
-			do {
-				changesMade = false;
-				for (int i = 0; i < orderedModifiers.size() - 1; i++) {
-					if (getMinPos(orderedModifiers.get(i)) > getMaxPos(orderedModifiers
-							.get(i + 1))) {
-						NLGElement temp = orderedModifiers.get(i);
-						orderedModifiers.set(i, orderedModifiers.get(i + 1));
-						orderedModifiers.set(i + 1, temp);
-						changesMade = true;
-					}
+			// segments.get(p) holds the modifiers after the last one whose
+			// minimum position is p or less, back to the next such modifier
+			List<List<NLGElement>> segments = new ArrayList<List<NLGElement>>(NOUN_POSITION);
+			for (int position = 0; position < NOUN_POSITION; position++) {
+				segments.add(new ArrayList<NLGElement>());
+			}
+			for (NLGElement modifier : originalModifiers) {
+				int minPos = getMinPos(modifier);
+				int maxPos = getMaxPos(modifier);
+				// the modifier goes after every segment below its maximum
+				// position and closes the segments from its minimum position on
+				List<NLGElement> target = segments.get(minPos - 1);
+				for (int position = minPos; position < maxPos; position++) {
+					target.addAll(segments.get(position));
+					segments.get(position).clear();
 				}
-			} while (changesMade == true);
+				target.add(modifier);
+			}
+			orderedModifiers = new ArrayList<NLGElement>(originalModifiers.size());
+			for (List<NLGElement> segment : segments) {
+				orderedModifiers.addAll(segment);
+			}
 		}
 		return orderedModifiers;
 	}
@@ -326,7 +344,7 @@ abstract class NounPhraseHelper {
 	 *            the modifier to be checked.
 	 * @return the minimum position for this modifier.
 	 */
-	private static int getMinPos(NLGElement modifier) {
+	static int getMinPos(NLGElement modifier) {
 		int position = QUALITATIVE_POSITION;
 
 		if (modifier.isA(LexicalCategory.NOUN)
@@ -359,7 +377,7 @@ abstract class NounPhraseHelper {
 	 *            the modifier to be checked.
 	 * @return the maximum position for this modifier.
 	 */
-	private static int getMaxPos(NLGElement modifier) {
+	static int getMaxPos(NLGElement modifier) {
 		int position = NOUN_POSITION;
 
 		if (modifier.isA(LexicalCategory.ADJECTIVE)
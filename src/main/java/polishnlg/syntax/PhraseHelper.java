@@ -232,7 +232,7 @@ abstract class PhraseHelper {
 			if (currentElement != null) {
 				currentElement.setFeature(InternalFeature.DISCOURSE_FUNCTION,
 						function);
-				setParentCase(discourseFunctionParent, currentElement);
+				setParentCase(parent, discourseFunctionParent, currentElement);
 				copyFeatures(currentElement, eachElement);
 				realisedList.addComponent(currentElement);
 			}
@@ -246,21 +246,15 @@ abstract class PhraseHelper {
 	/**
 	 * Sets the grammatical case of the parent element to the modifier or complement.
 	 * E.g. sets "SUBJECT" to an adjective which is a modifier to a subject and needs to be inflected according to the case.
+	 * A list only records the case; its words receive it when the syntax processor has finished
+	 * (see <code>AgreementHelper</code>).
 	 *
+	 * @param parent                  the <code>SyntaxProcessor</code> realising the parent element.
 	 * @param discourseFunctionParent the <code>DiscourseFunction</code> (e.g. SUBJECT) of the parent element.
 	 * @param currentElement          the <code>NLGElement</code> to which the parent Discourse Function should be set
 	 */
 
-	protected static void setParentCase(Object discourseFunctionParent, NLGElement currentElement) {
-		if (discourseFunctionParent != null && currentElement != null) {
-			if (currentElement instanceof ListElement) {
-				for (NLGElement element : currentElement.getChildren()) {
-					setParentCase(discourseFunctionParent, element);
-				}
-			} else {
-				currentElement.setFeature(InternalFeature.CASE_PARENT, discourseFunctionParent);
-
-			}
-		}
+	protected static void setParentCase(SyntaxProcessor parent, Object discourseFunctionParent, NLGElement currentElement) {
+		AgreementHelper.markParentCase(parent, discourseFunctionParent, currentElement);
 	}
 }
@@ -23,10 +23,14 @@
 package polishnlg.syntax;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import polishnlg.framework.*;
 import polishnlg.orthography.OrthographyProcessor;
+import polishnlg.lexicon.Lexicon;
 import polishnlg.features.*;
 
 
@@ -55,80 +59,104 @@ public class SyntaxProcessor extends NLGModule {
 
     OrthographyProcessor orthographyHelper = new OrthographyProcessor();
 
-    @Override
-    public void initialise() {
-    }
-
-    @Override
-    public NLGElement realise(NLGElement element) {
-        NLGElement realisedElement = null;
-
-        if (element != null
-                && !element.getFeatureAsBoolean(Feature.ELIDED).booleanValue()) {
+    /** How many calls to <code>realise</code> are in progress. */
+    private int depth = 0;
 
-            if (element instanceof DocumentElement) {
-                List<NLGElement> children = element.getChildren();
-                ((DocumentElement) element).setComponents(realise(children));
-                realisedElement = element;
+    /** Set when a list records a parent case that has not been passed to its words. */
+    boolean parentCasesPending = false;
 
-            } else if (element instanceof PhraseElement) {
-                realisedElement = realisePhraseElement((PhraseElement) element);
+    /** The most closed class words kept by <code>createClosedClassWord</code>. */
+    private static final int MAX_CLOSED_CLASS_WORDS = 256;
 
-            } else if (element instanceof ListElement) {
-                realisedElement = new ListElement();
-                ((ListElement) realisedElement).addComponents(realise(element
-                        .getChildren()));
+    /** The lexicon entries of the closed class words added by syntax. */
+    private final Map<LexicalCategory, Map<String, WordElement>> closedClassWords =
+            new EnumMap<LexicalCategory, Map<String, WordElement>>(LexicalCategory.class);
 
-            } else if (element instanceof InflectedWordElement) {
-                String baseForm = ((InflectedWordElement) element)
-                        .getBaseForm();
-                ElementCategory category = element.getCategory();
+    private int closedClassWordCount = 0;
 
-                if (this.lexicon != null && baseForm != null) {
-                    WordElement word = ((InflectedWordElement) element)
-                            .getBaseWord();
+    /** Picks the code that realises each kind of element. */
+    private final NLGElementVisitor<NLGElement> dispatcher = new Dispatcher();
 
-                    if (word == null) {
-                        if (category instanceof LexicalCategory) {
-                            word = this.lexicon.lookupWord(baseForm,
-                                    (LexicalCategory) category);
-                        } else {
-                            word = this.lexicon.lookupWord(baseForm);
-                        }
-                    }
+    @Override
+    public void initialise() {
+    }
 
-                    if (word != null) {
-                        ((InflectedWordElement) element).setBaseWord(word);
-                    }
-                }
+    @Override
+    public void setLexicon(Lexicon newLexicon) {
+        super.setLexicon(newLexicon);
+        this.closedClassWords.clear();
+        this.closedClassWordCount = 0;
+    }
 
-                realisedElement = element;
+    /**
+     * Creates an inflected word for a closed class word that syntax adds to
+     * the tree, such as <em>nie</em> or a modal. The lexicon entry is looked
+     * up once and shared by every word created from it, which is safe as
+     * morphology only reads base words.
+     *
+     * @param baseForm
+     *            the base form of the word.
+     * @param category
+     *            the lexical category of the word.
+     * @return a new <code>InflectedWordElement</code>.
+     */
+    InflectedWordElement createClosedClassWord(String baseForm, LexicalCategory category) {
+        InflectedWordElement word = new InflectedWordElement(baseForm, category);
+        if (this.lexicon == null) {
+            return word;
+        }
 
-            } else if (element instanceof WordElement) {
-                // need to check if it's a word element, in which case it
-                // needs to be marked for inflection
-                InflectedWordElement infl = new InflectedWordElement(
-                        (WordElement) element);
+        Map<String, WordElement> words = this.closedClassWords.get(category);
+        if (words == null) {
+            words = new HashMap<String, WordElement>();
+            this.closedClassWords.put(category, words);
+        }
+        WordElement baseWord = words.get(baseForm);
+        if (baseWord == null) {
+            baseWord = this.lexicon.lookupWord(baseForm, category);
+            if (baseWord != null && this.closedClassWordCount < MAX_CLOSED_CLASS_WORDS) {
+                words.put(baseForm, baseWord);
+                this.closedClassWordCount++;
+            }
+        }
+        if (baseWord != null) {
+            word.setBaseWord(baseWord);
+        }
+        return word;
+    }
 
-                // the inflected word inherits all features from the base word
-                for (String feature : element.getAllFeatureNames()) {
-                    infl.setFeature(feature, element.getFeature(feature));
-                }
+    @Override
+    public NLGElement realise(NLGElement element) {
+        this.depth++;
+        NLGElement realisedElement = null;
+        try {
+            realisedElement = realiseElement(element);
+        } finally {
+            if (--this.depth == 0) {
+                resolveParentCases(realisedElement);
+            }
+        }
+        return realisedElement;
+    }
 
-                realisedElement = realise(infl);
+    /**
+     * Realises a single element; <code>realise</code> wraps this to pass the
+     * parent cases down once the outermost call is done.
+     */
+    private NLGElement realiseElement(NLGElement element) {
+        NLGElement realisedElement = null;
 
-            } else if (element instanceof CoordinatedPhraseElement) {
-                realisedElement = CoordinatedPhraseHelper.realise(this,
-                        (CoordinatedPhraseElement) element);
+        if (element != null
+                && !element.getFeatureAsBoolean(Feature.ELIDED).booleanValue()) {
 
-            } else {
-                realisedElement = element;
-            }
+            getRealisationContext().enterElement();
+            realisedElement = element.accept(this.dispatcher);
         }
 
         // Remove the spurious ListElements that have only one element.
         if (realisedElement instanceof ListElement) {
             if (((ListElement) realisedElement).size() == 1) {
+                AgreementHelper.pushParentCase(realisedElement);
                 realisedElement = ((ListElement) realisedElement).getFirst();
             }
         }
@@ -138,6 +166,19 @@ public class SyntaxProcessor extends NLGModule {
 
     @Override
     public List<NLGElement> realise(List<NLGElement> elements) {
+        this.depth++;
+        List<NLGElement> realisedList = null;
+        try {
+            realisedList = realiseElements(elements);
+        } finally {
+            if (--this.depth == 0) {
+                resolveParentCases(realisedList);
+            }
+        }
+        return realisedList;
+    }
+
+    private List<NLGElement> realiseElements(List<NLGElement> elements) {
         List<NLGElement> realisedList = new ArrayList<NLGElement>();
         NLGElement childRealisation = null;
 
@@ -147,6 +188,7 @@ public class SyntaxProcessor extends NLGModule {
                     childRealisation = realise(eachElement);
                     if (childRealisation != null) {
                         if (childRealisation instanceof ListElement) {
+                            AgreementHelper.pushParentCase(childRealisation);
                             realisedList
                                     .addAll(((ListElement) childRealisation)
                                             .getChildren());
@@ -160,6 +202,28 @@ public class SyntaxProcessor extends NLGModule {
         return realisedList;
     }
 
+    /**
+     * Passes the parent cases recorded on lists to their words, if any were
+     * recorded since the last time. Called from a <code>finally</code> block,
+     * so the realisation is <code>null</code> if the request failed; the
+     * pending flag is cleared either way so the next request starts clean.
+     */
+    private void resolveParentCases(NLGElement realisedElement) {
+        if (this.parentCasesPending && realisedElement != null) {
+            AgreementHelper.resolveParentCase(realisedElement);
+        }
+        this.parentCasesPending = false;
+    }
+
+    private void resolveParentCases(List<NLGElement> realisedElements) {
+        if (this.parentCasesPending && realisedElements != null) {
+            for (NLGElement realisedElement : realisedElements) {
+                AgreementHelper.resolveParentCase(realisedElement);
+            }
+        }
+        this.parentCasesPending = false;
+    }
+
     /**
      * Realises a phrase element.
      *
@@ -288,6 +352,9 @@ public class SyntaxProcessor extends NLGModule {
         if (parent.hasFeature(Feature.SEPARABLE_VERB)) {
             child.setFeature(Feature.SEPARABLE_VERB, parent.getFeatureAsBoolean(Feature.SEPARABLE_VERB));
         }
+        if (parent instanceof ListElement && parent.hasFeature(InternalFeature.CASE_PARENT)) {
+            child.setFeature(InternalFeature.CASE_PARENT, parent.getFeature(InternalFeature.CASE_PARENT));
+        }
     }
 
     /**
@@ -405,4 +472,81 @@ public class SyntaxProcessor extends NLGModule {
         realised = newVerbRealisation + " " + currentElementRealised + " ";
         return realised;
     }
+
+    /**
+     * Realises each kind of element for <code>realiseElement</code>. Phrases
+     * and coordinations are handed to the helpers; words are looked up in the
+     * lexicon and marked for inflection.
+     */
+    private final class Dispatcher implements NLGElementVisitor<NLGElement> {
+
+        @Override
+        public NLGElement visit(DocumentElement element) {
+            List<NLGElement> children = element.getChildren();
+            element.setComponents(realise(children));
+            return element;
+        }
+
+        @Override
+        public NLGElement visit(PhraseElement element) {
+            return realisePhraseElement(element);
+        }
+
+        @Override
+        public NLGElement visit(CoordinatedPhraseElement element) {
+            return CoordinatedPhraseHelper.realise(SyntaxProcessor.this, element);
+        }
+
+        @Override
+        public NLGElement visit(ListElement element) {
+            AgreementHelper.pushParentCase(element);
+            ListElement realisedElement = new ListElement();
+            realisedElement.addComponents(realise(element.getChildren()));
+            return realisedElement;
+        }
+
+        @Override
+        public NLGElement visit(WordElement element) {
+            // need to check if it's a word element, in which case it
+            // needs to be marked for inflection
+            InflectedWordElement infl = new InflectedWordElement(element);
+
+            // the inflected word inherits all features from the base word
+            for (String feature : element.getAllFeatureNames()) {
+                infl.setFeature(feature, element.getFeature(feature));
+            }
+
+            return realise(infl);
+        }
+
+        @Override
+        public NLGElement visit(InflectedWordElement element) {
+            String baseForm = element.getBaseForm();
+            ElementCategory category = element.getCategory();
+
+            if (SyntaxProcessor.this.lexicon != null && baseForm != null) {
+                WordElement word = element.getBaseWord();
+
+                if (word == null) {
+                    if (category instanceof LexicalCategory) {
+                        word = SyntaxProcessor.this.lexicon.lookupWord(baseForm,
+                                (LexicalCategory) category);
+                    } else {
+                        word = SyntaxProcessor.this.lexicon.lookupWord(baseForm);
+                    }
+                }
+
+                if (word != null) {
+                    element.setBaseWord(word);
+                }
+            }
+
+            return element;
+        }
+
+        @Override
+        public NLGElement visit(StringElement element) {
+            return element;
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ *
+ * Contributor(s) German version: Kira Klimt, Daniel Braun, Technical University of Munich
+ *
+ */
+
+package polishnlg.syntax;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import polishnlg.framework.NLGElement;
+
+/**
+ * <p>
+ * The stack of words of a verb group used by <code>VerbPhraseHelper</code>. It
+ * replaces <code>java.util.Stack</code>, whose methods are all synchronized,
+ * with a plain array. Iteration goes from the bottom of the stack to the top,
+ * as it does for <code>Stack</code>.
+ * </p>
+ */
+final class VerbGroup implements Iterable<NLGElement> {
+
+	/** Enough for a modal, an auxiliary, the main verb, a particle and the negation. */
+	private static final int INITIAL_CAPACITY = 6;
+
+	private NLGElement[] words = new NLGElement[INITIAL_CAPACITY];
+
+	private int size = 0;
+
+	/**
+	 * Puts a word on top of the stack.
+	 *
+	 * @param word
+	 *            the word to be added.
+	 */
+	void push(NLGElement word) {
+		if (this.size == this.words.length) {
+			this.words = Arrays.copyOf(this.words, this.size * 2);
+		}
+		this.words[this.size++] = word;
+	}
+
+	/**
+	 * Removes the word on top of the stack.
+	 *
+	 * @return the removed word.
+	 * @throws NoSuchElementException
+	 *             if the stack is empty.
+	 */
+	NLGElement pop() {
+		if (this.size == 0) {
+			throw new NoSuchElementException();
+		}
+		NLGElement word = this.words[--this.size];
+		this.words[this.size] = null;
+		return word;
+	}
+
+	/**
+	 * @return <code>true</code> if the stack holds no words.
+	 */
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Removes all words from the stack.
+	 */
+	void clear() {
+		Arrays.fill(this.words, 0, this.size, null);
+		this.size = 0;
+	}
+
+	/**
+	 * @return the number of words on the stack.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	@Override
+	public Iterator<NLGElement> iterator() {
+		return new Iterator<NLGElement>() {
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return this.next < VerbGroup.this.size;
+			}
+
+			@Override
+			public NLGElement next() {
+				if (this.next >= VerbGroup.this.size) {
+					throw new NoSuchElementException();
+				}
+				return VerbGroup.this.words[this.next++];
+			}
+		};
+	}
+}
@@ -27,7 +27,6 @@ import polishnlg.features.*;
 import polishnlg.phrasespec.*;
 
 import java.util.List;
-import java.util.Stack;
 
 /**
  * <p>
@@ -50,9 +49,9 @@ abstract class VerbPhraseHelper {
      */
     static NLGElement realise(SyntaxProcessor parent, PhraseElement phrase) {
         ListElement realisedElement = null;
-        Stack<NLGElement> vgComponents = null;
-        Stack<NLGElement> mainVerbRealisation = new Stack<NLGElement>();
-        Stack<NLGElement> auxiliaryRealisation = new Stack<NLGElement>();
+        VerbGroup vgComponents = null;
+        VerbGroup mainVerbRealisation = new VerbGroup();
+        VerbGroup auxiliaryRealisation = new VerbGroup();
         Boolean auxiliary = false;
         Boolean postModsRealised = false;
 		Boolean auxRealised = false;
@@ -70,7 +69,7 @@ abstract class VerbPhraseHelper {
 			}
         	if(phrase.hasFeature(InternalFeature.HEAD) && phrase.getHead().getCategory() != null && phrase.getHead().getCategory().equals(PhraseCategory.VERB_PHRASE) 
         			&& phrase.hasFeature(Feature.TENSE) && (phrase.getFeature(Feature.TENSE).equals(Tense.PERFECT) || phrase.getFeature(Feature.TENSE).equals(Tense.FUTURE))) {
-        		auxiliaryRealisation =  new Stack<NLGElement>();
+        		auxiliaryRealisation.clear();
 
 				if (phrase.hasFeature(InternalFeature.COMPLEMENTS)) {
 					phrase.getHead().setFeature(InternalFeature.COMPLEMENTS, phrase.getFeatureAsElementList(InternalFeature.COMPLEMENTS));
@@ -91,7 +90,7 @@ abstract class VerbPhraseHelper {
 				}
 			}
 
-			if(!mainVerbRealisation.empty()) {
+			if(!mainVerbRealisation.isEmpty()) {
 				for (NLGElement mainVerb: mainVerbRealisation) {
 					if(mainVerb.hasFeature(Feature.CONTAINS_MODAL)) {
 						realisedElement.setFeature(Feature.CONTAINS_MODAL, mainVerb.getFeatureAsBoolean(Feature.CONTAINS_MODAL));
@@ -208,7 +207,7 @@ abstract class VerbPhraseHelper {
      *            the current realisation of the noun phrase.
      */
     private static void realiseMainVerb(SyntaxProcessor parent,
-                                        PhraseElement phrase, Stack<NLGElement> mainVerbRealisation,
+                                        PhraseElement phrase, VerbGroup mainVerbRealisation,
                                         ListElement realisedElement) {
 
         NLGElement currentElement = null;
@@ -255,7 +254,7 @@ abstract class VerbPhraseHelper {
 	 *            the stack of auxiliary verbs.
 	 */
 	private static void realiseAuxiliaries(SyntaxProcessor parent,
-			ListElement realisedElement, Stack<NLGElement> auxiliaryRealisation) {
+			ListElement realisedElement, VerbGroup auxiliaryRealisation) {
 
 		NLGElement aux = null;
 		NLGElement currentElement = null;
@@ -279,10 +278,10 @@ abstract class VerbPhraseHelper {
      *            realisation of the complementiser.
      * @param phrase
      *            the <code>PhraseElement</code> representing this noun phrase.
-     * @return the verb group as a <code>Stack</code> of <code>NLGElement</code>
-     *         s.
+     * @return the verb group as a <code>VerbGroup</code> of
+     *         <code>NLGElement</code>s.
      */
-    static final private Stack<NLGElement> createVerbGroup(
+    static final private VerbGroup createVerbGroup(
             SyntaxProcessor parent, PhraseElement phrase) {
 
 		String actualModal = null;
@@ -290,7 +289,7 @@ abstract class VerbPhraseHelper {
 		Tense tenseValue = (Tense) phrase.getFeature(Feature.TENSE);
 		String modal = phrase.getFeatureAsString(Feature.MODAL);
 		boolean modalPast = false;
-		Stack<NLGElement> vgComponents = new Stack<NLGElement>();
+		VerbGroup vgComponents = new VerbGroup();
 		boolean interrogative = phrase.hasFeature(Feature.INTERROGATIVE_TYPE);
 		Person personValue = (Person) phrase.getFeature(Feature.PERSON);
 		NumberAgreement numberValue = (NumberAgreement) phrase.getFeature(Feature.NUMBER);
@@ -354,14 +353,14 @@ abstract class VerbPhraseHelper {
 
 		frontVG = pushIfModal(actualModal != null, phrase, frontVG,
 				vgComponents);
-		frontVG = createNot(phrase, vgComponents, frontVG, modal != null);
+		frontVG = createNot(parent, phrase, vgComponents, frontVG, modal != null);
 
 		if (frontVG != null) {
 			pushFrontVerb(phrase, vgComponents, frontVG, formValue,
 					interrogative);
 		}
 		if(actualModal != null) {
-			pushModal(actualModal, phrase, vgComponents);
+			pushModal(parent, actualModal, phrase, vgComponents);
 		}
 		return vgComponents;
     }
@@ -378,7 +377,7 @@ abstract class VerbPhraseHelper {
 	 *            the stack of verb components in the verb group.
 	 */
 	private static void pushParticles(PhraseElement phrase,
-			SyntaxProcessor parent, Stack<NLGElement> vgComponents) {
+			SyntaxProcessor parent, VerbGroup vgComponents) {
 		Object particle = phrase.getFeature(Feature.PARTICLE);
 
 		if (particle instanceof String) {
@@ -412,6 +411,9 @@ abstract class VerbPhraseHelper {
 	/**
 	 * Pushes the modal onto the stack of verb components.
 	 * 
+	 * @param parent
+	 *            the parent <code>SyntaxProcessor</code> that will do the
+	 *            realisation of the complementiser.
 	 * @param actualModal
 	 *            the modal to be used.
 	 * @param phrase
@@ -419,12 +421,12 @@ abstract class VerbPhraseHelper {
 	 * @param vgComponents
 	 *            the stack of verb components in the verb group.
 	 */
-	private static void pushModal(String actualModal, PhraseElement phrase,
-			Stack<NLGElement> vgComponents) {
+	private static void pushModal(SyntaxProcessor parent, String actualModal, PhraseElement phrase,
+			VerbGroup vgComponents) {
 		if (actualModal != null
 				&& !phrase.getFeatureAsBoolean(InternalFeature.IGNORE_MODAL)
 						.booleanValue()) {
-			vgComponents.push(new InflectedWordElement(actualModal,
+			vgComponents.push(parent.createClosedClassWord(actualModal,
 					LexicalCategory.MODAL));
 		}
 	}
@@ -432,6 +434,9 @@ abstract class VerbPhraseHelper {
 	/**
 	 * Adds <em>nicht</em> to the stack if the phrase is negated.
 	 * 
+	 * @param parent
+	 *            the parent <code>SyntaxProcessor</code> that will do the
+	 *            realisation of the complementiser.
 	 * @param phrase
 	 *            the <code>PhraseElement</code> representing this noun phrase.
 	 * @param vgComponents
@@ -442,13 +447,13 @@ abstract class VerbPhraseHelper {
 	 *            the phrase has a modal
 	 * @return the new element for the front of the group.
 	 */
-	private static NLGElement createNot(PhraseElement phrase,
-			Stack<NLGElement> vgComponents, NLGElement frontVG, boolean hasModal) {
+	private static NLGElement createNot(SyntaxProcessor parent, PhraseElement phrase,
+			VerbGroup vgComponents, NLGElement frontVG, boolean hasModal) {
 		NLGElement newFront = frontVG;
 
 		if (phrase.getFeatureAsBoolean(Feature.NEGATED).booleanValue()) {
-			if (!vgComponents.empty() || frontVG != null && isCopular(frontVG)) {
-				vgComponents.push(new InflectedWordElement(
+			if (!vgComponents.isEmpty() || frontVG != null && isCopular(frontVG)) {
+				vgComponents.push(parent.createClosedClassWord(
 						"nie", LexicalCategory.ADVERB));
 			} else {
 				if (frontVG != null && !hasModal) {
@@ -456,7 +461,7 @@ abstract class VerbPhraseHelper {
 					vgComponents.push(frontVG);
 				}
 
-				vgComponents.push(new InflectedWordElement(
+				vgComponents.push(parent.createClosedClassWord(
 						"nie", LexicalCategory.ADVERB));
 			}
 		}
@@ -512,7 +517,7 @@ abstract class VerbPhraseHelper {
 	 */
 	private static NLGElement pushIfModal(boolean hasModal,
 			PhraseElement phrase, NLGElement frontVG,
-			Stack<NLGElement> vgComponents) {
+			VerbGroup vgComponents) {
 
 		NLGElement newFront = frontVG;
 		if (hasModal
@@ -539,7 +544,7 @@ abstract class VerbPhraseHelper {
 	 * @return the new element for the front of the group.
 	 */
 	private static NLGElement addBe(NLGElement frontVG,
-			Stack<NLGElement> vgComponents, Form frontForm) {
+			VerbGroup vgComponents, Form frontForm) {
 
 		if (frontVG != null) {
 			frontVG.setFeature(Feature.FORM, frontForm);
@@ -560,7 +565,7 @@ abstract class VerbPhraseHelper {
 	 * @return the new element for the front of the group.
 	 */
 	private static NLGElement addWerden(NLGElement frontVG,
-									Stack<NLGElement> vgComponents, Form frontForm) {
+									VerbGroup vgComponents, Form frontForm) {
 
 		if (frontVG != null) {
 			frontVG.setFeature(Feature.FORM, frontForm);
@@ -583,7 +588,7 @@ abstract class VerbPhraseHelper {
 	 * @return the new element for the front of the group.
 	 */
 	private static NLGElement addHave(NLGElement frontVG,
-			Stack<NLGElement> vgComponents, String modal, Tense tenseValue) {
+			VerbGroup vgComponents, String modal, Tense tenseValue) {
 		NLGElement newFront = frontVG;
 
 		if (frontVG != null) {
@@ -643,7 +648,7 @@ abstract class VerbPhraseHelper {
      *            <code>true</code> if the phrase is interrogative.
      */
     private static void pushFrontVerb(PhraseElement phrase,
-                                      Stack<NLGElement> vgComponents, NLGElement frontVG,
+                                      VerbGroup vgComponents, NLGElement frontVG,
                                       Object formValue, boolean interrogative) {
         if ((!(formValue == null || Form.NORMAL.equals(formValue)) || interrogative)) {
             vgComponents.push(frontVG);
@@ -693,9 +698,9 @@ abstract class VerbPhraseHelper {
      * @param auxiliaryRealisation
      *            the auxiliary group of verbs.
      */
-    private static void splitVerbGroup(Stack<NLGElement> vgComponents,
-                                       Stack<NLGElement> mainVerbRealisation,
-                                       Stack<NLGElement> auxiliaryRealisation) {
+    private static void splitVerbGroup(VerbGroup vgComponents,
+                                       VerbGroup mainVerbRealisation,
+                                       VerbGroup auxiliaryRealisation) {
 
         boolean mainVerbSeen = false;
 
@@ -0,0 +1,63 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.format.polish;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.framework.DocumentCategory;
+import polishnlg.framework.DocumentElement;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.StringElement;
+
+public class HTMLFormatterTest {
+
+    private static DocumentElement createDocument() {
+        DocumentElement document = new DocumentElement(DocumentCategory.DOCUMENT, "Koty & psy");
+        DocumentElement paragraph = new DocumentElement(DocumentCategory.PARAGRAPH, null);
+        paragraph.addComponent(Fixtures.createSentence("Kot jest większy niż <mysz>."));
+        paragraph.addComponent(Fixtures.createSentence("Pies mówi \"hau\"."));
+        document.addComponent(paragraph);
+        DocumentElement list = new DocumentElement(DocumentCategory.LIST, null);
+        DocumentElement item = new DocumentElement(DocumentCategory.LIST_ITEM, null);
+        item.addComponent(new StringElement("a'b"));
+        list.addComponent(item);
+        document.addComponent(list);
+        return document;
+    }
+
+    @Test
+    public void testTextIsCopiedByDefault() {
+        Assertions.assertEquals("<h1>Koty & psy</h1><p>Kot jest większy niż <mysz>. Pies mówi \"hau\".</p>"
+                + "<ul><li>a'b</li></ul>", new HTMLFormatter().realise(createDocument()).getRealisation());
+    }
+
+    @Test
+    public void testTextIsEscaped() {
+        Assertions.assertEquals("<h1>Koty &amp; psy</h1><p>Kot jest większy niż &lt;mysz&gt;. Pies mówi &quot;hau&quot;.</p>"
+                + "<ul><li>a&#39;b</li></ul>", new HTMLFormatter(true).realise(createDocument()).getRealisation());
+    }
+
+    @Test
+    public void testWriterGetsTheSameHTML() throws IOException {
+        HTMLFormatter formatter = new HTMLFormatter(true);
+        NLGElement document = createDocument();
+        StringWriter writer = new StringWriter();
+        formatter.realise(document, writer);
+        Assertions.assertEquals(formatter.realise(document).getRealisation(), writer.toString());
+    }
+}
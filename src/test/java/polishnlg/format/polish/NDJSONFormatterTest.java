@@ -0,0 +1,135 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package polishnlg.format.polish;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.framework.DocumentCategory;
+import polishnlg.framework.DocumentElement;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.NLGElement;
+
+public class NDJSONFormatterTest {
+
+    private static DocumentElement createDocument() {
+        DocumentElement document = new DocumentElement(DocumentCategory.DOCUMENT, "Koty");
+        DocumentElement section = new DocumentElement(DocumentCategory.SECTION, null);
+        DocumentElement paragraph = new DocumentElement(DocumentCategory.PARAGRAPH, null);
+        paragraph.addComponent(Fixtures.createSentence("Kot śpi."));
+        paragraph.addComponent(Fixtures.createSentence("Pies mówi \"hau\"\n"));
+        section.addComponent(paragraph);
+        document.addComponent(section);
+        return document;
+    }
+
+    @Test
+    public void testOneRecordPerSentence() {
+        Assertions.assertEquals("{\"path\":[],\"category\":\"DOCUMENT\",\"text\":\"Koty\"}\n"
+                + "{\"path\":[0,0,0],\"category\":\"SENTENCE\",\"text\":\"Kot śpi.\"}\n"
+                + "{\"path\":[0,0,1],\"category\":\"SENTENCE\",\"text\":\"Pies mówi \\\"hau\\\"\\n\"}\n",
+                new NDJSONFormatter().realise(createDocument()).getRealisation());
+    }
+
+    @Test
+    public void testSpans() {
+        Assertions.assertEquals("{\"path\":[],\"category\":\"SENTENCE\",\"text\":\"Kot  śpi.\",\"spans\":[[0,3],[5,9]]}\n",
+                new NDJSONFormatter(true, false).realise(Fixtures.createSentence("Kot  śpi.")).getRealisation());
+    }
+
+    @Test
+    public void testComponentsAreOneRecord() {
+        Assertions.assertEquals("{\"path\":[],\"category\":null,\"text\":\"duży kot\"}\n",
+                new NDJSONFormatter().realise(Fixtures.createList("duży", "kot")).getRealisation());
+    }
+
+    @Test
+    public void testDeepPaths() {
+        DocumentElement root = new DocumentElement(DocumentCategory.SECTION, null);
+        DocumentElement section = root;
+        for (int i = 0; i < 20; i++) {
+            DocumentElement inner = new DocumentElement(DocumentCategory.SECTION, null);
+            section.addComponent(new DocumentElement(DocumentCategory.SECTION, "Tytuł " + i));
+            section.addComponent(inner);
+            section = inner;
+        }
+        section.addComponent(Fixtures.createList("duży", "kot"));
+
+        String records = new NDJSONFormatter().realise(root).getRealisation();
+        Assertions.assertTrue(records.startsWith("{\"path\":[0],\"category\":\"SECTION\",\"text\":\"Tytuł 0\"}\n"
+                + "{\"path\":[1,0],\"category\":\"SECTION\",\"text\":\"Tytuł 1\"}\n"), records);
+        Assertions.assertTrue(records.endsWith("{\"path\":[1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,0],"
+                + "\"category\":null,\"text\":\"duży kot\"}\n"), records);
+    }
+
+    @Test
+    public void testSharedByThreads() throws Exception {
+        NDJSONFormatter formatter = new NDJSONFormatter(true, false);
+        List<NLGElement> documents = new ArrayList<NLGElement>();
+        List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 8; i++) {
+            DocumentElement document = new DocumentElement(DocumentCategory.DOCUMENT, "Dokument " + i);
+            for (int j = 0; j <= i; j++) {
+                DocumentElement paragraph = new DocumentElement(DocumentCategory.PARAGRAPH, null);
+                paragraph.addComponent(Fixtures.createSentence("Zdanie " + i + " " + j + "."));
+                paragraph.addComponent(Fixtures.createList("duży", "kot", Integer.toString(j)));
+                document.addComponent(paragraph);
+            }
+            documents.add(document);
+            expected.add(formatter.realise(document).getRealisation());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(documents.size());
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < documents.size(); i++) {
+                NLGElement document = documents.get(i);
+                String records = expected.get(i);
+                results.add(executor.submit(() -> {
+                    for (int run = 0; run < 2000; run++) {
+                        if (!records.equals(formatter.realise(document).getRealisation())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assertions.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEscapesControlCharacters() throws IOException {
+        StringWriter writer = new StringWriter();
+        NDJSONFormatter.appendString(writer, "a\\b\u0001");
+        Assertions.assertEquals("\"a\\\\b\\u0001\"", writer.toString());
+    }
+}
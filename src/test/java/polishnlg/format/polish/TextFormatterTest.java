@@ -0,0 +1,113 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.format.polish;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.ListElement;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.RealisationContext;
+import polishnlg.framework.StringElement;
+
+public class TextFormatterTest {
+
+    /** Canned text whose realisation is <code>null</code>, as a subclass may give. */
+    private static class NullText extends StringElement {
+
+        NullText() {
+            super("");
+        }
+
+        @Override
+        public String getRealisation() {
+            return null;
+        }
+    }
+
+    private static List<NLGElement> createElements() {
+        List<NLGElement> elements = new ArrayList<NLGElement>();
+        elements.add(Fixtures.createSentence("Kot śpi."));
+        elements.add(new StringElement(""));
+        elements.add(Fixtures.createList("duży", "", "pies"));
+        return elements;
+    }
+
+    @Test
+    public void testBatchMatchesSingleElements() {
+        TextFormatter formatter = new TextFormatter();
+        List<NLGElement> elements = createElements();
+        List<NLGElement> realised = formatter.realise(elements);
+
+        Assertions.assertEquals(elements.size(), realised.size());
+        for (int i = 0; i < elements.size(); i++) {
+            Assertions.assertEquals(formatter.realise(elements.get(i)).getRealisation(),
+                    realised.get(i).getRealisation());
+        }
+        Assertions.assertEquals("duży  pies", realised.get(2).getRealisation());
+    }
+
+    @Test
+    public void testBatchWithSeparator() throws IOException {
+        StringBuilder output = new StringBuilder(">");
+        new TextFormatter().realise(createElements(), output, "|");
+        Assertions.assertEquals(">Kot śpi.||duży  pies", output.toString());
+    }
+
+    @Test
+    public void testNullRealisationIsEmpty() throws IOException {
+        ListElement phrase = Fixtures.createList("kot");
+        phrase.addComponent(new NullText());
+        phrase.addComponent(new NullText());
+        phrase.addComponent(new StringElement("pies"));
+        List<NLGElement> elements = new ArrayList<NLGElement>();
+        elements.add(phrase);
+        elements.add(new NullText());
+
+        TextFormatter formatter = new TextFormatter();
+        Assertions.assertEquals("kot   pies", formatter.realise(phrase).getRealisation());
+        List<NLGElement> realised = formatter.realise(elements);
+        Assertions.assertEquals("kot   pies", realised.get(0).getRealisation());
+        Assertions.assertEquals("", realised.get(1).getRealisation());
+
+        StringBuilder output = new StringBuilder();
+        formatter.realise(elements, output, "|");
+        Assertions.assertEquals("kot   pies|", output.toString());
+        Assertions.assertEquals("kot   pies", new HTMLFormatter().realise(phrase).getRealisation());
+    }
+
+    @Test
+    public void testBufferIsGivenBackOnFailure() {
+        TextFormatter formatter = new TextFormatter();
+        RealisationContext context = formatter.getRealisationContext();
+        int borrowed = context.getBorrowed();
+        // stops the formatter at the first element, as the limits of a realiser would
+        context.setElementCheck(() -> {
+            throw new IllegalStateException("stopped");
+        });
+        try {
+            Assertions.assertThrows(IllegalStateException.class, () -> formatter.realise(createElements()));
+            Assertions.assertEquals(borrowed, context.getBorrowed());
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> formatter.realise(Fixtures.createList("duży", "pies")));
+            Assertions.assertEquals(borrowed, context.getBorrowed());
+        } finally {
+            context.setElementCheck(null);
+        }
+    }
+}
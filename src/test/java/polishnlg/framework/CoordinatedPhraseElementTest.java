@@ -0,0 +1,80 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.Feature;
+
+public class CoordinatedPhraseElementTest {
+
+    /** A clause, a noun phrase, a canned text, a string or a value that is ignored. */
+    private static Object createCoordinate(int kind, int index) {
+        switch (kind) {
+        case 0:
+            return new PhraseElement(PhraseCategory.CLAUSE);
+        case 1:
+            return new PhraseElement(PhraseCategory.NOUN_PHRASE);
+        case 2:
+            return new StringElement("s" + index);
+        case 3:
+            return "t" + index;
+        default:
+            return Integer.valueOf(index);
+        }
+    }
+
+    private static String describe(NLGElement coordinate) {
+        return coordinate.getCategory() + " " + coordinate.getRealisation() + " "
+                + coordinate.getFeature(Feature.SUPRESSED_COMPLEMENTISER);
+    }
+
+    private static List<String> describe(CoordinatedPhraseElement coordination) {
+        List<String> descriptions = new ArrayList<String>();
+        for (NLGElement coordinate : coordination.getChildren()) {
+            descriptions.add(describe(coordinate));
+        }
+        return descriptions;
+    }
+
+    @Test
+    public void testBatchMatchesOneByOne() {
+        Random random = new Random(36);
+        for (int i = 0; i < 2000; i++) {
+            CoordinatedPhraseElement oneByOne = new CoordinatedPhraseElement();
+            CoordinatedPhraseElement batch = new CoordinatedPhraseElement();
+            int prefix = random.nextInt(3);
+            for (int j = 0; j < prefix; j++) {
+                int kind = random.nextInt(5);
+                oneByOne.addCoordinate(createCoordinate(kind, j));
+                batch.addCoordinate(createCoordinate(kind, j));
+            }
+
+            List<Object> coordinates = new ArrayList<Object>();
+            int size = random.nextInt(8);
+            for (int j = 0; j < size; j++) {
+                int kind = random.nextInt(5);
+                oneByOne.addCoordinate(createCoordinate(kind, prefix + j));
+                coordinates.add(createCoordinate(kind, prefix + j));
+            }
+            batch.addCoordinates(coordinates);
+
+            Assertions.assertEquals(describe(oneByOne), describe(batch));
+        }
+    }
+}
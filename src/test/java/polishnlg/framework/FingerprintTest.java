@@ -0,0 +1,120 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.Feature;
+import polishnlg.features.InternalFeature;
+import polishnlg.features.NumberAgreement;
+
+public class FingerprintTest {
+
+    @Test
+    public void testIdenticalTreesShareFingerprint() {
+        Assertions.assertEquals(Fixtures.createList("ala", "ma", "kota").getFingerprint(),
+                Fixtures.createList("ala", "ma", "kota").getFingerprint());
+        Assertions.assertNotEquals(Fixtures.createList("ala", "ma", "kota").getFingerprint(),
+                Fixtures.createList("ala", "ma", "psa").getFingerprint());
+        // String.hashCode collides on these two
+        Assertions.assertNotEquals(Fixtures.createList("Aa").getFingerprint(),
+                Fixtures.createList("BB").getFingerprint());
+    }
+
+    @Test
+    public void testFeatureOrderIsIgnored() {
+        StringElement first = new StringElement("kot");
+        first.setFeature(Feature.NUMBER, NumberAgreement.PLURAL);
+        first.setFeature(Feature.NEGATED, true);
+        StringElement second = new StringElement("kot");
+        second.setFeature(Feature.NEGATED, true);
+        second.setFeature(Feature.NUMBER, NumberAgreement.PLURAL);
+
+        Assertions.assertEquals(first.getFingerprint(), second.getFingerprint());
+    }
+
+    @Test
+    public void testMutationInvalidatesAncestors() {
+        ListElement list = Fixtures.createList("ala", "ma", "kota");
+        Fingerprint before = list.getFingerprint();
+        Assertions.assertSame(before, list.getFingerprint());
+
+        NLGElement child = list.getChildren().get(2);
+        child.setFeature(Feature.NUMBER, NumberAgreement.PLURAL);
+        Assertions.assertNotEquals(before, list.getFingerprint());
+
+        child.removeFeature(Feature.NUMBER);
+        Assertions.assertEquals(before, list.getFingerprint());
+    }
+
+    @Test
+    public void testNestedChangeIsSeen() {
+        ListElement phrase = Fixtures.createList("duży", "pies");
+        StringElement head = new StringElement("pies");
+        phrase.setFeature(InternalFeature.HEAD, head);
+        DocumentElement sentence = new DocumentElement(DocumentCategory.SENTENCE, null);
+        sentence.addComponent(phrase);
+        DocumentElement paragraph = new DocumentElement(DocumentCategory.PARAGRAPH, null);
+        paragraph.addComponent(sentence);
+        DocumentElement other = new DocumentElement(DocumentCategory.SENTENCE, null);
+        other.addComponent(Fixtures.createList("kot", "śpi"));
+        paragraph.addComponent(other);
+
+        Fingerprint before = paragraph.getFingerprint();
+        Fingerprint otherBefore = other.getFingerprint();
+        head.setFeature(Feature.NUMBER, NumberAgreement.PLURAL);
+        Fingerprint after = paragraph.getFingerprint();
+        Assertions.assertNotEquals(before, after);
+        // the sentence that did not change keeps its cached fingerprint
+        Assertions.assertSame(otherBefore, other.getFingerprint());
+
+        phrase.getChildren().get(0).setRealisation("mały");
+        Assertions.assertNotEquals(after, paragraph.getFingerprint());
+    }
+
+    @Test
+    public void testConcurrentChangesAreSeen() throws InterruptedException {
+        final List<Throwable> failures = new ArrayList<Throwable>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 2000; i++) {
+                            ListElement list = Fixtures.createList("ala", "ma", "kota");
+                            list.getFingerprint();
+                            list.getChildren().get(2).setRealisation("psa");
+                            Assertions.assertEquals(Fixtures.createList("ala", "ma", "psa").getFingerprint(),
+                                    list.getFingerprint());
+                        }
+                    } catch (Throwable e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertTrue(failures.isEmpty(), failures.toString());
+    }
+}
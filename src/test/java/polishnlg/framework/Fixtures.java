@@ -0,0 +1,62 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.framework;
+
+import java.net.URISyntaxException;
+
+import polishnlg.lexicon.Lexicon;
+import polishnlg.lexicon.XMLLexicon;
+
+/**
+ * Elements and resources shared by the tests.
+ */
+public abstract class Fixtures {
+
+    /**
+     * @return a small lexicon of a few nouns of each gender, adjectives and
+     *         verbs, for tests that need lexical features without the full
+     *         default lexicon.
+     */
+    public static Lexicon createLexicon() {
+        try {
+            return new XMLLexicon(Fixtures.class.getResource("/polishnlg/test-lexicon.xml").toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param text
+     *            the realisation of the sentence.
+     * @return a sentence as orthography leaves it, with its text already
+     *         realised.
+     */
+    public static DocumentElement createSentence(String text) {
+        DocumentElement sentence = new DocumentElement(DocumentCategory.SENTENCE, null);
+        sentence.setRealisation(text);
+        return sentence;
+    }
+
+    /**
+     * @param words
+     *            the texts of the components.
+     * @return a list of canned texts.
+     */
+    public static ListElement createList(String... words) {
+        ListElement list = new ListElement();
+        for (String word : words) {
+            list.addComponent(new StringElement(word));
+        }
+        return list;
+    }
+}
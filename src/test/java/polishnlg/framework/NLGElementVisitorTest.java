@@ -0,0 +1,88 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.framework;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.lexicon.Lexicon;
+
+public class NLGElementVisitorTest {
+
+    /** Names the method each element was passed to. */
+    private static final NLGElementVisitor<String> NAMES = new NLGElementVisitor<String>() {
+
+        @Override
+        public String visit(DocumentElement element) {
+            return "document";
+        }
+
+        @Override
+        public String visit(PhraseElement element) {
+            return "phrase";
+        }
+
+        @Override
+        public String visit(CoordinatedPhraseElement element) {
+            return "coordination";
+        }
+
+        @Override
+        public String visit(ListElement element) {
+            return "list";
+        }
+
+        @Override
+        public String visit(WordElement element) {
+            return "word";
+        }
+
+        @Override
+        public String visit(InflectedWordElement element) {
+            return "inflected word";
+        }
+
+        @Override
+        public String visit(StringElement element) {
+            return "string";
+        }
+    };
+
+    @Test
+    public void testEveryKindIsDispatched() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        NLGFactory factory = new NLGFactory(lexicon);
+
+        Assertions.assertEquals("document", factory.createSentence("kot śpi").accept(NAMES));
+        Assertions.assertEquals("document", factory.createDocument("Tytuł").accept(NAMES));
+        Assertions.assertEquals("phrase", new PhraseElement(PhraseCategory.NOUN_PHRASE).accept(NAMES));
+        Assertions.assertEquals("coordination", factory.createCoordinatedPhrase("kot", "pies").accept(NAMES));
+        Assertions.assertEquals("list", new ListElement().accept(NAMES));
+        Assertions.assertEquals("word", new WordElement("kot", LexicalCategory.NOUN).accept(NAMES));
+        Assertions.assertEquals("inflected word", new InflectedWordElement("kot", LexicalCategory.NOUN).accept(NAMES));
+        Assertions.assertEquals("string", new StringElement("kot").accept(NAMES));
+    }
+
+    @Test
+    public void testPhraseSpecificationsAreVisitedAsPhrases() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        NLGFactory factory = new NLGFactory(lexicon);
+
+        Assertions.assertEquals("phrase", factory.createClause("kot", "spać").accept(NAMES));
+        Assertions.assertEquals("phrase", factory.createNounPhrase("kot").accept(NAMES));
+        Assertions.assertEquals("phrase", factory.createVerbPhrase("spać").accept(NAMES));
+        Assertions.assertEquals("phrase", factory.createAdjectivePhrase("duży").accept(NAMES));
+        Assertions.assertEquals("phrase", factory.createAdverbPhrase("bardzo").accept(NAMES));
+        Assertions.assertEquals("phrase", factory.createPrepositionPhrase("w").accept(NAMES));
+    }
+}
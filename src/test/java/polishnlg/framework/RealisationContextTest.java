@@ -0,0 +1,71 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.framework;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.format.polish.TextFormatter;
+
+public class RealisationContextTest {
+
+    @Test
+    public void testBuildersAreReused() {
+        RealisationContext context = new RealisationContext();
+        StringBuilder outer = context.borrowBuilder();
+        outer.append("ala");
+        StringBuilder inner = context.borrowBuilder();
+        Assertions.assertNotSame(outer, inner);
+        context.release(inner);
+        context.release(outer);
+        Assertions.assertEquals(0, context.getBorrowed());
+
+        StringBuilder again = context.borrowBuilder();
+        Assertions.assertSame(outer, again);
+        Assertions.assertEquals(0, again.length());
+    }
+
+    @Test
+    public void testReleaseGivesBackLaterBorrowings() {
+        RealisationContext context = new RealisationContext();
+        List<NLGElement> outer = context.borrowList();
+        List<NLGElement> inner = context.borrowList();
+        inner.add(new StringElement("kot"));
+        context.borrowBuilder();
+
+        context.release(outer);
+        Assertions.assertEquals(1, context.getBorrowed());
+        Assertions.assertTrue(inner.isEmpty());
+
+        context.reset();
+        Assertions.assertEquals(0, context.getBorrowed());
+    }
+
+    @Test
+    public void testEachThreadHasItsOwnContext() throws InterruptedException {
+        final TextFormatter formatter = new TextFormatter();
+        RealisationContext context = RealisationContext.current();
+        Assertions.assertSame(context, RealisationContext.current());
+        Assertions.assertSame(context, formatter.getRealisationContext());
+
+        final AtomicReference<RealisationContext> other = new AtomicReference<RealisationContext>();
+        Thread thread = new Thread(() -> other.set(formatter.getRealisationContext()));
+        thread.start();
+        thread.join();
+        Assertions.assertNotNull(other.get());
+        Assertions.assertNotSame(context, other.get());
+    }
+}
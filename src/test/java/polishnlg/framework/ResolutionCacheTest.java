@@ -0,0 +1,80 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.framework;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.Feature;
+import polishnlg.features.Gender;
+import polishnlg.features.LexicalFeature;
+import polishnlg.features.NumberAgreement;
+
+public class ResolutionCacheTest {
+
+    @Test
+    public void testChangingResolvedWordLeavesCacheAlone() {
+        NLGFactory factory = new NLGFactory(Fixtures.createLexicon());
+
+        // the first word is the one the cache took its copy from
+        WordElement first = (WordElement) factory.createNLGElement("kot", LexicalCategory.NOUN);
+        first.setFeature(LexicalFeature.GENDER, Gender.FEMININE);
+        first.setFeature(Feature.NUMBER, NumberAgreement.PLURAL);
+        first.setBaseForm("kotka");
+
+        WordElement second = (WordElement) factory.createNLGElement("kot", LexicalCategory.NOUN);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals("kot", second.getBaseForm());
+        Assertions.assertEquals(Gender.MASC_ANIMAL, second.getFeature(LexicalFeature.GENDER));
+        Assertions.assertNull(second.getFeature(Feature.NUMBER));
+
+        // and the copies handed out from the cache are independent too
+        second.setFeature(LexicalFeature.GENDER, Gender.NEUTER);
+        WordElement third = (WordElement) factory.createNLGElement("kot", LexicalCategory.NOUN);
+        Assertions.assertNotSame(second, third);
+        Assertions.assertEquals(Gender.MASC_ANIMAL, third.getFeature(LexicalFeature.GENDER));
+    }
+
+    @Test
+    public void testCachedResolutionMatchesLexicon() {
+        NLGFactory cached = new NLGFactory(Fixtures.createLexicon());
+        NLGFactory uncached = new NLGFactory(Fixtures.createLexicon());
+        uncached.setResolutionCacheSize(0);
+
+        for (String string : new String[] { "kot", "kobieta", "okno", "nieznane", "duży kot" }) {
+            for (int i = 0; i < 2; i++) {
+                NLGElement expected = uncached.createNLGElement(string, LexicalCategory.NOUN);
+                NLGElement actual = cached.createNLGElement(string, LexicalCategory.NOUN);
+                Assertions.assertEquals(expected.getClass(), actual.getClass());
+                Assertions.assertEquals(expected.toString(), actual.toString());
+                Assertions.assertEquals(expected.getAllFeatures(), actual.getAllFeatures());
+            }
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsDropped() {
+        ResolutionCache cache = new ResolutionCache(2);
+        cache.put("kot", LexicalCategory.NOUN, new WordElement("kot", LexicalCategory.NOUN));
+        cache.put("pies", LexicalCategory.NOUN, new WordElement("pies", LexicalCategory.NOUN));
+        Assertions.assertNotNull(cache.get("kot", LexicalCategory.NOUN));
+
+        cache.put("dom", LexicalCategory.NOUN, new WordElement("dom", LexicalCategory.NOUN));
+        Assertions.assertNotNull(cache.get("kot", LexicalCategory.NOUN));
+        Assertions.assertNull(cache.get("pies", LexicalCategory.NOUN));
+        Assertions.assertNotNull(cache.get("dom", LexicalCategory.NOUN));
+
+        // each category holds its own strings
+        Assertions.assertNull(cache.get("kot", LexicalCategory.VERB));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.framework;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.DiscourseFunction;
+import polishnlg.features.InternalFeature;
+
+public class TokenBufferTest {
+
+    @Test
+    public void testTextIsSplitAtBlanks() {
+        StringElement canned = new StringElement("ala  ma kota");
+        canned.setFeature(InternalFeature.DISCOURSE_FUNCTION, DiscourseFunction.SUBJECT);
+        TokenBuffer tokens = new TokenBuffer().append("> ").appendText(canned.getRealisation(), canned);
+
+        Assertions.assertEquals("> ala  ma kota", tokens.toString());
+        Assertions.assertEquals(3, tokens.size());
+        Assertions.assertEquals(7, tokens.getStart(1));
+        Assertions.assertEquals(9, tokens.getEnd(1));
+        Assertions.assertEquals("kota", tokens.getToken(2));
+        Assertions.assertSame(canned, tokens.getSource(2));
+        Assertions.assertEquals(DiscourseFunction.SUBJECT, tokens.getDiscourseFunction(0));
+    }
+
+    @Test
+    public void testSentenceTokensAreMoved() {
+        StringElement word = new StringElement("kot");
+        TokenBuffer sentenceTokens = new TokenBuffer().append("Kot.");
+        sentenceTokens.addToken(0, 3, word, DiscourseFunction.SUBJECT);
+        DocumentElement sentence = Fixtures.createSentence("Kot.");
+        sentence.setFeature(InternalFeature.TOKENS, sentenceTokens);
+
+        TokenBuffer tokens = new TokenBuffer().append("Pies. ").appendText(sentence.getRealisation(), sentence);
+        Assertions.assertEquals(1, tokens.size());
+        Assertions.assertEquals("Kot", tokens.getToken(0));
+        Assertions.assertEquals(6, tokens.getStart(0));
+        Assertions.assertSame(word, tokens.getSource(0));
+
+        // tokens made for other text are not used
+        TokenBuffer changed = new TokenBuffer().appendText("Kot!", sentence);
+        Assertions.assertSame(sentence, changed.getSource(0));
+        Assertions.assertEquals("Kot!", changed.getToken(0));
+    }
+
+    @Test
+    public void testGrows() {
+        TokenBuffer tokens = new TokenBuffer();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            expected.append("slowo").append(i).append(' ');
+        }
+        StringElement canned = new StringElement(expected.toString().trim());
+        tokens.appendText(canned.getRealisation(), canned);
+        Assertions.assertEquals(1000, tokens.size());
+        Assertions.assertEquals("slowo999", tokens.getToken(999));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tokens.getToken(1000));
+    }
+}
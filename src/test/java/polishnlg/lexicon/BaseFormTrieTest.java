@@ -0,0 +1,132 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.lexicon;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.LexicalCategory;
+
+public class BaseFormTrieTest {
+
+    private static final LexicalCategory[] CATEGORIES = { LexicalCategory.NOUN, LexicalCategory.ADJECTIVE,
+            LexicalCategory.VERB, LexicalCategory.ANY };
+
+    private static String randomWord(Random random, int maxLength) {
+        StringBuilder word = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            word.append("abcąę".charAt(random.nextInt(5)));
+        }
+        return word.toString();
+    }
+
+    /** The base forms as a lexicon without a trie looks them up. */
+    private static boolean hasWord(Set<String> entries, String baseForm, LexicalCategory category) {
+        if (category == LexicalCategory.ANY) {
+            for (LexicalCategory each : CATEGORIES) {
+                if (entries.contains(each + ":" + baseForm)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return entries.contains(category + ":" + baseForm);
+    }
+
+    /** One lookup per truncation, as <code>stringIsBaseForm</code> used to make. */
+    private static int knownTruncations(Set<String> entries, String word, LexicalCategory category,
+            int maxTruncation) {
+        int mask = 0;
+        for (int truncation = 0; truncation <= maxTruncation && truncation <= word.length(); truncation++) {
+            if (hasWord(entries, word.substring(0, word.length() - truncation), category)) {
+                mask |= 1 << truncation;
+            }
+        }
+        return mask;
+    }
+
+    private static int longestKnownStem(Set<String> entries, String word, LexicalCategory category) {
+        for (int length = word.length(); length >= 0; length--) {
+            if (hasWord(entries, word.substring(0, length), category)) {
+                return length;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void testTrieMatchesLookups() {
+        Random random = new Random(33);
+        for (int round = 0; round < 20; round++) {
+            BaseFormTrie trie = new BaseFormTrie();
+            Set<String> entries = new HashSet<String>();
+            Set<String> baseForms = new HashSet<String>();
+            for (int i = 0; i < 100; i++) {
+                String baseForm = randomWord(random, 5);
+                LexicalCategory category = CATEGORIES[random.nextInt(CATEGORIES.length - 1)];
+                trie.add(baseForm, category);
+                entries.add(category + ":" + baseForm);
+                baseForms.add(baseForm);
+            }
+            Assertions.assertEquals(baseForms.size(), trie.size());
+
+            for (int i = 0; i < 500; i++) {
+                String word = randomWord(random, 8);
+                for (LexicalCategory category : CATEGORIES) {
+                    String message = category + ":" + word;
+                    Assertions.assertEquals(hasWord(entries, word, category), trie.contains(word, category), message);
+                    Assertions.assertEquals(knownTruncations(entries, word, category, WordGroupIndex.MAX_TRUNCATION),
+                            trie.knownTruncations(word, category, WordGroupIndex.MAX_TRUNCATION), message);
+                    Assertions.assertEquals(knownTruncations(entries, word, category, 0),
+                            trie.knownTruncations(word, category, 0), message);
+                    Assertions.assertEquals(longestKnownStem(entries, word, category),
+                            trie.longestKnownStem(word, category), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLexiconMatchesLookups() {
+        XMLLexicon lexicon = (XMLLexicon) Fixtures.createLexicon();
+        // a lexicon that only delegates answers with one lookup per candidate
+        Lexicon lookups = new MultipleLexicon(lexicon);
+
+        for (String word : new String[] { "kot", "kotami", "kotu", "ko", "", "dużymi", "duż", "oknom", "spać" }) {
+            for (LexicalCategory category : CATEGORIES) {
+                String message = category + ":" + word;
+                Assertions.assertEquals(lookups.getKnownTruncations(word, category, WordGroupIndex.MAX_TRUNCATION),
+                        lexicon.getKnownTruncations(word, category, WordGroupIndex.MAX_TRUNCATION), message);
+                Assertions.assertEquals(lookups.getLongestKnownStem(word, category),
+                        lexicon.getLongestKnownStem(word, category), message);
+            }
+        }
+        Assertions.assertEquals(1 << 3, lexicon.getKnownTruncations("kotami", LexicalCategory.NOUN, 3));
+        Assertions.assertEquals(3, lexicon.getLongestKnownStem("kotami", LexicalCategory.ANY));
+    }
+
+    @Test
+    public void testMaxTruncationIsChecked() {
+        final BaseFormTrie trie = new BaseFormTrie();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> trie.knownTruncations("kot", LexicalCategory.NOUN, 32));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> trie.knownTruncations("kot", LexicalCategory.NOUN, -1));
+    }
+}
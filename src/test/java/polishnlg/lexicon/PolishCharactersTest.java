@@ -0,0 +1,43 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.lexicon;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class PolishCharactersTest {
+
+    @Test
+    public void testSyllables() {
+        Assertions.assertEquals(1, PolishCharacters.countSyllables(" kot "));
+        Assertions.assertEquals(2, PolishCharacters.countSyllables("pająk"));
+        Assertions.assertEquals(3, PolishCharacters.countSyllables("Ósemka"));
+        Assertions.assertEquals(2, PolishCharacters.countSyllables("kraina"));
+        Assertions.assertEquals(0, PolishCharacters.countSyllables("pstrk"));
+    }
+
+    @Test
+    public void testCaseConversion() {
+        String lower = "źdźbło";
+        Assertions.assertSame(lower, PolishCharacters.toLowerCase(lower));
+        Assertions.assertEquals("żółw", PolishCharacters.toLowerCase("ŻÓŁW"));
+        Assertions.assertEquals("Łódź", PolishCharacters.capitalise("łódź"));
+
+        StringBuilder sentence = new StringBuilder("ćma leci");
+        PolishCharacters.capitaliseFirstLetter(sentence);
+        Assertions.assertEquals("Ćma leci", sentence.toString());
+        sentence = new StringBuilder("über");
+        PolishCharacters.capitaliseFirstLetter(sentence);
+        Assertions.assertEquals("über", sentence.toString());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.lexicon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.framework.LexicalCategory;
+import polishnlg.framework.WordElement;
+
+public class WordGroupIndexTest {
+
+    private static final String LETTERS = "akotyżąeAŻ";
+
+    private static final LexicalCategory[] CATEGORIES = { LexicalCategory.NOUN, LexicalCategory.ADJECTIVE,
+            LexicalCategory.VERB };
+
+    private static String randomWord(Random random, String letters, int maxLength) {
+        StringBuilder word = new StringBuilder();
+        int length = 1 + random.nextInt(maxLength);
+        for (int i = 0; i < length; i++) {
+            word.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return word.toString();
+    }
+
+    private static List<WordElement> randomWords(Random random, int count) {
+        List<WordElement> words = new ArrayList<WordElement>();
+        for (int i = 0; i < count; i++) {
+            words.add(new WordElement(randomWord(random, LETTERS, 5), CATEGORIES[random.nextInt(CATEGORIES.length)]));
+        }
+        return words;
+    }
+
+    /**
+     * The word group check as the factory made it before the index, probing
+     * a lexicon that scans all its words.
+     */
+    private static final class LinearScan {
+
+        private final List<WordElement> words;
+
+        LinearScan(List<WordElement> words) {
+            this.words = words;
+        }
+
+        boolean hasWord(String baseForm, LexicalCategory category) {
+            for (WordElement word : this.words) {
+                if (word.getBaseForm().equals(baseForm) && word.getCategory() == category) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int stringIsBaseForm(String word) {
+            word = word.toLowerCase();
+            if (word.length() > 2) {
+                for (int truncation = 0; truncation <= WordGroupIndex.MAX_TRUNCATION; truncation++) {
+                    if (hasWord(word.substring(0, word.length() - truncation), LexicalCategory.ADJECTIVE)) {
+                        return truncation;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        boolean stringIsNoun(String string) {
+            return hasWord(string, LexicalCategory.NOUN)
+                    || hasWord(string.substring(0, 1).toUpperCase() + string.substring(1), LexicalCategory.NOUN)
+                    || string.matches("\\w*||\\p{IsLatin}+") || string.contains("-");
+        }
+
+        boolean checkForWordGroupLexeme(String string) {
+            String[] parts = string.split(" ");
+            if (parts.length == 2) {
+                return stringIsBaseForm(parts[0]) >= 0 && stringIsNoun(parts[1]);
+            } else if (parts.length == 3) {
+                return stringIsBaseForm(parts[0]) >= 0 && stringIsBaseForm(parts[1]) >= 0
+                        && stringIsNoun(parts[2]);
+            }
+            return false;
+        }
+    }
+
+    @Test
+    public void testIndexMatchesLinearScan() {
+        Random random = new Random(32);
+        for (int round = 0; round < 20; round++) {
+            List<WordElement> words = randomWords(random, 200);
+            WordGroupIndex index = new WordGroupIndex(words);
+            LinearScan scan = new LinearScan(words);
+
+            for (int i = 0; i < 500; i++) {
+                String word = randomWord(random, LETTERS, 8);
+                Assertions.assertEquals(scan.stringIsBaseForm(word), index.adjectiveTruncation(word), word);
+
+                // groups of known and unknown words, some of which are not Latin
+                StringBuilder group = new StringBuilder();
+                int tokens = 1 + random.nextInt(4);
+                for (int token = 0; token < tokens; token++) {
+                    if (token > 0) {
+                        group.append(' ');
+                    }
+                    if (random.nextBoolean()) {
+                        String known = words.get(random.nextInt(words.size())).getBaseForm();
+                        group.append(known).append(randomWord(random, "ay", 2).substring(0, random.nextInt(2)));
+                    } else {
+                        group.append(randomWord(random, LETTERS + "ж.", 6));
+                    }
+                }
+                String string = group.toString();
+                Assertions.assertEquals(scan.checkForWordGroupLexeme(string), index.isWordGroupLexeme(string),
+                        string);
+            }
+        }
+    }
+
+    @Test
+    public void testWordGroups() {
+        List<WordElement> words = new ArrayList<WordElement>();
+        words.add(new WordElement("biały", LexicalCategory.ADJECTIVE));
+        words.add(new WordElement("czerwony", LexicalCategory.ADJECTIVE));
+        words.add(new WordElement("Dom", LexicalCategory.NOUN));
+        words.add(new WordElement("kot", LexicalCategory.VERB));
+        WordGroupIndex index = new WordGroupIndex(words);
+
+        Assertions.assertTrue(index.isAdjective("biały"));
+        Assertions.assertFalse(index.isNoun("kot"));
+        Assertions.assertEquals(2, index.adjectiveTruncation("Białymi"));
+        Assertions.assertTrue(index.isWordGroupLexeme("Białymi dom"));
+        Assertions.assertTrue(index.isWordGroupLexeme("biały czerwonymi Дом-2"));
+        Assertions.assertFalse(index.isWordGroupLexeme("kot Дом"));
+        Assertions.assertFalse(index.isWordGroupLexeme("biały biały biały dom"));
+        Assertions.assertFalse(index.isWordGroupLexeme("biały"));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.orthography;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.DiscourseFunction;
+import polishnlg.features.InternalFeature;
+import polishnlg.framework.CoordinatedPhraseElement;
+import polishnlg.framework.DocumentCategory;
+import polishnlg.framework.DocumentElement;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.ListElement;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.StringElement;
+
+public class OrthographyProcessorTest {
+
+    private static ListElement createPreModifiers(String... words) {
+        ListElement list = Fixtures.createList(words);
+        list.getChildren().get(0).setFeature(InternalFeature.DISCOURSE_FUNCTION, DiscourseFunction.PRE_MODIFIER);
+        return list;
+    }
+
+    private static String realise(NLGElement element) {
+        OrthographyProcessor orthography = new OrthographyProcessor();
+        orthography.initialise();
+        return orthography.realise(element).getRealisation();
+    }
+
+    /** The three replacements the normaliser stands in for. */
+    private static String normaliseWithRegularExpressions(String text) {
+        text = text.replaceAll(" ,", ",");
+        text = text.replaceAll(",,+", ",");
+        return text.replaceAll("  +", " ");
+    }
+
+    /** A coordination of the texts as morphology leaves it, one conjunction shared by every gap. */
+    private static CoordinatedPhraseElement createCoordination(List<String> texts) {
+        NLGElement conjunction = new StringElement("i");
+        conjunction.setFeature(InternalFeature.DISCOURSE_FUNCTION, DiscourseFunction.CONJUNCTION);
+        List<NLGElement> coordinates = new ArrayList<NLGElement>();
+        for (String text : texts) {
+            if (!coordinates.isEmpty()) {
+                coordinates.add(conjunction);
+            }
+            coordinates.add(new StringElement(text));
+        }
+        CoordinatedPhraseElement coordination = new CoordinatedPhraseElement();
+        coordination.addCoordinates(coordinates);
+        return coordination;
+    }
+
+    /**
+     * The coordination as it was joined before blanks were dropped while
+     * appending: every coordinate and then the whole are punctuated as
+     * <code>realise</code> does.
+     */
+    private static String joinWithReplace(List<NLGElement> components) {
+        StringBuilder buffer = new StringBuilder();
+        StringBuffer realisation = new StringBuffer();
+        int length = components.size();
+        for (int index = 0; index < length; index++) {
+            NLGElement component = components.get(index);
+            if (index < length - 2
+                    && DiscourseFunction.CONJUNCTION.equals(component.getFeature(InternalFeature.DISCOURSE_FUNCTION))) {
+                realisation.append(", ");
+            } else {
+                realisation.append(OrthographyProcessor.normalisePunctuation(component.getRealisation(), buffer))
+                        .append(' ');
+            }
+        }
+        realisation.setLength(realisation.length() - 1);
+        return new StringElement(OrthographyProcessor.normalisePunctuation(
+                realisation.toString().replace(" ,", ","), buffer)).getRealisation();
+    }
+
+    @Test
+    public void testCoordinationMatchesReplace() {
+        Random random = new Random(36);
+        char[] alphabet = { 'a', ' ', ',', ' ', 'b' };
+        for (int i = 0; i < 5000; i++) {
+            List<String> texts = new ArrayList<String>();
+            int size = 1 + random.nextInt(6);
+            for (int j = 0; j < size; j++) {
+                char[] text = new char[random.nextInt(6)];
+                for (int k = 0; k < text.length; k++) {
+                    text[k] = alphabet[random.nextInt(alphabet.length)];
+                }
+                texts.add(new String(text));
+            }
+            CoordinatedPhraseElement coordination = createCoordination(texts);
+            Assertions.assertEquals(joinWithReplace(coordination.getChildren()), realise(coordination),
+                    texts.toString());
+        }
+    }
+
+    @Test
+    public void testLargeCoordinationMatchesReplace() {
+        String[] words = { "kot ,", "pies", " , dom", "okno ", ", kobieta" };
+        List<String> texts = new ArrayList<String>();
+        for (int i = 0; i < 10000; i++) {
+            texts.add(words[i % words.length]);
+        }
+        CoordinatedPhraseElement coordination = createCoordination(texts);
+        Assertions.assertEquals(joinWithReplace(coordination.getChildren()), realise(coordination));
+    }
+
+    @Test
+    public void testNormalisationMatchesRegularExpressions() {
+        StringBuilder buffer = new StringBuilder();
+        String[] examples = { "", " ", ",", "a , b", "a  , b", "a ,, b", "a , , b", ",  ,",
+                "a   b", " , ,, ", "a,,,b  ,c" };
+        for (String example : examples) {
+            Assertions.assertEquals(normaliseWithRegularExpressions(example),
+                    OrthographyProcessor.normalisePunctuation(example, buffer), example);
+        }
+
+        Random random = new Random(41);
+        char[] alphabet = { 'a', ' ', ',', ' ', 'b' };
+        for (int i = 0; i < 10000; i++) {
+            char[] text = new char[random.nextInt(16)];
+            for (int j = 0; j < text.length; j++) {
+                text[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String example = new String(text);
+            Assertions.assertEquals(normaliseWithRegularExpressions(example),
+                    OrthographyProcessor.normalisePunctuation(example, buffer), example);
+        }
+    }
+
+    @Test
+    public void testCleanTextIsReturnedAsItIs() {
+        String text = "ala ma kota, psa i rybki";
+        Assertions.assertSame(text, OrthographyProcessor.normalisePunctuation(text, new StringBuilder()));
+    }
+
+    @Test
+    public void testGoldenLists() {
+        Assertions.assertEquals("ala, ma oraz kota", realise(Fixtures.createList("ala", "ma", "kota")));
+        Assertions.assertEquals("ala, ma oraz kota", realise(Fixtures.createList("ala ,", ", ma", "  kota")));
+        Assertions.assertEquals("ala, i,kota", realise(Fixtures.createList("ala,,", ",kota")));
+        Assertions.assertEquals("ala, \t, ma, \n \n oraz kota", realise(Fixtures.createList("ala", "\t", "ma", "\n \n", "kota")));
+        Assertions.assertEquals("duży zielony", realise(createPreModifiers("duży", "zielony")));
+        Assertions.assertEquals("duży zielony, dom",
+                realise(createPreModifiers("duży", "\t", " ", "\n", "zielony ,", "dom")));
+    }
+
+    @Test
+    public void testGoldenSentenceAndCoordination() {
+        DocumentElement sentence = new DocumentElement(DocumentCategory.SENTENCE, null);
+        sentence.addComponent(Fixtures.createList("ala", "ma  ,", "kota", "i", "psa"));
+        Assertions.assertEquals("Ala, ma, kota, i oraz psa.", realise(sentence));
+
+        CoordinatedPhraseElement coordination = new CoordinatedPhraseElement();
+        coordination.addCoordinate(new StringElement("kot ,"));
+        coordination.addCoordinate(new StringElement("pies"));
+        coordination.addCoordinate(new StringElement("dom"));
+        Assertions.assertEquals("kot, pies dom", realise(coordination));
+    }
+}
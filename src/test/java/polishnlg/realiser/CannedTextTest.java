@@ -0,0 +1,123 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.realiser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.DiscourseFunction;
+import polishnlg.features.Feature;
+import polishnlg.features.InternalFeature;
+import polishnlg.format.polish.HTMLFormatter;
+import polishnlg.format.polish.NDJSONFormatter;
+import polishnlg.framework.DocumentElement;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.NLGFactory;
+import polishnlg.framework.StringElement;
+import polishnlg.lexicon.Lexicon;
+
+/**
+ * The expected texts were recorded on the tree before canned text skipped
+ * syntax and morphology.
+ */
+public class CannedTextTest {
+
+    private final Lexicon lexicon = Fixtures.createLexicon();
+
+    private final NLGFactory factory = new NLGFactory(this.lexicon);
+
+    private DocumentElement createDocument() {
+        DocumentElement document = this.factory.createDocument("Koty & psy");
+        DocumentElement paragraph = this.factory.createParagraph();
+        paragraph.addComponent(this.factory.createSentence("kot śpi"));
+        paragraph.addComponent(this.factory.createSentence("Pies szczeka!"));
+        document.addComponent(paragraph);
+        DocumentElement list = this.factory.createList();
+        list.addComponent(this.factory.createListItem(new StringElement("a <b>")));
+        list.addComponent(this.factory.createListItem(this.factory.createSentence("ostatni")));
+        document.addComponent(list);
+        return document;
+    }
+
+    /** A sentence holding an elided string, which syntax drops. */
+    private DocumentElement createElidedSentence() {
+        StringElement elided = new StringElement("ukryty");
+        elided.setFeature(Feature.ELIDED, true);
+        DocumentElement sentence = this.factory.createSentence("kot śpi");
+        sentence.addComponent(elided);
+        return sentence;
+    }
+
+    private static StringElement createSubject() {
+        StringElement subject = new StringElement("gość");
+        subject.setFeature(InternalFeature.DISCOURSE_FUNCTION, DiscourseFunction.SUBJECT);
+        return subject;
+    }
+
+    @Test
+    public void testOutputIsUnchanged() {
+        Realiser realiser = new Realiser(this.lexicon);
+        Assertions.assertEquals("Kot śpi.", realiser.realise(this.factory.createSentence("kot śpi")).getRealisation());
+        Assertions.assertEquals("pies szczeka", realiser.realise(new StringElement("pies szczeka")).getRealisation());
+        Assertions.assertEquals("Pies szczeka.", realiser.realiseSentence(new StringElement("pies szczeka")));
+
+        realiser.setFormatter(new HTMLFormatter(true));
+        String html = "<h1>Koty &amp; psy</h1><p>Kot śpi. Pies szczeka!.</p>"
+                + "<ul><li>a &lt;b&gt;</li><li>Ostatni.</li></ul>";
+        Assertions.assertEquals(html, realiser.realise(createDocument()).getRealisation());
+        Assertions.assertEquals(html, realiser.realiseTokens(createDocument()).toString());
+
+        realiser.setFormatter(new NDJSONFormatter(true, false));
+        Assertions.assertEquals("{\"path\":[],\"category\":\"DOCUMENT\",\"text\":\"Koty & psy\",\"spans\":[[0,4],[5,6],[7,10]]}\n"
+                + "{\"path\":[0,0],\"category\":\"SENTENCE\",\"text\":\"Kot śpi.\",\"spans\":[[0,3],[4,8]]}\n"
+                + "{\"path\":[0,1],\"category\":\"SENTENCE\",\"text\":\"Pies szczeka!.\",\"spans\":[[0,4],[5,14]]}\n"
+                + "{\"path\":[1,0,0],\"category\":\"CANNED_TEXT\",\"text\":\"a <b>\",\"spans\":[[0,1],[2,5]]}\n"
+                + "{\"path\":[1,1,0],\"category\":\"SENTENCE\",\"text\":\"Ostatni.\",\"spans\":[[0,8]]}\n",
+                realiser.realise(createDocument()).getRealisation());
+        Assertions.assertEquals("{\"path\":[],\"category\":\"CANNED_TEXT\",\"text\":\"pies szczeka\",\"spans\":[[0,4],[5,12]]}\n",
+                realiser.realise(new StringElement("pies szczeka")).getRealisation());
+    }
+
+    @Test
+    public void testOnlyCannedTextIsCounted() {
+        RealisationMetrics metrics = new RealisationMetrics();
+        Realiser realiser = new Realiser(this.lexicon);
+        realiser.setRealisationListener(metrics);
+
+        realiser.realise(this.factory.createSentence("kot śpi"));
+        realiser.realise(new StringElement("pies szczeka"));
+        realiser.realiseSentence(createDocument());
+        Assertions.assertEquals(3L, metrics.getCannedTexts());
+        Assertions.assertEquals(0L, metrics.getRuns(RealisationStage.SYNTAX));
+        Assertions.assertEquals(0L, metrics.getRuns(RealisationStage.MORPHOLOGY));
+        Assertions.assertEquals(3L, metrics.getRuns(RealisationStage.ORTHOGRAPHY));
+
+        realiser.realise(this.factory.createClause(this.factory.createNounPhrase("kot"), "spać"));
+        realiser.realise(createElidedSentence());
+        realiser.realise(createSubject());
+        Assertions.assertEquals(3L, metrics.getCannedTexts());
+        Assertions.assertEquals(3L, metrics.getRuns(RealisationStage.SYNTAX));
+        Assertions.assertEquals(3L, metrics.getRuns(RealisationStage.MORPHOLOGY));
+        Assertions.assertEquals(6L, metrics.getRuns(RealisationStage.ORTHOGRAPHY));
+    }
+
+    @Test
+    public void testStringsWithFeaturesAreRealisedInFull() {
+        Realiser realiser = new Realiser(this.lexicon);
+        NLGElement elided = createElidedSentence();
+        Assertions.assertEquals("Kot śpi.", realiser.realise(elided).getRealisation());
+        Assertions.assertEquals("gość", realiser.realise(createSubject()).getRealisation());
+        Assertions.assertEquals("Gość.", realiser.realiseSentence(createSubject()));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.realiser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.format.polish.NDJSONFormatter;
+import polishnlg.framework.NLGFactory;
+
+public class RealisationCacheTest {
+
+    private final NLGFactory factory = new NLGFactory();
+
+    private static Realiser createRealiser(RealisationCache cache) {
+        Realiser realiser = new Realiser();
+        realiser.setRealisationCache(cache);
+        return realiser;
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        RealisationCache cache = new RealisationCache();
+        Realiser realiser = createRealiser(cache);
+
+        Assertions.assertEquals("Kot śpi.", realiser.realiseSentence(this.factory.createSentence("kot śpi")));
+        Assertions.assertEquals("Kot śpi.", realiser.realiseSentence(this.factory.createSentence("kot śpi")));
+        Assertions.assertEquals(1L, cache.getHits());
+        Assertions.assertEquals(1L, cache.getMisses());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEviction() {
+        RealisationCache cache = new RealisationCache(2);
+        Realiser realiser = createRealiser(cache);
+
+        realiser.realiseSentence(this.factory.createSentence("kot śpi"));
+        realiser.realiseSentence(this.factory.createSentence("pies szczeka"));
+        realiser.realiseSentence(this.factory.createSentence("kot śpi"));
+        realiser.realiseSentence(this.factory.createSentence("ptak śpiewa"));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1L, cache.getEvictions());
+
+        // the least recently used sentence went
+        realiser.realiseSentence(this.factory.createSentence("kot śpi"));
+        Assertions.assertEquals(2L, cache.getHits());
+        realiser.realiseSentence(this.factory.createSentence("pies szczeka"));
+        Assertions.assertEquals(2L, cache.getHits());
+    }
+
+    @Test
+    public void testNewFormatterIsNotServedOldText() {
+        RealisationCache cache = new RealisationCache();
+        Realiser realiser = createRealiser(cache);
+        String text = realiser.realiseSentence(this.factory.createSentence("kot śpi"));
+
+        realiser.setFormatter(new NDJSONFormatter(false, false));
+        Assertions.assertEquals(0, cache.size());
+        String json = realiser.realiseSentence(this.factory.createSentence("kot śpi"));
+        Assertions.assertNotEquals(text, json);
+        Assertions.assertTrue(json.startsWith("{"), json);
+    }
+
+    @Test
+    public void testSharedCacheKeepsConfigurationsApart() {
+        RealisationCache cache = new RealisationCache();
+        Realiser text = createRealiser(cache);
+        Realiser json = createRealiser(cache);
+        json.setFormatter(new NDJSONFormatter(false, false));
+
+        Assertions.assertEquals("Kot śpi.", text.realiseSentence(this.factory.createSentence("kot śpi")));
+        Assertions.assertTrue(json.realiseSentence(this.factory.createSentence("kot śpi")).startsWith("{"));
+        Assertions.assertEquals("Kot śpi.", text.realiseSentence(this.factory.createSentence("kot śpi")));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1L, cache.getHits());
+    }
+}
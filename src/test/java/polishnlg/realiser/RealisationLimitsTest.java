@@ -0,0 +1,176 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.realiser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.ListElement;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.NLGElementVisitor;
+import polishnlg.framework.StringElement;
+
+public class RealisationLimitsTest {
+
+    /** Records the stages that finish. */
+    private static class StageRecorder extends RealisationListener {
+
+        final List<RealisationStage> stages = new ArrayList<RealisationStage>();
+
+        @Override
+        public void stageCompleted(RealisationStage stage, NLGElement output, long nanos, long elements,
+                long lexiconLookups) {
+            this.stages.add(stage);
+        }
+    }
+
+    /** Canned text that sleeps when syntax comes to it. */
+    private static class SlowElement extends StringElement {
+
+        SlowElement(String text) {
+            super(text);
+            setFeature("slow", true);
+        }
+
+        @Override
+        public <R> R accept(NLGElementVisitor<R> visitor) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.accept(visitor);
+        }
+    }
+
+    /** Canned text that interrupts the thread when syntax comes to it. */
+    private static class CancellingElement extends StringElement {
+
+        CancellingElement(String text) {
+            super(text);
+            setFeature("cancelling", true);
+        }
+
+        @Override
+        public <R> R accept(NLGElementVisitor<R> visitor) {
+            Thread.currentThread().interrupt();
+            return super.accept(visitor);
+        }
+    }
+
+    private static NLGElement nest(NLGElement element, int levels) {
+        NLGElement nested = element;
+        for (int i = 0; i < levels; i++) {
+            ListElement list = new ListElement();
+            list.addComponent(nested);
+            nested = list;
+        }
+        return nested;
+    }
+
+    private static ListElement createList(NLGElement... components) {
+        ListElement list = new ListElement();
+        for (NLGElement component : components) {
+            list.addComponent(component);
+        }
+        return list;
+    }
+
+    private static RealisationAbortedException.Reason abort(Realiser realiser, NLGElement element) {
+        return Assertions.assertThrows(RealisationAbortedException.class, () -> realiser.realise(element))
+                .getReason();
+    }
+
+    @Test
+    public void testDepthLimit() {
+        Realiser realiser = new Realiser(Fixtures.createLexicon());
+        realiser.setRealisationLimits(new RealisationLimits(10, 1000, Long.MAX_VALUE));
+
+        Assertions.assertEquals("kot", realiser.realise(nest(new StringElement("kot"), 9)).getRealisation());
+        Assertions.assertEquals(RealisationAbortedException.Reason.DEPTH,
+                abort(realiser, nest(new StringElement("kot"), 10)));
+        // measured without recursion, so far too deep a plan is refused
+        // rather than overflowing the stack
+        Assertions.assertEquals(RealisationAbortedException.Reason.DEPTH,
+                abort(realiser, nest(new StringElement("kot"), 200000)));
+    }
+
+    @Test
+    public void testElementLimit() {
+        Realiser realiser = new Realiser(Fixtures.createLexicon());
+        realiser.setRealisationLimits(new RealisationLimits(100, 4, Long.MAX_VALUE));
+
+        Assertions.assertNotNull(realiser.realise(createList(new StringElement("kot"), new StringElement("pies"),
+                new StringElement("dom"))));
+        Assertions.assertEquals(RealisationAbortedException.Reason.ELEMENTS,
+                abort(realiser, createList(new StringElement("kot"), new StringElement("pies"),
+                        new StringElement("dom"), new StringElement("okno"))));
+    }
+
+    @Test
+    public void testTimeLimitStopsStagePartway() {
+        Realiser realiser = new Realiser(Fixtures.createLexicon());
+        StageRecorder recorder = new StageRecorder();
+        realiser.setRealisationListener(recorder);
+        realiser.setRealisationLimits(new RealisationLimits(100, 1000, 1));
+
+        RealisationAbortedException aborted = Assertions.assertThrows(RealisationAbortedException.class,
+                () -> realiser.realise(createList(new SlowElement("kot"), new StringElement("pies"))));
+        Assertions.assertEquals(RealisationAbortedException.Reason.TIME, aborted.getReason());
+        Assertions.assertTrue(aborted.getMessage().endsWith("in SYNTAX"), aborted.getMessage());
+        Assertions.assertTrue(recorder.stages.isEmpty());
+
+        // the realiser is fit for the next request
+        realiser.setRealisationLimits(new RealisationLimits(100, 1000, Long.MAX_VALUE));
+        Assertions.assertEquals("kot i pies", realiser.realise(createList(new StringElement("kot"),
+                new StringElement("pies"))).getRealisation());
+    }
+
+    @Test
+    public void testCancellation() {
+        Realiser realiser = new Realiser(Fixtures.createLexicon());
+        realiser.setRealisationLimits(new RealisationLimits(100, 1000, Long.MAX_VALUE));
+        try {
+            Thread.currentThread().interrupt();
+            RealisationAbortedException aborted = Assertions.assertThrows(RealisationAbortedException.class,
+                    () -> realiser.realise(createList(new StringElement("kot"), new StringElement("pies"))));
+            Assertions.assertEquals(RealisationAbortedException.Reason.CANCELLED, aborted.getReason());
+            Assertions.assertTrue(aborted.getMessage().endsWith("before SYNTAX"), aborted.getMessage());
+            Assertions.assertTrue(Thread.interrupted());
+
+            aborted = Assertions.assertThrows(RealisationAbortedException.class,
+                    () -> realiser.realise(createList(new CancellingElement("kot"), new StringElement("pies"))));
+            Assertions.assertEquals(RealisationAbortedException.Reason.CANCELLED, aborted.getReason());
+            Assertions.assertTrue(aborted.getMessage().endsWith("in SYNTAX"), aborted.getMessage());
+            Assertions.assertTrue(Thread.interrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void testNoChecksWithoutLimits() {
+        Realiser realiser = new Realiser(Fixtures.createLexicon());
+        try {
+            Assertions.assertEquals("kot i pies", realiser.realise(createList(new CancellingElement("kot"),
+                    new StringElement("pies"))).getRealisation());
+            Assertions.assertTrue(Thread.interrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
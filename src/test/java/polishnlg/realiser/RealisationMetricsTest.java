@@ -0,0 +1,108 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.realiser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.InflectedWordElement;
+import polishnlg.framework.LexicalCategory;
+import polishnlg.framework.ListElement;
+import polishnlg.lexicon.Lexicon;
+
+public class RealisationMetricsTest {
+
+    /**
+     * Creates words that syntax looks up in the lexicon, as they have no
+     * base word yet.
+     */
+    private static ListElement createWords() {
+        ListElement words = new ListElement();
+        words.addComponent(new InflectedWordElement("kot", LexicalCategory.NOUN));
+        words.addComponent(new InflectedWordElement("mieć", LexicalCategory.VERB));
+        words.addComponent(new InflectedWordElement("dom", LexicalCategory.NOUN));
+        return words;
+    }
+
+    @Test
+    public void testLookupsAreCountedPerRequest() throws InterruptedException {
+        final Lexicon lexicon = Fixtures.createLexicon();
+
+        RealisationMetrics single = new RealisationMetrics();
+        Realiser realiser = new Realiser(lexicon);
+        realiser.setRealisationListener(single);
+        realiser.realiseSentence(createWords());
+        long lookups = single.getLexiconLookups(RealisationStage.SYNTAX);
+        Assertions.assertEquals(3L, lookups);
+
+        // other threads using the lexicon are not counted against a request
+        final RealisationMetrics shared = new RealisationMetrics();
+        final int threads = 4;
+        final int requests = 200;
+        List<Thread> workers = new ArrayList<Thread>();
+        for (int i = 0; i < threads; i++) {
+            final boolean listening = i % 2 == 0;
+            workers.add(new Thread() {
+                @Override
+                public void run() {
+                    Realiser realiser = new Realiser(lexicon);
+                    if (listening) {
+                        realiser.setRealisationListener(shared);
+                    }
+                    for (int j = 0; j < requests; j++) {
+                        realiser.realiseSentence(createWords());
+                    }
+                }
+            });
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Assertions.assertEquals((long) threads / 2 * requests, shared.getRuns(RealisationStage.SYNTAX));
+        Assertions.assertEquals(threads / 2 * requests * lookups, shared.getLexiconLookups(RealisationStage.SYNTAX));
+    }
+
+    @Test
+    public void testLookupsAreNotCountedWithoutListener() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        realiser.realiseSentence(createWords());
+
+        Assertions.assertEquals(0L, lexicon.stopCountingLookups());
+    }
+
+    @Test
+    public void testElementsAreCountedByEachStage() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        RealisationMetrics metrics = new RealisationMetrics();
+        Realiser realiser = new Realiser(lexicon);
+        realiser.setRealisationListener(metrics);
+
+        realiser.realiseSentence(createWords());
+        for (RealisationStage stage : RealisationStage.values()) {
+            Assertions.assertTrue(metrics.getElementCount(stage) > 0, stage.toString());
+        }
+
+        long syntax = metrics.getElementCount(RealisationStage.SYNTAX);
+        realiser.realiseSentence(createWords());
+        Assertions.assertEquals(2 * syntax, metrics.getElementCount(RealisationStage.SYNTAX));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.realiser;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.framework.DocumentElement;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.NLGFactory;
+import polishnlg.lexicon.Lexicon;
+
+public class RealisationTracerTest {
+
+    @Test
+    public void testEachStageKeepsItsOwnTree() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        NLGFactory factory = new NLGFactory(lexicon);
+        Realiser realiser = new Realiser(lexicon);
+        RealisationTracer tracer = new RealisationTracer();
+        realiser.setTracer(tracer);
+
+        // the sentences below the root are modified in place by the stages
+        DocumentElement paragraph = factory.createParagraph();
+        paragraph.addComponent(factory.createSentence("kot", "mieć", "dom"));
+        paragraph.addComponent(factory.createSentence("pies", "spać"));
+        realiser.realise(paragraph);
+        List<TraceEvent> events = tracer.getEvents();
+
+        Assertions.assertEquals(5, events.size());
+        Assertions.assertNull(events.get(0).getStage());
+        Assertions.assertEquals(RealisationStage.SYNTAX, events.get(1).getStage());
+        Assertions.assertEquals(RealisationStage.MORPHOLOGY, events.get(2).getStage());
+        Assertions.assertEquals(RealisationStage.ORTHOGRAPHY, events.get(3).getStage());
+        Assertions.assertEquals(RealisationStage.FORMATTER, events.get(4).getStage());
+
+        for (int i = 1; i <= 3; i++) {
+            Assertions.assertNotEquals(events.get(i - 1).printTree(null), events.get(i).printTree(null),
+                    events.get(i).getTitle());
+        }
+        Assertions.assertTrue(events.get(0).printTree(null).contains("category=CLAUSE"));
+        Assertions.assertFalse(events.get(1).printTree(null).contains("category=CLAUSE"));
+        Assertions.assertTrue(events.get(1).printTree(null).contains("InflectedWordElement"));
+        Assertions.assertFalse(events.get(2).printTree(null).contains("InflectedWordElement"));
+
+        // the sentences are only punctuated by orthography
+        String firstSentence = new Realiser(lexicon).realiseSentence(factory.createClause("kot", "mieć", "dom"));
+        for (int i = 0; i <= 2; i++) {
+            Assertions.assertFalse(events.get(i).printTree(null).contains(firstSentence), events.get(i).getTitle());
+        }
+        Assertions.assertTrue(events.get(3).printTree(null).contains(firstSentence));
+    }
+
+    @Test
+    public void testRenderIndentsNestedLines() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        RealisationTracer tracer = new RealisationTracer();
+        realiser.setTracer(tracer);
+        realiser.realiseSentence(new NLGFactory(lexicon).createClause("kot", "spać"));
+
+        // nothing changes the tree after the last stage
+        List<TraceEvent> events = tracer.getEvents();
+        TraceEvent last = events.get(events.size() - 1);
+        Assertions.assertEquals(last.getElement().printTree(null), last.printTree(null));
+        Assertions.assertEquals(last.getElement().printTree("> "), last.printTree("> "));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.realiser;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.format.polish.HTMLFormatter;
+import polishnlg.format.polish.TextFormatter;
+import polishnlg.framework.DocumentElement;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.NLGFactory;
+import polishnlg.framework.NLGModule;
+import polishnlg.framework.TokenBuffer;
+import polishnlg.lexicon.Lexicon;
+
+public class RealiseTokensTest {
+
+    private final Lexicon lexicon = Fixtures.createLexicon();
+
+    private final NLGFactory factory = new NLGFactory(this.lexicon);
+
+    private DocumentElement createSentence(String subject) {
+        return this.factory.createSentence(this.factory.createClause(this.factory.createNounPhrase(subject), "spać"));
+    }
+
+    /** A list whose first item holds the same sentence twice. */
+    private DocumentElement createDocument() {
+        DocumentElement item = this.factory.createListItem();
+        item.addComponent(createSentence("kobieta"));
+        item.addComponent(createSentence("kobieta"));
+        DocumentElement list = this.factory.createList(item);
+        list.addComponent(this.factory.createListItem(createSentence("pies")));
+        DocumentElement paragraph = this.factory.createParagraph(createSentence("kot"));
+        paragraph.addComponent(createSentence("kot"));
+        DocumentElement document = this.factory.createDocument("Zwierzęta", list);
+        document.addComponent(paragraph);
+        return document;
+    }
+
+    @Test
+    public void testTokensGiveTheSameText() {
+        List<Supplier<NLGElement>> elements = Arrays.asList(
+                () -> createSentence("kobieta"),
+                () -> this.factory.createSentence("Kobieta śpi."),
+                this::createDocument);
+
+        for (NLGModule formatter : new NLGModule[] { new TextFormatter(), new HTMLFormatter(), new HTMLFormatter(true) }) {
+            Realiser realiser = new Realiser(this.lexicon);
+            realiser.setFormatter(formatter);
+            for (Supplier<NLGElement> element : elements) {
+                // realisation changes the element, so each run gets its own
+                String text = realiser.realise(element.get()).getRealisation();
+                TokenBuffer tokens = realiser.realiseTokens(element.get());
+                Assertions.assertEquals(text, tokens.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testRepeatedListItemSentencesAreSeparatedOnce() {
+        Realiser realiser = new Realiser(this.lexicon);
+        realiser.setFormatter(new HTMLFormatter());
+        String html = realiser.realise(createDocument()).getRealisation();
+        Assertions.assertTrue(html.contains("<li>Kobieta spać. Kobieta spać.</li>"), html);
+        Assertions.assertTrue(html.contains("<p>Kot spać. Kot spać.</p>"), html);
+    }
+}
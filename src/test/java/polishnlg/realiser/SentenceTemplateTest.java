@@ -0,0 +1,159 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.realiser;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.Feature;
+import polishnlg.features.Gender;
+import polishnlg.features.InterrogativeType;
+import polishnlg.features.LexicalFeature;
+import polishnlg.features.NumberAgreement;
+import polishnlg.features.Tense;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.LexicalCategory;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.NLGFactory;
+import polishnlg.framework.WordElement;
+import polishnlg.lexicon.Lexicon;
+import polishnlg.phrasespec.NPPhraseSpec;
+import polishnlg.phrasespec.SPhraseSpec;
+
+public class SentenceTemplateTest {
+
+    private static SentenceTemplate compile(Realiser realiser, NLGFactory factory, Object gender, Object number) {
+        WordElement slot = factory.createSlot("x", LexicalCategory.NOUN);
+        if (gender != null) {
+            slot.setFeature(LexicalFeature.GENDER, gender);
+        }
+        NPPhraseSpec subject = new NPPhraseSpec(factory);
+        subject.setHead(slot);
+        subject.addModifier("duży");
+        if (number != null) {
+            subject.setFeature(Feature.NUMBER, number);
+        }
+        SPhraseSpec clause = factory.createClause(subject, "spać");
+        clause.setFeature(Feature.TENSE, Tense.PAST);
+        return realiser.compileTemplate(clause);
+    }
+
+    @Test
+    public void testFillerOfDeclaredGenderIsAccepted() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        SentenceTemplate template = compile(realiser, new NLGFactory(lexicon), Gender.FEMININE, null);
+
+        Assertions.assertTrue(template.realise(Collections.singletonMap("x", "kobieta")).contains("kobieta"));
+    }
+
+    @Test
+    public void testFillerOfOtherGenderIsRejected() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        final SentenceTemplate template = compile(realiser, new NLGFactory(lexicon), Gender.FEMININE, null);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.realise(Collections.singletonMap("x", "kot")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.realise(Collections.singletonMap("x", "okno")));
+    }
+
+    @Test
+    public void testSlotWithoutGenderRejectsGenderedFiller() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        final SentenceTemplate template = compile(realiser, new NLGFactory(lexicon), null, null);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.realise(Collections.singletonMap("x", "kobieta")));
+        Assertions.assertTrue(template.realise(Collections.singletonMap("x",
+                new WordElement("coś", LexicalCategory.NOUN))).contains("coś"));
+    }
+
+    @Test
+    public void testFillerOfOtherNumberIsRejected() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        final SentenceTemplate template = compile(realiser, new NLGFactory(lexicon), Gender.NEUTER,
+                NumberAgreement.PLURAL);
+
+        final WordElement singular = new WordElement("słońce", LexicalCategory.NOUN);
+        singular.setFeature(LexicalFeature.GENDER, Gender.NEUTER);
+        singular.setFeature(Feature.NUMBER, NumberAgreement.SINGULAR);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.realise(Collections.singletonMap("x", singular)));
+        Assertions.assertTrue(template.realise(Collections.singletonMap("x", "okno")).contains("okna"));
+    }
+
+    /**
+     * Creates a clause with a modified subject and object, in the given
+     * tense, negated and asked as a yes/no question if so.
+     */
+    private static SPhraseSpec createClause(NLGFactory factory, NLGElement subject, NLGElement object,
+            Tense tense, boolean negated, boolean question) {
+        NPPhraseSpec subjectPhrase = new NPPhraseSpec(factory);
+        subjectPhrase.setHead(subject);
+        subjectPhrase.addModifier("duży");
+        NPPhraseSpec objectPhrase = new NPPhraseSpec(factory);
+        objectPhrase.setHead(object);
+        SPhraseSpec clause = factory.createClause(subjectPhrase, "mieć", objectPhrase);
+        clause.setFeature(Feature.TENSE, tense);
+        if (negated) {
+            clause.setFeature(Feature.NEGATED, true);
+        }
+        if (question) {
+            clause.setFeature(Feature.INTERROGATIVE_TYPE, InterrogativeType.YES_NO);
+        }
+        return clause;
+    }
+
+    @Test
+    public void testTemplateMatchesRealiseSentence() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        NLGFactory factory = new NLGFactory(lexicon);
+        String[][] fillers = { { "kot", "dom" }, { "pies", "okno" }, { "kot", "kobieta" } };
+
+        for (Tense tense : new Tense[] { Tense.PAST, Tense.PRESENT, Tense.FUTURE }) {
+            for (int variant = 0; variant < 4; variant++) {
+                boolean negated = (variant & 1) != 0;
+                boolean question = (variant & 2) != 0;
+                WordElement subject = factory.createSlot("x", LexicalCategory.NOUN);
+                subject.setFeature(LexicalFeature.GENDER,
+                        lexicon.lookupWord("kot", LexicalCategory.NOUN).getFeature(LexicalFeature.GENDER));
+                WordElement object = factory.createSlot("y", LexicalCategory.NOUN);
+                SentenceTemplate template = realiser.compileTemplate(
+                        createClause(factory, subject, object, tense, negated, question));
+
+                // the same template is bound several times over
+                for (int i = 0; i < 2; i++) {
+                    for (String[] words : fillers) {
+                        Map<String, Object> bindings = new HashMap<String, Object>();
+                        bindings.put("x", words[0]);
+                        bindings.put("y", new WordElement(words[1], LexicalCategory.NOUN));
+                        String key = tense + " " + negated + " " + question + " " + words[0] + " " + words[1];
+                        Assertions.assertEquals(realiser.realiseSentence(createClause(factory,
+                                lexicon.lookupWord(words[0], LexicalCategory.NOUN),
+                                new WordElement(words[1], LexicalCategory.NOUN), tense, negated, question)),
+                                template.realise(bindings), key);
+                    }
+                }
+            }
+        }
+    }
+}
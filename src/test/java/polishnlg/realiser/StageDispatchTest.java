@@ -0,0 +1,174 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.realiser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.Feature;
+import polishnlg.features.Tense;
+import polishnlg.format.polish.HTMLFormatter;
+import polishnlg.format.polish.TextFormatter;
+import polishnlg.framework.CoordinatedPhraseElement;
+import polishnlg.framework.DocumentElement;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.LexicalCategory;
+import polishnlg.framework.ListElement;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.NLGFactory;
+import polishnlg.framework.NLGModule;
+import polishnlg.lexicon.Lexicon;
+import polishnlg.morphology.MorphologyProcessor;
+import polishnlg.orthography.OrthographyProcessor;
+import polishnlg.phrasespec.NPPhraseSpec;
+import polishnlg.phrasespec.SPhraseSpec;
+import polishnlg.syntax.SyntaxProcessor;
+
+public class StageDispatchTest {
+
+    /** The kinds of input; each is built afresh as the stages change their input. */
+    private static final String[] INPUTS = { "string", "word", "inflected word", "noun phrase", "clause",
+            "coordination", "list", "sentence", "paragraph", "document" };
+
+    private static NLGElement createInput(NLGFactory factory, String name) {
+        if ("string".equals(name)) {
+            return factory.createStringElement("ala ma kota");
+        } else if ("word".equals(name)) {
+            return factory.createWord("kot", LexicalCategory.NOUN);
+        } else if ("inflected word".equals(name)) {
+            return factory.createInflectedWord("pies", LexicalCategory.NOUN);
+        } else if ("noun phrase".equals(name)) {
+            NPPhraseSpec phrase = factory.createNounPhrase("kot");
+            phrase.addModifier("duży");
+            return phrase;
+        } else if ("clause".equals(name)) {
+            return createClause(factory);
+        } else if ("coordination".equals(name)) {
+            CoordinatedPhraseElement coordination = factory.createCoordinatedPhrase("kot", "pies");
+            coordination.addCoordinate("dom");
+            coordination.setConjunction("i");
+            return coordination;
+        } else if ("list".equals(name)) {
+            ListElement list = factory.createListElement();
+            list.addComponent(factory.createNounPhrase("okno"));
+            list.addComponent(factory.createStringElement("ma , kota"));
+            return list;
+        } else if ("sentence".equals(name)) {
+            return factory.createSentence(createClause(factory));
+        } else if ("paragraph".equals(name)) {
+            DocumentElement paragraph = factory.createParagraph();
+            paragraph.addComponent(factory.createSentence(createClause(factory)));
+            paragraph.addComponent(factory.createSentence("ala ma kota"));
+            return paragraph;
+        }
+        DocumentElement list = factory.createList();
+        list.addComponent(factory.createListItem(factory.createSentence("kot śpi")));
+        list.addComponent(factory.createListItem(factory.createStringElement("pies")));
+        DocumentElement enumerated = factory.createEnumeratedList();
+        enumerated.addComponent(factory.createListItem(factory.createSentence(createClause(factory))));
+        DocumentElement section = factory.createSection("Część", factory.createParagraph(
+                factory.createSentence(createClause(factory))));
+        section.addComponent(list);
+        section.addComponent(enumerated);
+        return factory.createDocument("Tytuł", section);
+    }
+
+    private static SPhraseSpec createClause(NLGFactory factory) {
+        SPhraseSpec clause = factory.createClause("kobieta", "mieć", "dom");
+        clause.setFeature(Feature.TENSE, Tense.PAST);
+        return clause;
+    }
+
+    private static <M extends NLGModule> M initialise(M module, Lexicon lexicon) {
+        module.setLexicon(lexicon);
+        module.initialise();
+        return module;
+    }
+
+    private static String print(NLGElement element) {
+        return element == null ? "null\n" : element.printTree(null);
+    }
+
+    /**
+     * Runs every kind of input through syntax, morphology and orthography,
+     * printing the tree after each stage, then through both formatters.
+     */
+    static Map<String, String> realiseStages() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        NLGFactory factory = new NLGFactory(lexicon);
+        SyntaxProcessor syntax = initialise(new SyntaxProcessor(), lexicon);
+        MorphologyProcessor morphology = initialise(new MorphologyProcessor(), lexicon);
+        OrthographyProcessor orthography = initialise(new OrthographyProcessor(), lexicon);
+        TextFormatter text = initialise(new TextFormatter(), lexicon);
+        HTMLFormatter html = initialise(new HTMLFormatter(), lexicon);
+
+        Map<String, String> stages = new LinkedHashMap<String, String>();
+        for (String input : INPUTS) {
+            NLGElement element = syntax.realise(createInput(factory, input));
+            stages.put(input + " syntax", print(element));
+            element = morphology.realise(element);
+            stages.put(input + " morphology", print(element));
+            element = orthography.realise(element);
+            stages.put(input + " orthography", print(element));
+            stages.put(input + " text", print(text.realise(element)));
+
+            element = orthography.realise(morphology.realise(syntax.realise(createInput(factory, input))));
+            stages.put(input + " html", print(html.realise(element)));
+        }
+        return stages;
+    }
+
+    /**
+     * The trees in <code>stage-dispatch.txt</code> were recorded before the
+     * stages dispatched through <code>NLGElementVisitor</code>: each stage
+     * must still take the same branch for every kind of element.
+     */
+    @Test
+    public void testStagesMatchRecordedOutput() throws IOException {
+        Map<String, String> expected = new LinkedHashMap<String, String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                StageDispatchTest.class.getResourceAsStream("/polishnlg/stage-dispatch.txt"),
+                StandardCharsets.UTF_8));
+        try {
+            String name = null;
+            StringBuilder tree = new StringBuilder();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith("== ")) {
+                    if (name != null) {
+                        expected.put(name, tree.toString());
+                    }
+                    name = line.substring(3);
+                    tree.setLength(0);
+                } else {
+                    tree.append(line).append('\n');
+                }
+            }
+            expected.put(name, tree.toString());
+        } finally {
+            reader.close();
+        }
+
+        Map<String, String> actual = realiseStages();
+        Assertions.assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<String, String> stage : expected.entrySet()) {
+            Assertions.assertEquals(stage.getValue(), actual.get(stage.getKey()), stage.getKey());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.syntax;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.Feature;
+import polishnlg.features.InterrogativeType;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.NLGFactory;
+import polishnlg.lexicon.Lexicon;
+import polishnlg.phrasespec.SPhraseSpec;
+import polishnlg.realiser.Realiser;
+
+public class ClauseHelperTest {
+
+    /**
+     * Realises a clause for a line of <code>clause-layouts.txt</code>: the
+     * interrogative type, or <code>-</code> for a statement, then one flag
+     * each for a complementiser, a cue phrase, a front modifier, a
+     * pre-modifier and passive. A clause with a complementiser is realised as
+     * the complement of another clause, which makes it subordinate.
+     */
+    static String realise(Realiser realiser, NLGFactory factory, String key) {
+        String[] parts = key.split(" ");
+        SPhraseSpec clause = factory.createClause(factory.createNounPhrase("kot"), "mieć", "dom");
+        if (!"-".equals(parts[0])) {
+            clause.setFeature(Feature.INTERROGATIVE_TYPE, InterrogativeType.valueOf(parts[0]));
+        }
+        if (parts[1].charAt(1) == '1') {
+            clause.setFeature(Feature.CUE_PHRASE, factory.createAdverbPhrase("jednak"));
+        }
+        if (parts[1].charAt(2) == '1') {
+            clause.addFrontModifier("wczoraj");
+        }
+        if (parts[1].charAt(3) == '1') {
+            clause.addPreModifier("chyba");
+        }
+        if (parts[1].charAt(4) == '1') {
+            clause.setFeature(Feature.PASSIVE, true);
+        }
+        if (parts[1].charAt(0) == '0') {
+            return realiser.realiseSentence(clause);
+        }
+
+        clause.setFeature(Feature.COMPLEMENTISER, "że");
+        SPhraseSpec main = factory.createClause(factory.createNounPhrase("pies"), "mieć");
+        main.addComplement(clause);
+        return realiser.realiseSentence(main);
+    }
+
+    /**
+     * The expected sentences were recorded before clauses were realised from
+     * layouts compiled per signature. The lines cover every signature, with
+     * and without passive, and several kinds of question; they pin the
+     * output, not the grammar, as the test lexicon has no inflections.
+     */
+    @Test
+    public void testLayoutsMatchRecordedOutput() throws IOException {
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        NLGFactory factory = new NLGFactory(lexicon);
+
+        int count = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                ClauseHelperTest.class.getResourceAsStream("/polishnlg/clause-layouts.txt"),
+                StandardCharsets.UTF_8));
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] fields = line.split("\t", -1);
+                Assertions.assertEquals(fields[1], realise(realiser, factory, fields[0]), fields[0]);
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+        Assertions.assertEquals(224, count);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.syntax;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.DiscourseFunction;
+import polishnlg.features.InternalFeature;
+import polishnlg.framework.CoordinatedPhraseElement;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.NLGFactory;
+import polishnlg.lexicon.Lexicon;
+import polishnlg.realiser.Realiser;
+
+public class CoordinatedPhraseHelperTest {
+
+    private static final String[] NOUNS = { "kot", "pies", "dom", "okno", "kobieta" };
+
+    private static CoordinatedPhraseElement createCoordination(NLGFactory factory, int size) {
+        CoordinatedPhraseElement coordination = new CoordinatedPhraseElement();
+        coordination.setConjunction("i");
+        for (int i = 0; i < size; i++) {
+            coordination.addCoordinate(factory.createNounPhrase(NOUNS[i % NOUNS.length]));
+        }
+        return coordination;
+    }
+
+    @Test
+    public void testConjunctionIsSharedByEveryGap() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        SyntaxProcessor processor = new SyntaxProcessor();
+        processor.setLexicon(lexicon);
+        processor.initialise();
+
+        NLGElement realised = processor.realise(createCoordination(new NLGFactory(lexicon), 50));
+        List<NLGElement> children = realised.getChildren();
+        Assertions.assertEquals(99, children.size());
+        NLGElement conjunction = children.get(1);
+        Assertions.assertEquals(DiscourseFunction.CONJUNCTION, conjunction.getFeature(InternalFeature.DISCOURSE_FUNCTION));
+        for (int i = 1; i < children.size(); i += 2) {
+            Assertions.assertSame(conjunction, children.get(i));
+        }
+    }
+
+    @Test
+    public void testLargeCoordination() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        NLGFactory factory = new NLGFactory(lexicon);
+
+        for (int size : new int[] { 1, 2, 3, 5000 }) {
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    expected.append(i == size - 1 ? " i " : ", ");
+                }
+                expected.append(NOUNS[i % NOUNS.length]);
+            }
+            Assertions.assertEquals(expected.toString(),
+                    realiser.realise(createCoordination(factory, size)).getRealisation());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.syntax;
+
+import polishnlg.framework.CoordinatedPhraseElement;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.NLGFactory;
+import polishnlg.lexicon.Lexicon;
+import polishnlg.realiser.Realiser;
+
+/**
+ * Times <code>Realiser.realiseSentence</code> on coordinations of noun
+ * phrases of growing size. It only uses the public API, so the same class
+ * compiled against an older tree, together with <code>Fixtures</code>, gives
+ * the numbers to compare with. The sizes can be given as arguments.
+ */
+public class CoordinationBenchmark {
+
+    private static final String[] NOUNS = { "kot", "pies", "dom", "okno", "kobieta" };
+
+    private static final int RUNS = 5;
+
+    private static CoordinatedPhraseElement createCoordination(NLGFactory factory, int size) {
+        CoordinatedPhraseElement coordination = new CoordinatedPhraseElement();
+        coordination.setConjunction("i");
+        for (int i = 0; i < size; i++) {
+            coordination.addCoordinate(factory.createNounPhrase(NOUNS[i % NOUNS.length]));
+        }
+        return coordination;
+    }
+
+    /** @return the fastest of the runs, in milliseconds. */
+    private static double time(Realiser realiser, NLGFactory factory, int size) {
+        long fastest = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            // the plan is built outside the timing, as realisation consumes it
+            CoordinatedPhraseElement coordination = createCoordination(factory, size);
+            long start = System.nanoTime();
+            realiser.realiseSentence(coordination);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return fastest / 1e6;
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = { 10, 100, 1000, 10000 };
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        NLGFactory factory = new NLGFactory(lexicon);
+        for (int i = 0; i < 2000; i++) {
+            realiser.realiseSentence(createCoordination(factory, 20));
+        }
+
+        System.out.println("coordinates\tms");
+        for (int size : sizes) {
+            System.out.println(size + "\t" + String.format("%.2f", time(realiser, factory, size)));
+        }
+    }
+}
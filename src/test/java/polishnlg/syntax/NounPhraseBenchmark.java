@@ -0,0 +1,92 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.syntax;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import polishnlg.features.LexicalFeature;
+import polishnlg.framework.LexicalCategory;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.WordElement;
+
+/**
+ * Times <code>NounPhraseHelper.sortNPPreModifiers</code> against the bubble
+ * sort it replaced, on modifier lists whose second half must be moved in
+ * front of the first, which is the worst case for the bubble sort. Run it with the test
+ * classes on the class path; the sizes can be given as arguments.
+ */
+public class NounPhraseBenchmark {
+
+    private static final int RUNS = 10;
+
+    /** The bubble sort is skipped above this many modifiers. */
+    private static final int MAXIMUM_BUBBLE_SORT = 2000;
+
+    /**
+     * Creates nouns followed by as many qualitative adjectives, each of which
+     * must be moved in front of every noun.
+     */
+    private static List<NLGElement> createReversedModifiers(int size) {
+        List<NLGElement> modifiers = new ArrayList<NLGElement>();
+        for (int i = 0; i < size; i++) {
+            if (i < size / 2) {
+                modifiers.add(new WordElement("n" + i, LexicalCategory.NOUN));
+            } else {
+                WordElement adjective = new WordElement("a" + i, LexicalCategory.ADJECTIVE);
+                adjective.setFeature(LexicalFeature.QUALITATIVE, true);
+                modifiers.add(adjective);
+            }
+        }
+        return modifiers;
+    }
+
+    /** @return the fastest of the runs, in microseconds. */
+    private static long time(List<NLGElement> modifiers, boolean bubbleSort) {
+        long fastest = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            if (bubbleSort) {
+                NounPhraseHelperTest.bubbleSort(modifiers);
+            } else {
+                NounPhraseHelper.sortNPPreModifiers(modifiers);
+            }
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return fastest / 1000;
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = { 100, 1000, 2000, 5000, 20000 };
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        // warm up both sorts before timing
+        List<NLGElement> warmUp = createReversedModifiers(500);
+        for (int i = 0; i < 500; i++) {
+            NounPhraseHelper.sortNPPreModifiers(warmUp);
+            NounPhraseHelperTest.bubbleSort(warmUp);
+        }
+
+        System.out.println("modifiers\tlinear us\tbubble sort us");
+        for (int size : sizes) {
+            List<NLGElement> modifiers = createReversedModifiers(size);
+            String bubbleSort = size > MAXIMUM_BUBBLE_SORT ? "-" : Long.toString(time(modifiers, true));
+            System.out.println(size + "\t" + time(modifiers, false) + "\t" + bubbleSort);
+        }
+    }
+}
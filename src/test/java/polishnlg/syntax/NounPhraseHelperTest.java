@@ -0,0 +1,111 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.syntax;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.LexicalFeature;
+import polishnlg.framework.LexicalCategory;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.WordElement;
+
+public class NounPhraseHelperTest {
+
+    /** The bubble sort <code>sortNPPreModifiers</code> replaced. */
+    static List<NLGElement> bubbleSort(List<NLGElement> originalModifiers) {
+        List<NLGElement> orderedModifiers = new ArrayList<NLGElement>(originalModifiers);
+        boolean changesMade;
+        do {
+            changesMade = false;
+            for (int i = 0; i < orderedModifiers.size() - 1; i++) {
+                if (NounPhraseHelper.getMinPos(orderedModifiers.get(i))
+                        > NounPhraseHelper.getMaxPos(orderedModifiers.get(i + 1))) {
+                    NLGElement temp = orderedModifiers.get(i);
+                    orderedModifiers.set(i, orderedModifiers.get(i + 1));
+                    orderedModifiers.set(i + 1, temp);
+                    changesMade = true;
+                }
+            }
+        } while (changesMade);
+        return orderedModifiers;
+    }
+
+    /** A noun, an adverb or an adjective with any of the ordering flags. */
+    static NLGElement createModifier(Random random, int index) {
+        int kind = random.nextInt(10);
+        if (kind == 0) {
+            return new WordElement("n" + index, LexicalCategory.NOUN);
+        } else if (kind == 1) {
+            return new WordElement("r" + index, LexicalCategory.ADVERB);
+        }
+        WordElement adjective = new WordElement("a" + index, LexicalCategory.ADJECTIVE);
+        adjective.setFeature(LexicalFeature.QUALITATIVE, random.nextBoolean());
+        adjective.setFeature(LexicalFeature.COLOUR, random.nextBoolean());
+        adjective.setFeature(LexicalFeature.CLASSIFYING, random.nextBoolean());
+        return adjective;
+    }
+
+    /** The positions of the ordered modifiers in the original list. */
+    private static List<Integer> positions(List<NLGElement> original, List<NLGElement> ordered) {
+        List<Integer> positions = new ArrayList<Integer>(ordered.size());
+        for (NLGElement modifier : ordered) {
+            int position = 0;
+            while (original.get(position) != modifier) {
+                position++;
+            }
+            positions.add(position);
+        }
+        return positions;
+    }
+
+    private static void assertSameOrder(List<NLGElement> modifiers) {
+        Assertions.assertEquals(positions(modifiers, bubbleSort(modifiers)),
+                positions(modifiers, NounPhraseHelper.sortNPPreModifiers(modifiers)));
+    }
+
+    @Test
+    public void testOrderMatchesBubbleSort() {
+        Random random = new Random(35);
+        for (int i = 0; i < 3000; i++) {
+            List<NLGElement> modifiers = new ArrayList<NLGElement>();
+            int size = random.nextInt(40);
+            for (int j = 0; j < size; j++) {
+                modifiers.add(createModifier(random, j));
+            }
+            assertSameOrder(modifiers);
+        }
+    }
+
+    @Test
+    public void testLongListMatchesBubbleSort() {
+        Random random = new Random(350);
+        List<NLGElement> modifiers = new ArrayList<NLGElement>();
+        for (int j = 0; j < 1000; j++) {
+            modifiers.add(createModifier(random, j));
+        }
+        assertSameOrder(modifiers);
+    }
+
+    @Test
+    public void testShortListsAreReturnedAsTheyAre() {
+        Assertions.assertNull(NounPhraseHelper.sortNPPreModifiers(null));
+        List<NLGElement> single = new ArrayList<NLGElement>();
+        single.add(new WordElement("kot", LexicalCategory.NOUN));
+        Assertions.assertSame(single, NounPhraseHelper.sortNPPreModifiers(single));
+    }
+}
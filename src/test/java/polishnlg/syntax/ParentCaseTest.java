@@ -0,0 +1,140 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.syntax;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.DiscourseFunction;
+import polishnlg.features.InternalFeature;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.InflectedWordElement;
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.NLGElementVisitor;
+import polishnlg.framework.NLGFactory;
+import polishnlg.framework.StringElement;
+import polishnlg.lexicon.Lexicon;
+import polishnlg.phrasespec.NPPhraseSpec;
+
+public class ParentCaseTest {
+
+    private static SyntaxProcessor createProcessor(Lexicon lexicon) {
+        SyntaxProcessor processor = new SyntaxProcessor();
+        processor.setLexicon(lexicon);
+        processor.initialise();
+        return processor;
+    }
+
+    private static NPPhraseSpec createPhrase(NLGFactory factory, String noun, DiscourseFunction grammCase) {
+        NPPhraseSpec phrase = factory.createNounPhrase(noun);
+        phrase.setFeature(InternalFeature.CASE, grammCase);
+        return phrase;
+    }
+
+    /**
+     * kot mały [pies [duży dom]] [okno]: the subject case is recorded on the
+     * complements of "kot" and overrides the genitive recorded inside them.
+     */
+    private static NPPhraseSpec createNestedPhrase(NLGFactory factory) {
+        NPPhraseSpec house = createPhrase(factory, "dom", DiscourseFunction.OBJECT);
+        house.addModifier("duży");
+        NPPhraseSpec dog = createPhrase(factory, "pies", DiscourseFunction.GENITIVE);
+        dog.addPostModifier(house);
+        NPPhraseSpec cat = createPhrase(factory, "kot", DiscourseFunction.SUBJECT);
+        cat.addModifier("mały");
+        cat.addComplement(dog);
+        cat.addComplement(createPhrase(factory, "okno", DiscourseFunction.GENITIVE));
+        return cat;
+    }
+
+    private static void collectCases(NLGElement element, Map<String, Object> cases) {
+        if (element instanceof InflectedWordElement) {
+            cases.put(((InflectedWordElement) element).getBaseForm(),
+                    element.getFeature(InternalFeature.CASE_PARENT));
+        }
+        List<NLGElement> children = element.getChildren();
+        if (children != null) {
+            for (NLGElement child : children) {
+                collectCases(child, cases);
+            }
+        }
+    }
+
+    private static Map<String, Object> realiseCases(SyntaxProcessor processor, NLGElement element) {
+        Map<String, Object> cases = new HashMap<String, Object>();
+        collectCases(processor.realise(element), cases);
+        return cases;
+    }
+
+    /**
+     * The cases the words carried when every list stamped its words as soon
+     * as it was realised: the case of the outermost phrase wins.
+     */
+    private static Map<String, Object> expectedCases() {
+        Map<String, Object> cases = new HashMap<String, Object>();
+        cases.put("kot", null);
+        cases.put("mały", null);
+        cases.put("pies", DiscourseFunction.SUBJECT);
+        cases.put("duży", DiscourseFunction.SUBJECT);
+        cases.put("dom", DiscourseFunction.SUBJECT);
+        cases.put("okno", DiscourseFunction.SUBJECT);
+        return cases;
+    }
+
+    @Test
+    public void testOutermostCaseReachesEveryWord() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        SyntaxProcessor processor = createProcessor(lexicon);
+
+        Assertions.assertEquals(expectedCases(), realiseCases(processor, createNestedPhrase(new NLGFactory(lexicon))));
+        Assertions.assertFalse(processor.parentCasesPending);
+    }
+
+    @Test
+    public void testInnerCaseKeptWithoutOuterCase() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        NLGFactory factory = new NLGFactory(lexicon);
+        NPPhraseSpec house = createPhrase(factory, "dom", DiscourseFunction.OBJECT);
+        house.addModifier("duży");
+        NPPhraseSpec dog = createPhrase(factory, "pies", DiscourseFunction.GENITIVE);
+        dog.addPostModifier(house);
+
+        Map<String, Object> cases = realiseCases(createProcessor(lexicon), dog);
+        Assertions.assertNull(cases.get("pies"));
+        Assertions.assertEquals(DiscourseFunction.GENITIVE, cases.get("duży"));
+        Assertions.assertEquals(DiscourseFunction.GENITIVE, cases.get("dom"));
+    }
+
+    @Test
+    public void testFailedRequestLeavesNothingPending() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        NLGFactory factory = new NLGFactory(lexicon);
+        SyntaxProcessor processor = createProcessor(lexicon);
+
+        NPPhraseSpec failing = createNestedPhrase(factory);
+        failing.addPostModifier(new StringElement("x") {
+            @Override
+            public <R> R accept(NLGElementVisitor<R> visitor) {
+                throw new IllegalStateException("failed");
+            }
+        });
+        Assertions.assertThrows(IllegalStateException.class, () -> processor.realise(failing));
+        Assertions.assertFalse(processor.parentCasesPending);
+
+        Assertions.assertEquals(expectedCases(), realiseCases(processor, createNestedPhrase(factory)));
+    }
+}
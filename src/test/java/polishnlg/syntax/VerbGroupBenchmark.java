@@ -0,0 +1,90 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.syntax;
+
+import polishnlg.features.Feature;
+import polishnlg.features.Tense;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.NLGFactory;
+import polishnlg.lexicon.Lexicon;
+import polishnlg.phrasespec.SPhraseSpec;
+import polishnlg.realiser.Realiser;
+
+/**
+ * Times <code>Realiser.realiseSentence</code> on clauses combining each tense
+ * with a modal and negation, the verb groups <code>VerbPhraseHelper</code>
+ * builds. It only uses the public API, so the same class compiled against an
+ * older tree, together with <code>Fixtures</code>, gives the numbers to
+ * compare with. The number of sentences per combination can be given as an
+ * argument.
+ */
+public class VerbGroupBenchmark {
+
+    private static final int RUNS = 5;
+
+    private static SPhraseSpec createClause(NLGFactory factory, Tense tense, boolean modal, boolean negated) {
+        SPhraseSpec clause = factory.createClause("kot", "mieć", "dom");
+        clause.setFeature(Feature.TENSE, tense);
+        if (modal) {
+            clause.setFeature(Feature.MODAL, "móc");
+        }
+        if (negated) {
+            clause.setFeature(Feature.NEGATED, true);
+        }
+        return clause;
+    }
+
+    /** @return the fastest of the runs, in nanoseconds per sentence. */
+    private static long time(Realiser realiser, NLGFactory factory, Tense tense, boolean modal, boolean negated,
+            int sentences) {
+        SPhraseSpec[] clauses = new SPhraseSpec[sentences];
+        long fastest = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            // the plans are built outside the timing, as realisation consumes them
+            for (int i = 0; i < sentences; i++) {
+                clauses[i] = createClause(factory, tense, modal, negated);
+            }
+            long start = System.nanoTime();
+            for (SPhraseSpec clause : clauses) {
+                realiser.realiseSentence(clause);
+            }
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return fastest / sentences;
+    }
+
+    public static void main(String[] args) {
+        int sentences = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        Tense[] tenses = { Tense.PAST, Tense.PRESENT, Tense.FUTURE };
+
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        NLGFactory factory = new NLGFactory(lexicon);
+        for (int i = 0; i < 20000; i++) {
+            realiser.realiseSentence(createClause(factory, tenses[i % 3], i % 2 == 0, i % 4 < 2));
+        }
+
+        System.out.println("tense\tmodal\tnegated\tns/sentence");
+        long total = 0;
+        for (Tense tense : tenses) {
+            for (int variant = 0; variant < 4; variant++) {
+                boolean modal = (variant & 1) != 0;
+                boolean negated = (variant & 2) != 0;
+                long nanos = time(realiser, factory, tense, modal, negated, sentences);
+                total += nanos;
+                System.out.println(tense + "\t" + modal + "\t" + negated + "\t" + nanos);
+            }
+        }
+        System.out.println("mean\t\t\t" + total / (tenses.length * 4));
+    }
+}
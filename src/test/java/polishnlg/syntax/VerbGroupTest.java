@@ -0,0 +1,63 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.syntax;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Stack;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.framework.NLGElement;
+import polishnlg.framework.StringElement;
+
+public class VerbGroupTest {
+
+    private static List<NLGElement> contents(Iterable<NLGElement> stack) {
+        List<NLGElement> contents = new ArrayList<NLGElement>();
+        for (NLGElement word : stack) {
+            contents.add(word);
+        }
+        return contents;
+    }
+
+    @Test
+    public void testMatchesStack() {
+        Random random = new Random(38);
+        VerbGroup group = new VerbGroup();
+        Stack<NLGElement> stack = new Stack<NLGElement>();
+        for (int i = 0; i < 20000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                NLGElement word = new StringElement("w" + i);
+                group.push(word);
+                stack.push(word);
+            } else if (operation < 9) {
+                if (stack.empty()) {
+                    Assertions.assertThrows(NoSuchElementException.class, () -> group.pop());
+                } else {
+                    Assertions.assertSame(stack.pop(), group.pop());
+                }
+            } else if (random.nextInt(10) == 0) {
+                group.clear();
+                stack.clear();
+            }
+            Assertions.assertEquals(stack.empty(), group.isEmpty());
+            Assertions.assertEquals(stack.size(), group.size());
+            Assertions.assertEquals(contents(stack), contents(group));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ */
+
+package polishnlg.syntax;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import polishnlg.features.Feature;
+import polishnlg.features.InterrogativeType;
+import polishnlg.features.Tense;
+import polishnlg.framework.Fixtures;
+import polishnlg.framework.InflectedWordElement;
+import polishnlg.framework.LexicalCategory;
+import polishnlg.framework.NLGFactory;
+import polishnlg.lexicon.Lexicon;
+import polishnlg.phrasespec.SPhraseSpec;
+import polishnlg.realiser.Realiser;
+
+public class VerbPhraseHelperTest {
+
+    /**
+     * Realises a clause for a line of <code>verb-groups.txt</code>: the tense,
+     * then one flag each for negation, a modal, passive and a yes/no question.
+     */
+    private static String realise(Realiser realiser, NLGFactory factory, String key) {
+        String[] parts = key.split(" ");
+        SPhraseSpec clause = factory.createClause("kot", "mieć", "dom");
+        clause.setFeature(Feature.TENSE, Tense.valueOf(parts[0]));
+        if (parts[1].charAt(0) == '1') {
+            clause.setFeature(Feature.NEGATED, true);
+        }
+        if (parts[1].charAt(1) == '1') {
+            clause.setFeature(Feature.MODAL, "móc");
+        }
+        if (parts[1].charAt(2) == '1') {
+            clause.setFeature(Feature.PASSIVE, true);
+        }
+        if (parts[1].charAt(3) == '1') {
+            clause.setFeature(Feature.INTERROGATIVE_TYPE, InterrogativeType.YES_NO);
+        }
+        return realiser.realiseSentence(clause);
+    }
+
+    /**
+     * The expected sentences were recorded before the verb group was moved
+     * off <code>java.util.Stack</code>; they pin the output, not the grammar,
+     * as the test lexicon has no inflections.
+     */
+    @Test
+    public void testVerbGroupsMatchRecordedOutput() throws IOException {
+        Lexicon lexicon = Fixtures.createLexicon();
+        Realiser realiser = new Realiser(lexicon);
+        NLGFactory factory = new NLGFactory(lexicon);
+
+        int count = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                VerbPhraseHelperTest.class.getResourceAsStream("/polishnlg/verb-groups.txt"),
+                StandardCharsets.UTF_8));
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] fields = line.split("\t");
+                Assertions.assertEquals(fields[1], realise(realiser, factory, fields[0]), fields[0]);
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+        Assertions.assertEquals(64, count);
+    }
+
+    @Test
+    public void testClosedClassWordsShareLexiconEntry() {
+        Lexicon lexicon = Fixtures.createLexicon();
+        SyntaxProcessor processor = new SyntaxProcessor();
+        processor.setLexicon(lexicon);
+        processor.initialise();
+
+        lexicon.startCountingLookups();
+        InflectedWordElement first = processor.createClosedClassWord("i", LexicalCategory.CONJUNCTION);
+        InflectedWordElement second = processor.createClosedClassWord("i", LexicalCategory.CONJUNCTION);
+        Assertions.assertEquals(1L, lexicon.stopCountingLookups());
+        Assertions.assertNotSame(first, second);
+        Assertions.assertNotNull(first.getBaseWord());
+        Assertions.assertSame(first.getBaseWord(), second.getBaseWord());
+
+        // a new lexicon drops the entries kept for the old one
+        Lexicon other = Fixtures.createLexicon();
+        processor.setLexicon(other);
+        other.startCountingLookups();
+        InflectedWordElement third = processor.createClosedClassWord("i", LexicalCategory.CONJUNCTION);
+        Assertions.assertEquals(1L, other.stopCountingLookups());
+        Assertions.assertNotSame(first.getBaseWord(), third.getBaseWord());
+    }
+}